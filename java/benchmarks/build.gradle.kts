@@ -0,0 +1,22 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+group = "dev.argon.esexpr"
+version = "0.2.0"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation(project(":lib"))
+    implementation(project(":generator:gen_tests"))
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(22)
+    }
+}
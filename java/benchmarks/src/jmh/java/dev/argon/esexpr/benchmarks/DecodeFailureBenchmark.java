@@ -0,0 +1,98 @@
+package dev.argon.esexpr.benchmarks;
+
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
+import dev.argon.esexpr.ESExprCodec;
+import dev.argon.esexpr.ESExprTag;
+import dev.argon.esexpr.codecs.StringCodec;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares ways of handling decode failures on a mostly invalid input stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeFailureBenchmark {
+	@Param({ "0.9" })
+	public double invalidRatio;
+
+	private List<ESExpr> inputs;
+
+	// Behaves like a user-defined codec that throws exceptions with stack traces.
+	private static final ESExprCodec<String> STACK_TRACE_CODEC = new ESExprCodec<>() {
+		@Override
+		public @NotNull Set<@NotNull ESExprTag> tags() {
+			return StringCodec.INSTANCE.tags();
+		}
+
+		@Override
+		public @NotNull ESExpr encode(@NotNull String value) {
+			return StringCodec.INSTANCE.encode(value);
+		}
+
+		@Override
+		public @NotNull String decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+			if(expr instanceof ESExpr.Str(var s)) {
+				return s;
+			}
+			throw new DecodeException("Expected a string value", path);
+		}
+	};
+
+	@Setup
+	public void setup() {
+		var random = new Random(1234);
+		inputs = new ArrayList<>();
+		for(int i = 0; i < 1000; ++i) {
+			if(random.nextDouble() < invalidRatio) {
+				inputs.add(new ESExpr.Int(i));
+			}
+			else {
+				inputs.add(new ESExpr.Str(Integer.toString(i)));
+			}
+		}
+	}
+
+	@Benchmark
+	public void decodeWithStackTrace(Blackhole bh) {
+		for(var expr : inputs) {
+			try {
+				bh.consume(STACK_TRACE_CODEC.decode(expr));
+			}
+			catch(DecodeException e) {
+				bh.consume(e);
+			}
+		}
+	}
+
+	@Benchmark
+	public void decodeStackless(Blackhole bh) {
+		for(var expr : inputs) {
+			try {
+				bh.consume(StringCodec.INSTANCE.decode(expr));
+			}
+			catch(DecodeException e) {
+				bh.consume(e);
+			}
+		}
+	}
+
+	@Benchmark
+	public void decodeResult(Blackhole bh) {
+		for(var expr : inputs) {
+			bh.consume(StringCodec.INSTANCE.decodeResult(expr));
+		}
+	}
+}
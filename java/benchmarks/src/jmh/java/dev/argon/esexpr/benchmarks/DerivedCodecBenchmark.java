@@ -0,0 +1,55 @@
+package dev.argon.esexpr.benchmarks;
+
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
+import dev.argon.esexpr.ESExprCodec;
+import dev.argon.esexpr.ESExprCodecs;
+import dev.argon.esexpr.KeywordMapping;
+import dev.argon.esexpr.generator.gen.MixedArguments;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares codecs derived at runtime with codecs generated by the annotation processor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DerivedCodecBenchmark {
+	private static final ESExprCodec<MixedArguments> DERIVED_CODEC = ESExprCodecs.derive(MixedArguments.class);
+
+	private MixedArguments value;
+	private ESExpr expr;
+
+	@Setup
+	public void setup() {
+		value = new MixedArguments("first", "name", List.of("a", "b", "c"), new KeywordMapping<>(Map.of("x", "y")));
+		expr = MixedArguments.codec().encode(value);
+	}
+
+	@Benchmark
+	public ESExpr encodeGenerated() {
+		return MixedArguments.codec().encode(value);
+	}
+
+	@Benchmark
+	public ESExpr encodeDerived() {
+		return DERIVED_CODEC.encode(value);
+	}
+
+	@Benchmark
+	public MixedArguments decodeGenerated() throws DecodeException {
+		return MixedArguments.codec().decode(expr);
+	}
+
+	@Benchmark
+	public MixedArguments decodeDerived() throws DecodeException {
+		return DERIVED_CODEC.decode(expr);
+	}
+}
@@ -0,0 +1,34 @@
+package dev.argon.esexpr.generator.gen;
+
+import dev.argon.esexpr.*;
+
+@ESExprCodecGen
+public record DefaultValues(
+	@Keyword
+	@DefaultValue("defaultName")
+	String name,
+
+	@Keyword
+	@DefaultValue("\"label\"")
+	String label,
+
+	@Keyword
+	@DefaultValue("0x10")
+	long size,
+
+	@Keyword
+	@DefaultValue("-1")
+	Byte level,
+
+	@Keyword
+	@DefaultValue("0.5")
+	float ratio
+) {
+	public static ESExprCodec<DefaultValues> codec() {
+		return DefaultValues_CodecImpl.INSTANCE;
+	}
+
+	public static String defaultName() {
+		return "name";
+	}
+}
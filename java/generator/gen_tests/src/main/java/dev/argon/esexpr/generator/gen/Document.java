@@ -0,0 +1,26 @@
+package dev.argon.esexpr.generator.gen;
+
+import java.util.List;
+import java.util.Optional;
+
+import dev.argon.esexpr.*;
+
+@ESExprCodecGen(view = true)
+public record Document(
+	String title,
+
+	@Keyword
+	@OptionalValue
+	Optional<String> author,
+
+	@Keyword
+	@DefaultValue("1")
+	@Unsigned int revision,
+
+	@Vararg
+	List<WeightedNode> sections
+) {
+	public static ESExprCodec<Document> codec() {
+		return Document_CodecImpl.INSTANCE;
+	}
+}
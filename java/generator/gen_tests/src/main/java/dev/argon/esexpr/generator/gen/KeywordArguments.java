@@ -4,7 +4,7 @@ import java.util.Optional;
 import dev.argon.esexpr.*;
 import dev.argon.esexpr.codecs.OptionalOptionalValueCodec;
 
-@ESExprCodecGen
+@ESExprCodecGen(projection = true)
 public record KeywordArguments(
 	@Keyword
 	boolean a,
@@ -30,5 +30,9 @@ public record KeywordArguments(
 	public static ESExprCodec<KeywordArguments> codec() {
 		return KeywordArguments_CodecImpl.INSTANCE;
 	}
+
+	public static ProjectedCodec<KeywordArguments> projected(String... fields) {
+		return KeywordArguments_CodecImpl.projected(fields);
+	}
 }
 
@@ -0,0 +1,27 @@
+package dev.argon.esexpr.generator.gen;
+
+import java.util.List;
+
+import dev.argon.esexpr.*;
+
+@ESExprCodecGen(projection = true)
+public record MixedArguments(
+	String first,
+
+	@Keyword
+	String name,
+
+	@Vararg
+	List<String> rest,
+
+	@Dict
+	KeywordMapping<String> extra
+) {
+	public static ESExprCodec<MixedArguments> codec() {
+		return MixedArguments_CodecImpl.INSTANCE;
+	}
+
+	public static ProjectedCodec<MixedArguments> projected(String... fields) {
+		return MixedArguments_CodecImpl.projected(fields);
+	}
+}
@@ -5,5 +5,8 @@ import dev.argon.esexpr.*;
 @ESExprCodecGen
 public record MyGenericRecord<T>(
 	T value
-) {}
-
+) {
+	public static <T> ESExprCodec<MyGenericRecord<T>> codec(ESExprCodec<T> tCodec) {
+		return MyGenericRecord_CodecImpl.of(tCodec);
+	}
+}
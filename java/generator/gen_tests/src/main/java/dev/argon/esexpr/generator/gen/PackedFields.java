@@ -0,0 +1,19 @@
+package dev.argon.esexpr.generator.gen;
+
+import dev.argon.esexpr.*;
+import java.util.List;
+
+@ESExprCodecGen
+public record PackedFields(
+	int[] a,
+	long[] b,
+	float[] c,
+	double[] d,
+	@Packed List<Integer> e,
+	@Packed List<Double> f,
+	List<Double> g
+) {
+	public static ESExprCodec<PackedFields> codec() {
+		return PackedFields_CodecImpl.INSTANCE;
+	}
+}
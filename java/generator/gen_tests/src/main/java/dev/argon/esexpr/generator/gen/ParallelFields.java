@@ -0,0 +1,16 @@
+package dev.argon.esexpr.generator.gen;
+
+import dev.argon.esexpr.*;
+import java.util.List;
+
+@ESExprCodecGen
+public record ParallelFields(
+	@ParallelDecode List<String> values,
+
+	@Vararg
+	@ParallelDecode List<String> rest
+) {
+	public static ESExprCodec<ParallelFields> codec() {
+		return ParallelFields_CodecImpl.INSTANCE;
+	}
+}
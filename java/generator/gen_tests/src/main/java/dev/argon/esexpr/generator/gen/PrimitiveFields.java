@@ -2,7 +2,7 @@ package dev.argon.esexpr.generator.gen;
 
 import dev.argon.esexpr.*;
 
-@ESExprCodecGen
+@ESExprCodecGen(projection = true)
 public record PrimitiveFields(
 	boolean a,
 	byte b,
@@ -0,0 +1,17 @@
+package dev.argon.esexpr.generator.gen;
+
+import java.util.List;
+
+import dev.argon.esexpr.*;
+
+@ESExprCodecGen
+public record TreeNode(
+	String label,
+
+	@Vararg
+	List<TreeNode> children
+) {
+	public static ESExprCodec<TreeNode> codec() {
+		return TreeNode_CodecImpl.INSTANCE;
+	}
+}
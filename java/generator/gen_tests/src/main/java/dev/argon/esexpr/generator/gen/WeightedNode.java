@@ -0,0 +1,21 @@
+package dev.argon.esexpr.generator.gen;
+
+import java.util.List;
+
+import dev.argon.esexpr.*;
+
+@ESExprCodecGen
+public record WeightedNode(
+	String label,
+
+	@Vararg
+	List<WeightedNode> children,
+
+	@Keyword
+	@DefaultValue("0")
+	@Unsigned int weight
+) {
+	public static ESExprCodec<WeightedNode> codec() {
+		return WeightedNode_CodecImpl.INSTANCE;
+	}
+}
@@ -0,0 +1,105 @@
+package dev.argon.esexpr.generator.gen.tests;
+
+import dev.argon.esexpr.*;
+import dev.argon.esexpr.generator.gen.*;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DerivedCodecTests extends TestBase {
+	private <T> void assertDerivedMatch(ESExprCodec<T> generated, Class<T> type, T value) throws DecodeException {
+		var derived = ESExprCodecs.derive(type);
+		assertEquals(generated.tags(), derived.tags());
+		assertCodecMatch(derived, generated.encode(value), value);
+	}
+
+	@Test
+	public void keywordArguments() throws Throwable {
+		assertDerivedMatch(KeywordArguments.codec(), KeywordArguments.class, new KeywordArguments(true, false, Optional.of(true), Optional.empty(), true, Optional.of(false)));
+		assertDerivedMatch(KeywordArguments.codec(), KeywordArguments.class, new KeywordArguments(false, true, Optional.empty(), Optional.of(false), false, Optional.empty()));
+	}
+
+	@Test
+	public void primitiveFields() throws Throwable {
+		assertDerivedMatch(PrimitiveFields.codec(), PrimitiveFields.class, new PrimitiveFields(true, Byte.MIN_VALUE, (byte)-1, Short.MIN_VALUE, (short)-1, Integer.MIN_VALUE, -1, Long.MIN_VALUE, -1L, 1.5f, 2.5));
+	}
+
+	@Test
+	public void defaultValues() throws Throwable {
+		var defaults = new DefaultValues("name", "label", 16L, (byte)-1, 0.5f);
+		assertEquals(new ESExpr.Constructor("default-values", List.of(), Map.of()), DefaultValues.codec().encode(defaults));
+		assertDerivedMatch(DefaultValues.codec(), DefaultValues.class, defaults);
+		assertDerivedMatch(DefaultValues.codec(), DefaultValues.class, new DefaultValues("a", "b", 1L, (byte)2, 1.5f));
+	}
+
+	@Test
+	public void repeatedArguments() throws Throwable {
+		assertDerivedMatch(RepeatedArguments.codec(), RepeatedArguments.class, new RepeatedArguments(List.of("a", "b"), new KeywordMapping<>(Map.of("c", "d"))));
+		assertDerivedMatch(MixedArguments.codec(), MixedArguments.class, new MixedArguments("a", "b", List.of("c", "d"), new KeywordMapping<>(Map.of("e", "f"))));
+	}
+
+	@Test
+	public void enums() throws Throwable {
+		assertDerivedMatch(InlineValueEnum.codec(), InlineValueEnum.class, new InlineValueEnum.A(5));
+		assertDerivedMatch(InlineValueEnum.codec(), InlineValueEnum.class, new InlineValueEnum.B(1.5f));
+		for(var value : MySimpleEnum.values()) {
+			assertDerivedMatch(MySimpleEnum.codec(), MySimpleEnum.class, value);
+		}
+	}
+
+	@Test
+	public void genericRecord() throws Throwable {
+		var stringCodec = dev.argon.esexpr.codecs.StringCodec.INSTANCE;
+		var derived = ESExprCodecs.derive(MethodHandles.publicLookup(), MyGenericRecord.class, stringCodec);
+		assertSame(derived, ESExprCodecs.derive(MethodHandles.publicLookup(), MyGenericRecord.class, stringCodec));
+
+		@SuppressWarnings("unchecked")
+		var codec = (ESExprCodec<MyGenericRecord<String>>)(ESExprCodec<?>)derived;
+		assertCodecMatch(codec, MyGenericRecord.codec(stringCodec).encode(new MyGenericRecord<>("a")), new MyGenericRecord<>("a"));
+	}
+
+	@Test
+	public void recursiveRecord() throws Throwable {
+		var codec = ESExprCodecs.derive(WeightedNode.class);
+		assertCodecMatch(
+			codec,
+			new ESExpr.Constructor(
+				"weighted-node",
+				List.of(
+					new ESExpr.Str("a"),
+					new ESExpr.Constructor("weighted-node", List.of(new ESExpr.Str("b")), Map.of("weight", new ESExpr.Int(BigInteger.TWO)))
+				),
+				Map.of()
+			),
+			new WeightedNode("a", List.of(new WeightedNode("b", List.of(), 2)), 0)
+		);
+		assertDerivedMatch(WeightedNode.codec(), WeightedNode.class, new WeightedNode("a", List.of(new WeightedNode("b", List.of(), 2)), 0));
+	}
+
+	@Test
+	public void failurePaths() {
+		var codec = ESExprCodecs.derive(WeightedNode.class);
+		var ex = assertThrows(DecodeException.class, () -> codec.decode(new ESExpr.Constructor(
+			"weighted-node",
+			List.of(
+				new ESExpr.Str("a"),
+				new ESExpr.Constructor("weighted-node", List.of(new ESExpr.Int(BigInteger.ONE)), Map.of())
+			),
+			Map.of()
+		)));
+		assertEquals(
+			ESExprCodec.FailurePath.Current.INSTANCE.append("weighted-node", 1).append("weighted-node", 0),
+			ex.getPath()
+		);
+
+		assertThrows(DecodeException.class, () -> codec.decode(new ESExpr.Constructor("weighted-node", List.of(new ESExpr.Str("a")), Map.of("other", new ESExpr.Str("b")))));
+		assertThrows(DecodeException.class, () -> codec.decode(new ESExpr.Constructor("weighted-node", List.of(), Map.of())));
+		assertThrows(DecodeException.class, () -> codec.decode(new ESExpr.Str("a")));
+	}
+}
@@ -0,0 +1,101 @@
+package dev.argon.esexpr.generator.gen.tests;
+
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.DecodeResult;
+import dev.argon.esexpr.ESExpr;
+import dev.argon.esexpr.ESExprCodec.FailurePath;
+import dev.argon.esexpr.KeywordMapping;
+import dev.argon.esexpr.codecs.ListCodec;
+import dev.argon.esexpr.codecs.StringCodec;
+import dev.argon.esexpr.generator.gen.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FailurePathTests extends TestBase {
+	@Test
+	public void keywordPath() {
+		var e = assertThrows(DecodeException.class, () -> KeywordArguments.codec().decode(
+			new ESExpr.Constructor(
+				"keyword-arguments",
+				List.of(),
+				Map.of(
+					"a", new ESExpr.Bool(false),
+					"b2", new ESExpr.Str("x"),
+					"f", new ESExpr.Bool(false)
+				)
+			)
+		));
+		assertEquals(new FailurePath.Keyword(FailurePath.Current.INSTANCE, "keyword-arguments", "b2"), e.getPath());
+	}
+
+	@Test
+	public void varargAndDictPath() {
+		var e = assertThrows(DecodeException.class, () -> RepeatedArguments.codec().decode(
+			new ESExpr.Constructor(
+				"repeated-arguments",
+				List.of(new ESExpr.Str("A"), new ESExpr.Bool(true)),
+				Map.of()
+			)
+		));
+		assertEquals(new FailurePath.Positional(FailurePath.Current.INSTANCE, "repeated-arguments", 1), e.getPath());
+
+		e = assertThrows(DecodeException.class, () -> RepeatedArguments.codec().decode(
+			new ESExpr.Constructor(
+				"repeated-arguments",
+				List.of(),
+				Map.of("k", new ESExpr.Bool(true))
+			)
+		));
+		assertEquals(new FailurePath.Keyword(FailurePath.Current.INSTANCE, "repeated-arguments", "k"), e.getPath());
+	}
+
+	@Test
+	public void nestedPath() {
+		var codec = new ListCodec<>(KeywordMapping.codec(StringCodec.INSTANCE));
+		var e = assertThrows(DecodeException.class, () -> codec.decode(
+			new ESExpr.Constructor(
+				"list",
+				List.of(
+					new ESExpr.Constructor("dict", List.of(), Map.of()),
+					new ESExpr.Constructor("dict", List.of(), Map.of("k", new ESExpr.Bool(true)))
+				),
+				Map.of()
+			)
+		));
+		assertEquals(
+			new FailurePath.Keyword(new FailurePath.Positional(FailurePath.Current.INSTANCE, "list", 1), "dict", "k"),
+			e.getPath()
+		);
+	}
+
+	@Test
+	public void resultPath() throws Throwable {
+		var expr = new ESExpr.Constructor(
+			"keyword-arguments",
+			List.of(),
+			Map.of(
+				"a", new ESExpr.Bool(false),
+				"b2", new ESExpr.Str("x"),
+				"f", new ESExpr.Bool(false)
+			)
+		);
+		var e = assertThrows(DecodeException.class, () -> KeywordArguments.codec().decode(expr));
+		var result = KeywordArguments.codec().decodeResult(expr);
+		var error = ((DecodeResult.Failure<KeywordArguments>)result).error();
+		assertEquals(e.getMessage(), error.getMessage());
+		assertEquals(e.getPath(), error.getPath());
+
+		var inlineResult = InlineValueEnum.codec().decodeResult(new ESExpr.Constructor("b", List.of(new ESExpr.Int(1)), Map.of()));
+		assertEquals(
+			new FailurePath.Positional(FailurePath.Current.INSTANCE, "b", 0),
+			((DecodeResult.Failure<InlineValueEnum>)inlineResult).error().getPath()
+		);
+
+		var value = new InlineValueEnum.A(4);
+		assertEquals(new DecodeResult.Success<>(value), InlineValueEnum.codec().decodeResult(InlineValueEnum.codec().encode(value)));
+	}
+}
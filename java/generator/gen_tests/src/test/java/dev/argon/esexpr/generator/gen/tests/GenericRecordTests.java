@@ -0,0 +1,27 @@
+package dev.argon.esexpr.generator.gen.tests;
+
+import dev.argon.esexpr.ESExpr;
+import dev.argon.esexpr.codecs.SignedIntegerCodec;
+import dev.argon.esexpr.codecs.StringCodec;
+import dev.argon.esexpr.generator.gen.MyGenericRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenericRecordTests extends TestBase {
+	@Test
+	public void cachedInstantiation() throws Throwable {
+		var codec = MyGenericRecord.codec(StringCodec.INSTANCE);
+		assertSame(codec, MyGenericRecord.codec(StringCodec.INSTANCE));
+		assertNotSame((Object)codec, MyGenericRecord.codec(SignedIntegerCodec.INSTANCE));
+
+		assertCodecMatch(
+			codec,
+			new ESExpr.Constructor("my-generic-record", List.of(new ESExpr.Str("a")), Map.of()),
+			new MyGenericRecord<>("a")
+		);
+	}
+}
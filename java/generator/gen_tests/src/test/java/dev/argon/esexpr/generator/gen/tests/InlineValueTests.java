@@ -1,5 +1,6 @@
 package dev.argon.esexpr.generator.gen.tests;
 
+import dev.argon.esexpr.DecodeException;
 import dev.argon.esexpr.ESExpr;
 import dev.argon.esexpr.ESExprTag;
 import dev.argon.esexpr.generator.gen.InlineValueEnum;
@@ -11,6 +12,7 @@ import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class InlineValueTests extends TestBase {
 
@@ -33,4 +35,10 @@ public class InlineValueTests extends TestBase {
 		);
 	}
 
+	@Test
+	public void testUnexpectedValue() {
+		assertThrows(DecodeException.class, () -> InlineValueEnum.codec().decode(new ESExpr.Str("a")));
+		assertThrows(DecodeException.class, () -> InlineValueEnum.codec().decode(new ESExpr.Constructor("c", List.of(), Map.of())));
+	}
+
 }
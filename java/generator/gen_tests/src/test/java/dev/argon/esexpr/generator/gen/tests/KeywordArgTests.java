@@ -69,4 +69,37 @@ public class KeywordArgTests extends TestBase {
 			)
 		);
 	}
+
+	@Test
+	public void extraArguments() throws Throwable {
+		assertThrows(
+			DecodeException.class,
+			() -> KeywordArguments.codec().decode(
+				new ESExpr.Constructor(
+					"keyword-arguments",
+					List.of(),
+					Map.of(
+						"a", new ESExpr.Bool(false),
+						"b2", new ESExpr.Bool(false),
+						"f", new ESExpr.Bool(false),
+						"g", new ESExpr.Bool(false)
+					)
+				)
+			)
+		);
+		assertThrows(
+			DecodeException.class,
+			() -> KeywordArguments.codec().decode(
+				new ESExpr.Constructor(
+					"keyword-arguments",
+					List.of(new ESExpr.Bool(false)),
+					Map.of(
+						"a", new ESExpr.Bool(false),
+						"b2", new ESExpr.Bool(false),
+						"f", new ESExpr.Bool(false)
+					)
+				)
+			)
+		);
+	}
 }
@@ -0,0 +1,70 @@
+package dev.argon.esexpr.generator.gen.tests;
+
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
+import dev.argon.esexpr.generator.gen.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackedFieldsTests extends TestBase {
+	@Test
+	public void packedEncoding() throws Throwable {
+		var value = new PackedFields(
+			new int[] { 1, -1 },
+			new long[] { Long.MIN_VALUE },
+			new float[] { 1.5f },
+			new double[] { 2.5, -0.0 },
+			List.of(0x01020304),
+			List.of(1.0),
+			List.of(1.0)
+		);
+
+		var expr = PackedFields.codec().encode(value);
+		assertEquals(
+			new ESExpr.Constructor(
+				"packed-fields",
+				List.of(
+					new ESExpr.Binary(new byte[] { 1, 0, 0, 0, -1, -1, -1, -1 }),
+					new ESExpr.Binary(new byte[] { 0, 0, 0, 0, 0, 0, 0, -128 }),
+					new ESExpr.Binary(new byte[] { 0, 0, -64, 63 }),
+					new ESExpr.Binary(new byte[] { 0, 0, 0, 0, 0, 0, 4, 64, 0, 0, 0, 0, 0, 0, 0, -128 }),
+					new ESExpr.Binary(new byte[] { 4, 3, 2, 1 }),
+					new ESExpr.Binary(new byte[] { 0, 0, 0, 0, 0, 0, -16, 63 }),
+					new ESExpr.Constructor("list", List.of(new ESExpr.Float64(1.0)), Map.of())
+				),
+				Map.of()
+			),
+			expr
+		);
+
+		var decoded = PackedFields.codec().decode(expr);
+		assertArrayEquals(value.a(), decoded.a());
+		assertArrayEquals(value.b(), decoded.b());
+		assertArrayEquals(value.c(), decoded.c());
+		assertArrayEquals(value.d(), decoded.d());
+		assertEquals(value.e(), decoded.e());
+		assertEquals(value.f(), decoded.f());
+		assertEquals(value.g(), decoded.g());
+	}
+
+	@Test
+	public void invalidLength() {
+		assertThrows(DecodeException.class, () -> PackedFields.codec().decode(new ESExpr.Constructor(
+			"packed-fields",
+			List.of(
+				new ESExpr.Binary(new byte[] { 1, 2, 3 }),
+				new ESExpr.Binary(new byte[0]),
+				new ESExpr.Binary(new byte[0]),
+				new ESExpr.Binary(new byte[0]),
+				new ESExpr.Binary(new byte[0]),
+				new ESExpr.Binary(new byte[0]),
+				new ESExpr.Constructor("list", List.of(), Map.of())
+			),
+			Map.of()
+		)));
+	}
+}
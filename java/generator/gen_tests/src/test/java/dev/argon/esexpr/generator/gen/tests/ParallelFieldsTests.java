@@ -0,0 +1,47 @@
+package dev.argon.esexpr.generator.gen.tests;
+
+import dev.argon.esexpr.*;
+import dev.argon.esexpr.generator.gen.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelFieldsTests extends TestBase {
+	private static final List<String> VALUES = IntStream.range(0, 10000).mapToObj(Integer::toString).toList();
+	private static final List<ESExpr> EXPRS = VALUES.stream().<ESExpr>map(ESExpr.Str::new).toList();
+
+	private static ESExpr.Constructor parallelFields(List<ESExpr> values, List<ESExpr> rest) {
+		var args = new ArrayList<ESExpr>();
+		args.add(new ESExpr.Constructor("list", values, Map.of()));
+		args.addAll(rest);
+		return new ESExpr.Constructor("parallel-fields", args, Map.of());
+	}
+
+	@Test
+	public void largeLists() throws Throwable {
+		var value = new ParallelFields(VALUES, VALUES);
+		assertCodecMatch(ParallelFields.codec(), parallelFields(EXPRS, EXPRS), value);
+		assertCodecMatch(ESExprCodecs.derive(ParallelFields.class), parallelFields(EXPRS, EXPRS), value);
+		assertCodecMatch(ParallelFields.codec(), parallelFields(List.of(new ESExpr.Str("a")), List.of()), new ParallelFields(List.of("a"), List.of()));
+	}
+
+	@Test
+	public void failurePath() {
+		var exprs = new ArrayList<>(EXPRS);
+		exprs.set(9000, new ESExpr.Bool(true));
+		exprs.set(1234, new ESExpr.Bool(true));
+
+		for(var codec : List.of(ParallelFields.codec(), ESExprCodecs.derive(ParallelFields.class))) {
+			var e = assertThrows(DecodeException.class, () -> codec.decode(parallelFields(exprs, EXPRS)));
+			assertEquals(ESExprCodec.FailurePath.Current.INSTANCE.append("parallel-fields", 0).append("list", 1234), e.getPath());
+
+			var e2 = assertThrows(DecodeException.class, () -> codec.decode(parallelFields(EXPRS, exprs)));
+			assertEquals(ESExprCodec.FailurePath.Current.INSTANCE.append("parallel-fields", 1235), e2.getPath());
+		}
+	}
+}
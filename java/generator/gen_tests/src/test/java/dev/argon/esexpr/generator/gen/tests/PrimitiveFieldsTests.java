@@ -0,0 +1,84 @@
+package dev.argon.esexpr.generator.gen.tests;
+
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
+import dev.argon.esexpr.generator.gen.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveFieldsTests extends TestBase {
+	private static ESExpr encoded(ESExpr.Int... ints) {
+		var args = new ArrayList<ESExpr>();
+		args.add(new ESExpr.Bool(true));
+		args.addAll(List.of(ints));
+		args.add(new ESExpr.Float32(1.5f));
+		args.add(new ESExpr.Float64(2.5));
+		return new ESExpr.Constructor("primitive-fields", args, Map.of());
+	}
+
+	@Test
+	public void maxValues() throws Throwable {
+		assertCodecMatch(
+			PrimitiveFields.codec(),
+			encoded(
+				new ESExpr.Int(Byte.MAX_VALUE),
+				new ESExpr.Int(0xFF),
+				new ESExpr.Int(Short.MAX_VALUE),
+				new ESExpr.Int(0xFFFF),
+				new ESExpr.Int(Integer.MAX_VALUE),
+				new ESExpr.Int(0xFFFFFFFFL),
+				new ESExpr.Int(Long.MAX_VALUE),
+				new ESExpr.Int(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE))
+			),
+			new PrimitiveFields(true, Byte.MAX_VALUE, (byte)-1, Short.MAX_VALUE, (short)-1, Integer.MAX_VALUE, -1, Long.MAX_VALUE, -1L, 1.5f, 2.5)
+		);
+	}
+
+	@Test
+	public void minValues() throws Throwable {
+		assertCodecMatch(
+			PrimitiveFields.codec(),
+			encoded(
+				new ESExpr.Int(Byte.MIN_VALUE),
+				new ESExpr.Int(0),
+				new ESExpr.Int(Short.MIN_VALUE),
+				new ESExpr.Int(0),
+				new ESExpr.Int(Integer.MIN_VALUE),
+				new ESExpr.Int(0),
+				new ESExpr.Int(Long.MIN_VALUE),
+				new ESExpr.Int(0)
+			),
+			new PrimitiveFields(true, Byte.MIN_VALUE, (byte)0, Short.MIN_VALUE, (short)0, Integer.MIN_VALUE, 0, Long.MIN_VALUE, 0L, 1.5f, 2.5)
+		);
+	}
+
+	@Test
+	public void outOfRange() {
+		assertThrows(DecodeException.class, () -> PrimitiveFields.codec().decode(encoded(
+			new ESExpr.Int(Byte.MAX_VALUE + 1), new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0),
+			new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0)
+		)));
+		assertThrows(DecodeException.class, () -> PrimitiveFields.codec().decode(encoded(
+			new ESExpr.Int(0), new ESExpr.Int(-1), new ESExpr.Int(0), new ESExpr.Int(0),
+			new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0)
+		)));
+		assertThrows(DecodeException.class, () -> PrimitiveFields.codec().decode(encoded(
+			new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0),
+			new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(BigInteger.ONE.shiftLeft(63)), new ESExpr.Int(0)
+		)));
+		assertThrows(DecodeException.class, () -> PrimitiveFields.codec().decode(encoded(
+			new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0),
+			new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(BigInteger.ONE.shiftLeft(64))
+		)));
+		assertThrows(DecodeException.class, () -> PrimitiveFields.codec().decode(encoded(
+			new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0),
+			new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(0), new ESExpr.Int(-1)
+		)));
+	}
+}
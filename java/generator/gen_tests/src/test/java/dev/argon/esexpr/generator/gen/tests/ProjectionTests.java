@@ -0,0 +1,61 @@
+package dev.argon.esexpr.generator.gen.tests;
+
+import dev.argon.esexpr.*;
+import dev.argon.esexpr.generator.gen.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectionTests extends TestBase {
+	private static final MixedArguments VALUE = new MixedArguments("a", "b", List.of("c", "d"), new KeywordMapping<>(Map.of("e", "f")));
+
+	private static <T> T readProjected(ProjectedCodec<T> codec, ESExpr expr) throws Exception {
+		var symbols = ESExprBinaryWriter.buildSymbolTable(expr).values();
+		var os = new ByteArrayOutputStream();
+		new ESExprBinaryWriter(symbols, os).write(expr);
+		return codec.read(new ESExprBinaryReader(symbols, new ByteArrayInputStream(os.toByteArray())));
+	}
+
+	@Test
+	public void positionalAndKeywordFields() throws Throwable {
+		var expr = MixedArguments.codec().encode(VALUE);
+		assertEquals(
+			new MixedArguments("a", null, List.of(), new KeywordMapping<>(Map.of())),
+			readProjected(MixedArguments.projected("first"), expr)
+		);
+		assertEquals(
+			new MixedArguments(null, "b", List.of("c", "d"), new KeywordMapping<>(Map.of())),
+			readProjected(MixedArguments.projected("name", "rest"), expr)
+		);
+		assertEquals(
+			new MixedArguments(null, null, List.of(), new KeywordMapping<>(Map.of("e", "f"))),
+			readProjected(MixedArguments.projected("extra"), expr)
+		);
+	}
+
+	@Test
+	public void decodesFullExpressions() throws Throwable {
+		var codec = MixedArguments.projected("first", "name", "rest", "extra");
+		assertCodecMatch(codec, MixedArguments.codec().encode(VALUE), VALUE);
+	}
+
+	@Test
+	public void absentFields() throws Throwable {
+		var expr = KeywordArguments.codec().encode(new KeywordArguments(true, true, Optional.of(true), Optional.of(true), false, Optional.of(true)));
+		assertEquals(
+			new KeywordArguments(false, true, Optional.empty(), Optional.empty(), true, null),
+			readProjected(KeywordArguments.projected("b"), expr)
+		);
+	}
+
+	@Test
+	public void unknownField() {
+		assertThrows(IllegalArgumentException.class, () -> MixedArguments.projected("missing"));
+	}
+}
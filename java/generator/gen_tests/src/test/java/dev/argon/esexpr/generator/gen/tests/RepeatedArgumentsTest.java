@@ -2,6 +2,7 @@ package dev.argon.esexpr.generator.gen.tests;
 
 import dev.argon.esexpr.KeywordMapping;
 import dev.argon.esexpr.ESExpr;
+import dev.argon.esexpr.generator.gen.MixedArguments;
 import dev.argon.esexpr.generator.gen.RepeatedArguments;
 import org.junit.jupiter.api.Test;
 
@@ -34,4 +35,25 @@ public class RepeatedArgumentsTest extends TestBase {
 		);
 	}
 
+	@Test
+	public void mixedArgsTest() throws Throwable {
+		assertCodecMatch(
+			MixedArguments.codec(),
+			new ESExpr.Constructor(
+				"mixed-arguments",
+				List.of(new ESExpr.Str("A"), new ESExpr.Str("B"), new ESExpr.Str("C")),
+				Map.of(
+					"name", new ESExpr.Str("n"),
+					"x", new ESExpr.Str("1")
+				)
+			),
+			new MixedArguments(
+				"A",
+				"n",
+				List.of("B", "C"),
+				new KeywordMapping<>(Map.of("x", "1"))
+			)
+		);
+	}
+
 }
@@ -0,0 +1,37 @@
+package dev.argon.esexpr.generator.gen.tests;
+
+import dev.argon.esexpr.ESExpr;
+import dev.argon.esexpr.generator.gen.TreeNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class TreeNodeTests extends TestBase {
+	@Test
+	public void recursiveRecord() throws Throwable {
+		assertCodecMatch(
+			TreeNode.codec(),
+			new ESExpr.Constructor(
+				"tree-node",
+				List.of(
+					new ESExpr.Str("a"),
+					new ESExpr.Constructor("tree-node", List.of(new ESExpr.Str("b")), Map.of()),
+					new ESExpr.Constructor(
+						"tree-node",
+						List.of(
+							new ESExpr.Str("c"),
+							new ESExpr.Constructor("tree-node", List.of(new ESExpr.Str("d")), Map.of())
+						),
+						Map.of()
+					)
+				),
+				Map.of()
+			),
+			new TreeNode("a", List.of(
+				new TreeNode("b", List.of()),
+				new TreeNode("c", List.of(new TreeNode("d", List.of())))
+			))
+		);
+	}
+}
@@ -0,0 +1,72 @@
+package dev.argon.esexpr.generator.gen.tests;
+
+import dev.argon.esexpr.*;
+import dev.argon.esexpr.generator.gen.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewTests extends TestBase {
+	private static final Document DOCUMENT = new Document(
+		"doc",
+		Optional.of("me"),
+		3,
+		List.of(new WeightedNode("a", List.of(), 1), new WeightedNode("b", List.of(new WeightedNode("c", List.of(), 0)), 2))
+	);
+
+	private static Document_View view(ESExpr expr) throws DecodeException {
+		return Document_View.of(ESExprArena.fromExpr(expr).root());
+	}
+
+	@Test
+	public void accessors() throws Throwable {
+		var view = view(Document.codec().encode(DOCUMENT));
+		assertEquals("doc", view.title());
+		assertEquals(Optional.of("me"), view.author());
+		assertEquals(3, view.revision());
+		assertEquals(DOCUMENT.sections(), view.sections());
+		assertSame(view.sections(), view.sections());
+		assertEquals(DOCUMENT, view.materialize());
+	}
+
+	@Test
+	public void defaults() throws Throwable {
+		var view = view(new ESExpr.Constructor("document", List.of(new ESExpr.Str("doc")), Map.of()));
+		assertEquals(Optional.empty(), view.author());
+		assertEquals(1, view.revision());
+		assertEquals(List.of(), view.sections());
+		assertEquals(Document.codec().decode(view.node().toExpr()), view.materialize());
+	}
+
+	@Test
+	public void fieldsDecodedIndependently() throws Throwable {
+		var view = view(new ESExpr.Constructor(
+			"document",
+			List.of(new ESExpr.Str("doc"), new ESExpr.Str("not a section")),
+			Map.of()
+		));
+		assertEquals("doc", view.title());
+
+		var ex = assertThrows(DecodeException.class, view::sections);
+		assertEquals(ESExprCodec.FailurePath.Current.INSTANCE.append("document", 1), ex.getPath());
+		assertThrows(DecodeException.class, view::materialize);
+	}
+
+	@Test
+	public void invalidStructure() {
+		assertThrows(DecodeException.class, () -> view(new ESExpr.Constructor("other", List.of(new ESExpr.Str("doc")), Map.of())));
+		assertThrows(DecodeException.class, () -> view(new ESExpr.Str("doc")));
+		assertThrows(DecodeException.class, () -> view(new ESExpr.Constructor("document", List.of(new ESExpr.Str("doc")), Map.of("other", new ESExpr.Int(BigInteger.ONE)))));
+	}
+
+	@Test
+	public void missingArguments() throws Throwable {
+		var view = view(new ESExpr.Constructor("document", List.of(), Map.of()));
+		assertThrows(DecodeException.class, view::title);
+	}
+}
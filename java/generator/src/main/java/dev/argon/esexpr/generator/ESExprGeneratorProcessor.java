@@ -68,8 +68,9 @@ public class ESExprGeneratorProcessor extends AbstractProcessor {
 					}
 
 					var sw = new StringWriter();
+					GeneratorBase gen;
 					try(var pw = new PrintWriter(sw)) {
-						var gen = generatorFactory.apply(pw);
+						gen = generatorFactory.apply(pw);
 						gen.generate();
 					}
 
@@ -78,6 +79,17 @@ public class ESExprGeneratorProcessor extends AbstractProcessor {
 					try(var w = processingEnv.getFiler().createSourceFile(codecClassName).openWriter()) {
 						w.write(sw.toString());
 					}	
+
+					if(gen.hasView()) {
+						var viewSw = new StringWriter();
+						try(var pw = new PrintWriter(viewSw)) {
+							gen.generateView(pw);
+						}
+
+						try(var w = processingEnv.getFiler().createSourceFile(typeElem.getQualifiedName().toString() + "_View").openWriter()) {
+							w.write(viewSw.toString());
+						}
+					}
 				}
 				catch(IOException ex) {
 					throw new RuntimeException(ex);
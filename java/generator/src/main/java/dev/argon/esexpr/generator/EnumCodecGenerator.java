@@ -22,6 +22,17 @@ final class EnumCodecGenerator extends GeneratorBase {
 			.toList();
 	}
 
+	// Sealed-interface dispatch tries its cases without throwing.
+	@Override
+	protected boolean hasDecodeResult() {
+		return true;
+	}
+
+	@Override
+	protected boolean hasStaticTags() {
+		return getCases().stream().noneMatch(this::isInlineValue);
+	}
+
 	@Override
 	protected void writeTagsImpl() throws IOException, AbortException {
 		println("var tags = new java.util.HashSet<dev.argon.esexpr.ESExprTag>();");
@@ -38,7 +49,7 @@ final class EnumCodecGenerator extends GeneratorBase {
 				println("));");	
 			}
 		}
-		println("return tags;");
+		println("return java.util.Set.copyOf(tags);");
 	}
 
 	@Override
@@ -58,8 +69,8 @@ final class EnumCodecGenerator extends GeneratorBase {
 			if(isInlineValue(c)) {
 				var field = getFields(c).get(0);
 				print("yield ");
-				printCodecExpr(field.asType(), field);
-				print(".encode(caseValue.");
+				printEncodeCall(field.asType(), field);
+				print("caseValue.");
 				print(field.getSimpleName());
 				println("());");
 			}
@@ -76,54 +87,135 @@ final class EnumCodecGenerator extends GeneratorBase {
 		println("};");
 	}
 
+	// Inline value cases are found using a table from tags to case indexes.
+	// Constructor cases that come first claim their tag with -1 so that the original case order still decides ambiguous tags.
 	@Override
-	protected void writeDecodeImpl() throws IOException, AbortException {
-		println("return switch(expr) {");
-		indent();
+	protected void writeAdditionalMembers() throws IOException, AbortException {
+		var cases = getCases();
+		if(cases.stream().noneMatch(this::isInlineValue)) {
+			return;
+		}
 
-		for(var c : getCases()) {
+		println("private java.util.Map<dev.argon.esexpr.ESExprTag, java.lang.Integer> inlineCases = null;");
+		println("private java.util.Map<dev.argon.esexpr.ESExprTag, java.lang.Integer> buildInlineCases() {");
+		indent();
+		println("var inlineCases = new java.util.HashMap<dev.argon.esexpr.ESExprTag, java.lang.Integer>();");
+		for(int i = 0; i < cases.size(); ++i) {
+			var c = cases.get(i);
 			if(isInlineValue(c)) {
 				var field = getFields(c).get(0);
-
-				print("case _ when ");
+				print("for(var tag : ");
 				printCodecExpr(field.asType(), field);
-				println(".tags().contains(expr.tag()) -> {");
+				print(".tags()) { inlineCases.putIfAbsent(tag, ");
+				print(Integer.toString(i));
+				println("); }");
+			}
+			else {
+				print("inlineCases.putIfAbsent(new dev.argon.esexpr.ESExprTag.Constructor(");
+				printStringLiteral(getConstructorName(c));
+				println("), -1);");
+			}
+		}
+		println("return java.util.Map.copyOf(inlineCases);");
+		dedent();
+		println("}");
+
+		println("private java.util.Map<dev.argon.esexpr.ESExprTag, java.lang.Integer> inlineCases() {");
+		indent();
+		println("var inlineCases = this.inlineCases;");
+		println("if(inlineCases == null) {");
+		indent();
+		println("inlineCases = buildInlineCases();");
+		println("this.inlineCases = inlineCases;");
+		dedent();
+		println("}");
+		println("return inlineCases;");
+		dedent();
+		println("}");
+	}
+
+	@Override
+	protected void writeDecodeImpl() throws IOException, AbortException {
+		var cases = getCases();
+
+		if(cases.stream().anyMatch(this::isInlineValue)) {
+			println("var inlineCase = inlineCases().get(expr.tag());");
+			println("if(inlineCase != null) {");
+			indent();
+			println("switch(inlineCase) {");
+			indent();
+
+			for(int i = 0; i < cases.size(); ++i) {
+				var c = cases.get(i);
+				if(!isInlineValue(c)) {
+					continue;
+				}
+
+				var field = getFields(c).get(0);
+
+				print("case ");
+				print(Integer.toString(i));
+				println(" -> {");
 				indent();
 
-				print("var inner = ");
+				print("var innerResult = ");
 				printCodecExpr(field.asType(), field);
-				println(".decode(expr, path);");
+				println(".decodeResult(expr, path);");
 
-				print("yield new ");
+				print("if(innerResult instanceof dev.argon.esexpr.DecodeResult.Success(var inner)) { return new dev.argon.esexpr.DecodeResult.Success<>(new ");
 				print(elem.getQualifiedName());
 				print(".");
 				print(c.getSimpleName());
 				printTypeArguments();
-				println("(inner);");
+				println("(inner)); }");
+				println("return new dev.argon.esexpr.DecodeResult.Failure<>(((dev.argon.esexpr.DecodeResult.Failure<?>)innerResult).error());");
 
 				dedent();
 				println("}");
-
 			}
-			else {
-				print("case dev.argon.esexpr.ESExpr.Constructor(var name, var args0, var kwargs0) when name.equals(");
+
+			println("default -> {}");
+
+			dedent();
+			println("}");
+			dedent();
+			println("}");
+		}
+
+		if(cases.stream().anyMatch(c -> !isInlineValue(c))) {
+			println("if(expr instanceof dev.argon.esexpr.ESExpr.Constructor(var name, var args, var kwargs)) {");
+			indent();
+			println("switch(name) {");
+			indent();
+
+			for(var c : cases) {
+				if(isInlineValue(c)) {
+					continue;
+				}
+
+				print("case ");
 				printStringLiteral(getConstructorName(c));
-				println(") -> {");
+				println(" -> {");
 				indent();
-				println("var args = new java.util.ArrayList<>(args0);");
-				println("var kwargs = new java.util.HashMap<>(kwargs0);");
-	
-				writeDecodeFields(c, true);
-	
+
+				writeDecodeFields(c, false);
+
 				dedent();
-				println("}");	
+				println("}");
 			}
-		}
 
-		println("default -> throw new dev.argon.esexpr.DecodeException(\"Unexpected value for enum\", path);");
+			println("default -> {}");
 
-		dedent();
-		println("};");
+			dedent();
+			println("}");
+			dedent();
+			println("}");
+		}
+
+		printFailureStart();
+		print("\"Unexpected value for enum\", path");
+		printFailureEnd();
+		println();
 	}
 
 	private boolean isInlineValue(TypeElement c) {
@@ -2,6 +2,7 @@ package dev.argon.esexpr.generator;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -19,12 +20,14 @@ abstract class GeneratorBase {
 		this.elem = elem;
 	}
 
-	private final PrintWriter writer;
+	private PrintWriter writer;
 	protected final ProcessingEnvironment env;
 	private final MetadataCache metadataCache;
 	protected final TypeElement elem;
 	private int indentLevel = 0;
 	private boolean needsIndent = true;
+	private Map<String, HoistedCodec> hoistedCodecs = null;
+	private Map<List<String>, String> hoistedKeywordSets = null;
 
 
 	public final void generate() throws IOException, AbortException {
@@ -32,6 +35,24 @@ abstract class GeneratorBase {
 		writeClassImpl();
 	}
 
+	public boolean hasView() {
+		return false;
+	}
+
+	public final void generateView(PrintWriter viewWriter) throws IOException, AbortException {
+		var codecWriter = writer;
+		writer = viewWriter;
+		try {
+			writePackage();
+			writeViewImpl();
+		}
+		finally {
+			writer = codecWriter;
+		}
+	}
+
+	protected void writeViewImpl() throws IOException, AbortException {}
+
 	protected void indent() {
 		indentLevel += 1;
 	}
@@ -72,7 +93,114 @@ abstract class GeneratorBase {
 		printCodecExpr(t, associatedElement, CodecOverride.CodecType.VALUE);
 	}
 
+	// Codecs used by encode and decode are stored in lazily initialized fields so that they are only constructed once per codec instance.
 	protected void printCodecExpr(TypeMirror t, Element associatedElement, CodecOverride.CodecType codecType) throws IOException, AbortException {
+		if(hoistedCodecs == null || t.getKind().isPrimitive()) {
+			printCodecExprInline(t, associatedElement, codecType);
+			return;
+		}
+
+		var prevWriter = writer;
+		var prevNeedsIndent = needsIndent;
+		var sw = new StringWriter();
+		writer = new PrintWriter(sw);
+		needsIndent = false;
+		try {
+			printCodecExprInline(t, associatedElement, codecType);
+		}
+		finally {
+			writer.flush();
+			writer = prevWriter;
+			needsIndent = prevNeedsIndent;
+		}
+
+		String expr = sw.toString();
+		if(expr.indexOf('(') < 0) {
+			// Plain field references do not construct anything.
+			print(expr);
+			return;
+		}
+
+		String codecInterface = switch(codecType) {
+			case VALUE -> "dev.argon.esexpr.ESExprCodec";
+			case OPTIONAL_VALUE -> "dev.argon.esexpr.OptionalValueCodec";
+			case VARARG -> "dev.argon.esexpr.VarargCodec";
+			case DICT -> "dev.argon.esexpr.DictCodec";
+		};
+		String type = codecInterface + "<" + t + ">";
+
+		var hoisted = hoistedCodecs.computeIfAbsent(type + " " + expr, k -> new HoistedCodec("codec" + hoistedCodecs.size(), type, expr));
+		print(hoisted.name());
+		print("()");
+	}
+
+	private record HoistedCodec(String name, String type, String expr) {}
+
+	// The keywords skipped when decoding a dict field are stored in a static field so that the set is only built once.
+	private void printKeywordSet(List<String> keywordNames) throws IOException {
+		if(hoistedKeywordSets == null) {
+			printKeywordSetInline(keywordNames);
+			return;
+		}
+
+		print(hoistedKeywordSets.computeIfAbsent(List.copyOf(keywordNames), k -> "KEYWORDS_" + hoistedKeywordSets.size()));
+	}
+
+	private void printKeywordSetInline(List<String> keywordNames) throws IOException {
+		print("java.util.Set.of(");
+		for(int i = 0; i < keywordNames.size(); ++i) {
+			if(i > 0) {
+				print(", ");
+			}
+			printStringLiteral(keywordNames.get(i));
+		}
+		print(")");
+	}
+
+	private void writeHoistedKeywordSets() throws IOException {
+		for(var entry : hoistedKeywordSets.entrySet()) {
+			print("private static final java.util.Set<java.lang.String> ");
+			print(entry.getValue());
+			print(" = ");
+			printKeywordSetInline(entry.getKey());
+			println(";");
+		}
+	}
+
+	private void writeHoistedCodecs() throws IOException {
+		for(var hoisted : hoistedCodecs.values()) {
+			print("private ");
+			print(hoisted.type());
+			print(" ");
+			print(hoisted.name());
+			println(" = null;");
+
+			print("private ");
+			print(hoisted.type());
+			print(" ");
+			print(hoisted.name());
+			println("() {");
+			indent();
+			print("var codec = this.");
+			print(hoisted.name());
+			println(";");
+			println("if(codec == null) {");
+			indent();
+			print("codec = ");
+			print(hoisted.expr());
+			println(";");
+			print("this.");
+			print(hoisted.name());
+			println(" = codec;");
+			dedent();
+			println("}");
+			println("return codec;");
+			dedent();
+			println("}");
+		}
+	}
+
+	private void printCodecExprInline(TypeMirror t, Element associatedElement, CodecOverride.CodecType codecType) throws IOException, AbortException {
 		var codecOverride = findOverrideCodec(t, associatedElement, codecType);
 
 		List<? extends TypeMirror> typeArguments = t instanceof DeclaredType dt ? dt.getTypeArguments() : List.of();
@@ -93,7 +221,7 @@ abstract class GeneratorBase {
 						}
 						++i;
 
-						printCodecExpr(arg, associatedElement);
+						printCodecExprInline(arg, associatedElement, CodecOverride.CodecType.VALUE);
 					}
 					writer.print(")");
 				}
@@ -116,7 +244,7 @@ abstract class GeneratorBase {
 						}
 						++i;
 
-						printCodecExpr(arg, associatedElement);
+						printCodecExprInline(arg, associatedElement, CodecOverride.CodecType.VALUE);
 					}
 					writer.print(")");
 				}
@@ -146,7 +274,7 @@ abstract class GeneratorBase {
 				}
 				++i;
 
-				printCodecExpr(arg, associatedElement);
+				printCodecExprInline(arg, associatedElement, CodecOverride.CodecType.VALUE);
 			}
 
 			print(")");
@@ -156,6 +284,61 @@ abstract class GeneratorBase {
 		}
 	}
 
+	// Encode and decode calls on primitive fields use the unboxed methods (e.g. encodeInt) when the codec provides them.
+	protected void printEncodeCall(TypeMirror t, Element associatedElement) throws IOException, AbortException {
+		printCodecExpr(t, associatedElement);
+		print(".encode");
+		var suffix = getPrimitiveCodecSuffix(t, associatedElement);
+		if(suffix != null) {
+			print(suffix);
+		}
+		print("(");
+	}
+
+	protected void printDecodeCall(TypeMirror t, Element associatedElement) throws IOException, AbortException {
+		printCodecExpr(t, associatedElement);
+		print(".decode");
+		var suffix = getPrimitiveCodecSuffix(t, associatedElement);
+		if(suffix != null) {
+			print(suffix);
+		}
+		print("(");
+	}
+
+	private String getPrimitiveCodecSuffix(TypeMirror t, Element associatedElement) throws AbortException {
+		var suffix = switch(t.getKind()) {
+			case BOOLEAN -> "Bool";
+			case BYTE -> "Byte";
+			case SHORT -> "Short";
+			case INT -> "Int";
+			case LONG -> "Long";
+			case FLOAT -> "Float";
+			case DOUBLE -> "Double";
+			default -> null;
+		};
+		if(suffix == null) {
+			return null;
+		}
+
+		var codecInterface = env.getElementUtils().getTypeElement("dev.argon.esexpr." + suffix + "ESExprCodec");
+		if(codecInterface == null) {
+			return null;
+		}
+
+		var codecType = switch(findOverrideCodec(t, associatedElement, CodecOverride.CodecType.VALUE)) {
+			case TypeElement typeElement -> typeElement.asType();
+			case VariableElement variableElement -> variableElement.asType();
+			case ExecutableElement executableElement -> executableElement.getReturnType();
+			case null, default -> null;
+		};
+		if(codecType == null) {
+			return null;
+		}
+
+		var types = env.getTypeUtils();
+		return types.isAssignable(types.erasure(codecType), codecInterface.asType()) ? suffix : null;
+	}
+
 	private Element findOverrideCodec(TypeMirror t, Element associatedElement, CodecOverride.CodecType codecType) throws AbortException {
 		for(var codecOverride : metadataCache.getCodecOverrides()) {
 			if(codecOverride.codecType() != codecType) {
@@ -366,14 +549,52 @@ abstract class GeneratorBase {
 				println("Codec;");
 			}
 
+			writeCachedFactory();
+
 		}
 
-		println("@java.lang.Override");
-		println("public java.util.Set<dev.argon.esexpr.ESExprTag> tags() {");
-		indent();
-		writeTagsImpl();
-		dedent();
-		println("}");
+		if(hasStaticTags()) {
+			println("private static final java.util.Set<dev.argon.esexpr.ESExprTag> TAGS = buildTags();");
+			println("private static java.util.Set<dev.argon.esexpr.ESExprTag> buildTags() {");
+			indent();
+			writeTagsImpl();
+			dedent();
+			println("}");
+
+			println("@java.lang.Override");
+			println("public java.util.Set<dev.argon.esexpr.ESExprTag> tags() {");
+			indent();
+			println("return TAGS;");
+			dedent();
+			println("}");
+		}
+		else {
+			println("private java.util.Set<dev.argon.esexpr.ESExprTag> tags = null;");
+			println("private java.util.Set<dev.argon.esexpr.ESExprTag> buildTags() {");
+			indent();
+			writeTagsImpl();
+			dedent();
+			println("}");
+
+			println("@java.lang.Override");
+			println("public java.util.Set<dev.argon.esexpr.ESExprTag> tags() {");
+			indent();
+			println("var tags = this.tags;");
+			println("if(tags == null) {");
+			indent();
+			println("tags = buildTags();");
+			println("this.tags = tags;");
+			dedent();
+			println("}");
+			println("return tags;");
+			dedent();
+			println("}");
+		}
+
+		writeAdditionalMembers();
+
+		hoistedCodecs = new LinkedHashMap<>();
+		hoistedKeywordSets = new LinkedHashMap<>();
 
 		println("@java.lang.Override");
 		print("public dev.argon.esexpr.ESExpr encode(");
@@ -391,15 +612,112 @@ abstract class GeneratorBase {
 		printTypeArguments();
 		println(" decode(dev.argon.esexpr.ESExpr expr, dev.argon.esexpr.ESExprCodec.FailurePath path) throws dev.argon.esexpr.DecodeException {");
 		indent();
-		writeDecodeImpl();
+		if(hasDecodeResult()) {
+			println("return decodeResult(expr, path).getOrThrow();");
+		}
+		else {
+			writeDecodeImpl();
+		}
+		dedent();
+		println("}");
+
+		if(hasDecodeResult()) {
+			println("@java.lang.Override");
+			print("public dev.argon.esexpr.DecodeResult<");
+			print(elem.getQualifiedName());
+			printTypeArguments();
+			println("> decodeResult(dev.argon.esexpr.ESExpr expr, dev.argon.esexpr.ESExprCodec.FailurePath path) {");
+			indent();
+			resultDecode = true;
+			try {
+				writeDecodeImpl();
+			}
+			finally {
+				resultDecode = false;
+			}
+			dedent();
+			println("}");
+		}
+
+		writeAdditionalDecoders();
+
+		writeHoistedCodecs();
+		hoistedCodecs = null;
+		writeHoistedKeywordSets();
+		hoistedKeywordSets = null;
+
+
 		dedent();
 		println("}");
+	}
+
+	// Generic codecs are cached per combination of argument codecs so that repeated lookups share one instance.
+	private void writeCachedFactory() throws IOException {
+		println("private static final dev.argon.esexpr.CodecCache<dev.argon.esexpr.ESExprCodec<?>> CACHE = new dev.argon.esexpr.CodecCache<>();");
+
+		println("/**");
+		println(" * Gets the codec for the argument codecs, which are compared by identity.");
+		println(" * A codec is only cached while it is reachable, so callers that create argument codecs should keep the result.");
+		println(" */");
+		println("@java.lang.SuppressWarnings(\"unchecked\")");
+		print("public static <");
+		int i = 0;
+		for(TypeParameterElement tp : elem.getTypeParameters()) {
+			if(i > 0) {
+				print(", ");
+			}
+			++i;
+
+			print(tp.toString());
+		}
+		print("> dev.argon.esexpr.ESExprCodec<");
+		print(elem.getQualifiedName());
+		printTypeArguments();
+		print("> of(");
+		i = 0;
+		for(TypeParameterElement tp : elem.getTypeParameters()) {
+			if(i > 0) {
+				print(", ");
+			}
+			++i;
+
+			print("dev.argon.esexpr.ESExprCodec<");
+			print(tp.getSimpleName());
+			print("> ");
+			print(nameToCamelCase(tp.getSimpleName().toString()));
+			print("Codec");
+		}
+		println(") {");
+		indent();
 
+		print("return (dev.argon.esexpr.ESExprCodec<");
+		print(elem.getQualifiedName());
+		printTypeArguments();
+		print(">)CACHE.get(new java.lang.Object[] { ");
+		printCodecParameterNames();
+		print(" }, () -> new ");
+		print(elem.getQualifiedName());
+		print("_CodecImpl<>(");
+		printCodecParameterNames();
+		println("));");
 
 		dedent();
 		println("}");
 	}
 
+	private void printCodecParameterNames() throws IOException {
+		int i = 0;
+		for(TypeParameterElement tp : elem.getTypeParameters()) {
+			if(i > 0) {
+				print(", ");
+			}
+			++i;
+
+			print(nameToCamelCase(tp.getSimpleName().toString()));
+			print("Codec");
+		}
+	}
+
 	protected void printTypeArguments() throws IOException {
 		if(!elem.getTypeParameters().isEmpty()) {
 			print("<");
@@ -433,10 +751,104 @@ abstract class GeneratorBase {
 		return hasAnnotation(field.getAnnotationMirrors(), "dev.argon.esexpr.OptionalValue");
 	}
 
-	private Optional<String> getDefaultValue(RecordComponentElement field) {
-		return getAnnotation(field.getAnnotationMirrors(), "dev.argon.esexpr.DefaultValue")
+	// Gets the default value as a Java expression.
+	// The accepted values are the same as for codecs derived at runtime: the name of a static method of the record without parameters,
+	// or a literal of the field type.
+	private Optional<String> getDefaultValue(RecordComponentElement field) throws AbortException {
+		var value = getAnnotation(field.getAnnotationMirrors(), "dev.argon.esexpr.DefaultValue")
 			.flatMap(ann -> getAnnotationArgument(ann, "value"))
-			.flatMap(value -> value.getValue() instanceof String s ? Optional.of(s) : Optional.empty());
+			.flatMap(arg -> arg.getValue() instanceof String s ? Optional.of(s) : Optional.empty())
+			.orElse(null);
+
+		if(value == null) {
+			return Optional.empty();
+		}
+
+		var recordType = (TypeElement)field.getEnclosingElement();
+		boolean isStaticMethod = recordType.getEnclosedElements()
+			.stream()
+			.anyMatch(e -> e instanceof ExecutableElement method &&
+				method.getKind() == ElementKind.METHOD &&
+				method.getSimpleName().contentEquals(value) &&
+				method.getParameters().isEmpty() &&
+				method.getModifiers().contains(Modifier.STATIC)
+			);
+
+		if(isStaticMethod) {
+			return Optional.of(recordType.getQualifiedName() + "." + value + "()");
+		}
+
+		var fieldType = field.asType();
+		if(!fieldType.getKind().isPrimitive()) {
+			try {
+				fieldType = env.getTypeUtils().unboxedType(fieldType);
+			}
+			catch(IllegalArgumentException e) {
+				// Not a boxed type, so only strings have literals.
+			}
+		}
+
+		try {
+			switch(fieldType.getKind()) {
+				case BOOLEAN -> {
+					if(value.equals("true") || value.equals("false")) {
+						return Optional.of(value);
+					}
+				}
+				case BYTE -> {
+					return Optional.of("(byte)" + Byte.decode(value));
+				}
+				case SHORT -> {
+					return Optional.of("(short)" + Short.decode(value));
+				}
+				case INT -> {
+					return Optional.of(Integer.toString(Integer.decode(value)));
+				}
+				case LONG -> {
+					return Optional.of(Long.decode(value.endsWith("L") || value.endsWith("l") ? value.substring(0, value.length() - 1) : value) + "L");
+				}
+				case FLOAT -> {
+					float f = Float.parseFloat(value);
+					if(Float.isNaN(f)) {
+						return Optional.of("java.lang.Float.NaN");
+					}
+					else if(Float.isInfinite(f)) {
+						return Optional.of(f > 0 ? "java.lang.Float.POSITIVE_INFINITY" : "java.lang.Float.NEGATIVE_INFINITY");
+					}
+					return Optional.of(f + "f");
+				}
+				case DOUBLE -> {
+					double d = Double.parseDouble(value);
+					if(Double.isNaN(d)) {
+						return Optional.of("java.lang.Double.NaN");
+					}
+					else if(Double.isInfinite(d)) {
+						return Optional.of(d > 0 ? "java.lang.Double.POSITIVE_INFINITY" : "java.lang.Double.NEGATIVE_INFINITY");
+					}
+					return Optional.of(Double.toString(d));
+				}
+				case DECLARED -> {
+					if(isString(fieldType) && value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+						var content = value.substring(1, value.length() - 1);
+						if(content.indexOf('"') < 0 && content.indexOf('\\') < 0) {
+							return Optional.of(value);
+						}
+					}
+				}
+				default -> {}
+			}
+		}
+		catch(NumberFormatException e) {
+			throw new AbortException("Invalid default value " + value, field);
+		}
+
+		throw new AbortException("Default value " + value + " must be a literal or the name of a static method", field);
+	}
+
+	private boolean isString(TypeMirror t) {
+		return t instanceof DeclaredType dt &&
+			dt.asElement() instanceof TypeElement te &&
+			te.getQualifiedName().contentEquals("java.lang.String");
 	}
 
 	private boolean isVararg(RecordComponentElement field) {
@@ -461,8 +873,23 @@ abstract class GeneratorBase {
 		boolean hasOptionalPositional = false;
 		var kwargNames = new HashSet<String>();
 
-		println("var args = new java.util.ArrayList<dev.argon.esexpr.ESExpr>();");
-		println("var kwargs = new java.util.HashMap<java.lang.String, dev.argon.esexpr.ESExpr>();");
+		int positionalCount = 0;
+		boolean hasKeywordArgs = false;
+		for(var field : getFields(te)) {
+			if(getKeywordAnn(field).isPresent() || isDict(field)) {
+				hasKeywordArgs = true;
+			}
+			else {
+				++positionalCount;
+			}
+		}
+
+		print("var args = new java.util.ArrayList<dev.argon.esexpr.ESExpr>(");
+		print(Integer.toString(positionalCount));
+		println(");");
+		if(hasKeywordArgs) {
+			println("var kwargs = new java.util.HashMap<java.lang.String, dev.argon.esexpr.ESExpr>();");
+		}
 
 		for(var field : getFields(te)) {
 			var kwAnn = getKeywordAnn(field).orElse(null);
@@ -483,11 +910,11 @@ abstract class GeneratorBase {
 
 					print("var kwValue = ");
 					printCodecExpr(field.asType(), field, CodecOverride.CodecType.OPTIONAL_VALUE);
-					print(".encodeOptional(");
+					print(".encodeNullable(");
 					print(valueVarName);
 					print(".");
 					print(field.getSimpleName());
-					println("()).orElse(null);");
+					println("());");
 
 
 					println("if(kwValue != null) {");
@@ -546,8 +973,7 @@ abstract class GeneratorBase {
 				print("kwargs.put(");
 				printStringLiteral(kwName);
 				print(", ");
-				printCodecExpr(field.asType(), field);
-				print(".encode(");
+				printEncodeCall(field.asType(), field);
 				print(valueVarName);
 				print(".");
 				print(field.getSimpleName());
@@ -567,19 +993,12 @@ abstract class GeneratorBase {
 				}
 				hasVarArgs = true;
 
-				print("for(var arg : ");
 				printCodecExpr(field.asType(), field, CodecOverride.CodecType.VARARG);
 				print(".encodeVararg(");
 				print(valueVarName);
 				print(".");
 				print(field.getSimpleName());
-				println("())) {");
-				indent();
-
-				println("args.add(arg);");
-
-				dedent();
-				println("}");
+				println("(), args::add);");
 				continue;
 			}
 
@@ -589,19 +1008,12 @@ abstract class GeneratorBase {
 				}
 				hasDict = true;
 
-				print("for(var pair : ");
 				printCodecExpr(field.asType(), field, CodecOverride.CodecType.DICT);
 				print(".encodeDict(");
 				print(valueVarName);
 				print(".");
 				print(field.getSimpleName());
-				println("()).entrySet()) {");
-				indent();
-
-				println("kwargs.put(pair.getKey(), pair.getValue());");
-
-				dedent();
-				println("}");
+				println("(), kwargs::put);");
 				continue;
 			}
 
@@ -616,12 +1028,18 @@ abstract class GeneratorBase {
 
 				hasOptionalPositional = true;
 
+				println("{");
+				indent();
+				print("var arg = ");
 				printCodecExpr(field.asType(), field, CodecOverride.CodecType.OPTIONAL_VALUE);
-				print(".encodeOptional(");
+				print(".encodeNullable(");
 				print(valueVarName);
 				print(".");
 				print(field.getSimpleName());
-				println("()).ifPresent(arg -> args.add(arg));");
+				println("());");
+				println("if(arg != null) { args.add(arg); }");
+				dedent();
+				println("}");
 			}
 			else {
 				if(hasOptionalPositional) {
@@ -629,8 +1047,7 @@ abstract class GeneratorBase {
 				}
 
 				print("args.add(");
-				printCodecExpr(field.asType(), field);
-				print(".encode(");
+				printEncodeCall(field.asType(), field);
 				print(valueVarName);
 				print(".");
 				print(field.getSimpleName());
@@ -647,148 +1064,215 @@ abstract class GeneratorBase {
 		}
 		print(" new dev.argon.esexpr.ESExpr.Constructor(");
 		printStringLiteral(getConstructorName(te));
-		println(", args, kwargs);");
+		if(hasKeywordArgs) {
+			println(", args, kwargs);");
+		}
+		else {
+			println(", args, java.util.Map.of());");
+		}
 	}
 
-	protected void writeDecodeFields(TypeElement te, boolean useYield) throws IOException, AbortException {
-		int positionalIndex = 0;
-		for(var field : getFields(te)) {
-			var kwAnn = getKeywordAnn(field).orElse(null);
-			if(kwAnn != null) {
-				String keywordName = getKeywordName(field, kwAnn);
-				print("var expr_");
-				print(field.getSimpleName());
-				print(" = kwargs.remove(");
-				printStringLiteral(keywordName);
-				println(");");
+	// Fields are decoded relative to an empty path.
+	// The path to the field is only built when decoding fails.
+	private static final String RELATIVE_PATH = "dev.argon.esexpr.ESExprCodec.FailurePath.Current.INSTANCE";
 
-				if(isOptional(field)) {
-					print(field.asType().toString());
-					print(" field_");
-					print(field.getSimpleName());
-					print(" = ");
-					printCodecExpr(field.asType(), field, CodecOverride.CodecType.OPTIONAL_VALUE);
-					print(".decodeOptional(expr_");
-					print(field.getSimpleName());
-					print(" == null ? java.util.Optional.empty() : java.util.Optional.of(expr_");
-					print(field.getSimpleName());
-					print("), path.append(");
-					printStringLiteral(getConstructorName(te));
-					print(", ");
-					printStringLiteral(keywordName);
-					println("));");
-					continue;
-				}
+	// Set while writing a projected decoder, which declares the fields before checking whether they are selected.
+	private boolean projectedDecode = false;
 
-				var defaultValue = getDefaultValue(field).orElse(null);
-				if(defaultValue != null) {
-					print("var field_");
-					print(field.getSimpleName());
-					print(" = ");
-					print("expr_");
-					print(field.getSimpleName());
-					print(" == null ? ");
+	// Set while writing decodeResult, which returns failures instead of throwing them.
+	// Nested values are decoded with decodeResult where the codec supports it, so failures are not thrown at any level.
+	private boolean resultDecode = false;
 
-					print("(");
-					print(defaultValue);
-					print(")");
+	// Generators that override this write the decode body once as a decodeResult method, by calling writeDecodeImpl with isResultDecode() set.
+	// The throwing decode method then unwraps the result.
+	protected boolean hasDecodeResult() {
+		return false;
+	}
 
+	// Prints the start of a statement that fails decoding. The arguments of the DecodeException follow.
+	protected void printFailureStart() throws IOException {
+		if(resultDecode) {
+			print("return new dev.argon.esexpr.DecodeResult.Failure<>(new dev.argon.esexpr.DecodeException(");
+		}
+		else {
+			print("throw new dev.argon.esexpr.DecodeException(");
+		}
+	}
 
-					print(" : ");
-					printCodecExpr(field.asType(), field);
-					print(".decode(expr_");
-					print(field.getSimpleName());print(", path.append(");
-					printStringLiteral(getConstructorName(te));
-					print(", ");
-					printStringLiteral(keywordName);
-					println("));");
-				}
-				else {
-					print("if(expr_");
-					print(field.getSimpleName());
-					print(" == null) { throw new dev.argon.esexpr.DecodeException(\"Missing required keyword argument\", path.withConstructor(");
-					printStringLiteral(getConstructorName(te));
-					println(")); }");
-					print("var field_");
-					print(field.getSimpleName());
-					print(" = ");
-					printCodecExpr(field.asType(), field);
-					print(".decode(expr_");
-					print(field.getSimpleName());
-					print(", path.append(");
-					printStringLiteral(getConstructorName(te));
-					print(", ");
-					printStringLiteral(keywordName);
-					println("));");
-				}
+	protected void printFailureEnd() throws IOException {
+		if(resultDecode) {
+			print(", false));");
+		}
+		else {
+			print(", false);");
+		}
+	}
 
-				continue;
-			}
+	private void printCatchStart() throws IOException {
+		if(resultDecode) {
+			print("catch(dev.argon.esexpr.DecodeException e) { return new dev.argon.esexpr.DecodeResult.Failure<>(e.prependPath(");
+		}
+		else {
+			print("catch(dev.argon.esexpr.DecodeException e) { throw e.prependPath(");
+		}
+	}
 
-			if(isVararg(field)) {
-				print("var field_");
-				print(field.getSimpleName());
-				print(" = ");
-				printCodecExpr(field.asType(), field, CodecOverride.CodecType.VARARG);
-				print(".decodeVararg(args, i -> path.append(");
-				printStringLiteral(getConstructorName(te));
-				print(", ");
-				print(Integer.toString(positionalIndex));
-				println(" + i));");
+	private void printCatchEnd() throws IOException {
+		if(resultDecode) {
+			println(")); }");
+		}
+		else {
+			println("); }");
+		}
+	}
 
-				println("args.clear();");
+	private interface PathPrinter {
+		void print() throws IOException;
+	}
 
-				++positionalIndex;
-				continue;
-			}
+	// Decodes a value field with decodeResult and returns the failure with the path of the field prepended.
+	private void writeResultFieldDecode(RecordComponentElement field, String exprCode, PathPrinter pathPrinter) throws IOException, AbortException {
+		var name = field.getSimpleName();
+		print("var result_");
+		print(name);
+		print(" = ");
+		printCodecExpr(field.asType(), field);
+		print(".decodeResult(");
+		print(exprCode);
+		print(", ");
+		print(RELATIVE_PATH);
+		println(");");
 
-			if(isDict(field)) {
-				print("var field_");
-				print(field.getSimpleName());
-				print(" = ");
-				printCodecExpr(field.asType(), field, CodecOverride.CodecType.DICT);
-				print(".decodeDict(kwargs, kw -> path.append(");
-				printStringLiteral(getConstructorName(te));
-				println(", kw));");
+		print("if(result_");
+		print(name);
+		print(" instanceof dev.argon.esexpr.DecodeResult.Success(var value_");
+		print(name);
+		print(")) { field_");
+		print(name);
+		print(" = value_");
+		print(name);
+		println("; }");
+		print("else { return new dev.argon.esexpr.DecodeResult.Failure<>(((dev.argon.esexpr.DecodeResult.Failure<?>)result_");
+		print(name);
+		print(").error().prependPath(");
+		pathPrinter.print();
+		println(")); }");
+	}
 
-				println("kwargs.clear();");
-				continue;
+	private void beginFieldDecode(RecordComponentElement field) throws IOException {
+		if(!projectedDecode) {
+			declareField(field);
+		}
+		println("try {");
+		indent();
+		print("field_");
+		print(field.getSimpleName());
+		print(" = ");
+	}
+
+	private void endFieldDecode(String constructor, int index) throws IOException {
+		println(";");
+		dedent();
+		println("}");
+		printCatchStart();
+		print("path.append(");
+		printStringLiteral(constructor);
+		print(", ");
+		print(Integer.toString(index));
+		print(")");
+		printCatchEnd();
+	}
+
+	private void endFieldDecode(String constructor, String keyword) throws IOException {
+		println(";");
+		dedent();
+		println("}");
+		printCatchStart();
+		print("path.append(");
+		printStringLiteral(constructor);
+		print(", ");
+		printStringLiteral(keyword);
+		print(")");
+		printCatchEnd();
+	}
+
+	private void endFieldDecode() throws IOException {
+		println(";");
+		dedent();
+		println("}");
+		printCatchStart();
+		print("path");
+		printCatchEnd();
+	}
+
+	private void declareField(RecordComponentElement field) throws IOException {
+		print(field.asType().toString());
+		print(" field_");
+		print(field.getSimpleName());
+		println(";");
+	}
+
+	protected void writeDecodeFields(TypeElement te, boolean useYield) throws IOException, AbortException {
+		writeDecodeFields(te, useYield, false);
+	}
+
+	// A projected decoder only decodes the selected fields and ignores any other arguments.
+	protected void writeDecodeFields(TypeElement te, boolean useYield, boolean projected) throws IOException, AbortException {
+		var keywordNames = new ArrayList<String>();
+		boolean hasDict = false;
+		for(var field : getFields(te)) {
+			var kwAnn = getKeywordAnn(field).orElse(null);
+			if(kwAnn != null) {
+				keywordNames.add(getKeywordName(field, kwAnn));
 			}
+			else if(isDict(field)) {
+				hasDict = true;
+			}
+		}
 
-			if(isOptional(field)) {
-				print("var field_");
-				print(field.getSimpleName());
-				print(" = ");
-				printCodecExpr(field.asType(), field, CodecOverride.CodecType.OPTIONAL_VALUE);
-				print(".decodeOptional(args.isEmpty() ? java.util.Optional.empty() : java.util.Optional.of(args.removeFirst()), path.append(");
-				printStringLiteral(getConstructorName(te));
-				print(", ");
-				print(Integer.toString(positionalIndex));
-				println("));");
+		boolean countKeywords = !hasDict && !projected;
+
+		println("int argIndex = 0;");
+		if(countKeywords) {
+			println("int kwargCount = 0;");
+		}
+
+		String constructorName = getConstructorName(te);
+		int positionalIndex = 0;
+		int fieldIndex = 0;
+		for(var field : getFields(te)) {
+			if(projected) {
+				beginProjectedField(field, fieldIndex);
 			}
-			else {
-				print("if(args.isEmpty()) { throw new dev.argon.esexpr.DecodeException(\"Not enough arguments\", path.withConstructor(");
-				printStringLiteral(getConstructorName(te));
-				println(")); }");
-				print("var field_");
-				print(field.getSimpleName());
-				print(" = ");
-				printCodecExpr(field.asType(), field);
-				print(".decode(args.removeFirst(), path.append(");
-				printStringLiteral(getConstructorName(te));
-				print(", ");
-				print(Integer.toString(positionalIndex));
-				println("));");
+
+			int nextPositionalIndex = writeDecodeField(field, constructorName, positionalIndex, keywordNames, countKeywords);
+
+			if(projected) {
+				endProjectedField(field);
 			}
-			++positionalIndex;
+
+			positionalIndex = nextPositionalIndex;
+			++fieldIndex;
 		}
 
-		print("if(!args.isEmpty()) { throw new dev.argon.esexpr.DecodeException(\"Extra positional arguments were found.\", path.withConstructor(");
-		printStringLiteral(getConstructorName(te));
-		println(")); }");
-		print("if(!kwargs.isEmpty()) { throw new dev.argon.esexpr.DecodeException(\"Extra keyword arguments were found.\", path.withConstructor(");
-		printStringLiteral(getConstructorName(te));
-		println(")); }");
+		if(!projected) {
+			print("if(argIndex < args.size()) { ");
+			printFailureStart();
+			print("\"Extra positional arguments were found.\", path.withConstructor(");
+			printStringLiteral(constructorName);
+			print(")");
+			printFailureEnd();
+			println(" }");
+		}
+		if(countKeywords) {
+			print("if(kwargCount < kwargs.size()) { ");
+			printFailureStart();
+			print("\"Extra keyword arguments were found.\", path.withConstructor(");
+			printStringLiteral(constructorName);
+			print(")");
+			printFailureEnd();
+			println(" }");
+		}
 
 		if(useYield) {
 			print("yield");
@@ -796,7 +1280,12 @@ abstract class GeneratorBase {
 		else {
 			print("return");
 		}
-		print(" new ");
+		if(resultDecode) {
+			print(" new dev.argon.esexpr.DecodeResult.Success<>(new ");
+		}
+		else {
+			print(" new ");
+		}
 		print(elem.getQualifiedName());
 		if(te != elem) {
 			print(".");
@@ -816,9 +1305,538 @@ abstract class GeneratorBase {
 			print(field.getSimpleName());
 		}
 
+		if(resultDecode) {
+			print(")");
+		}
+		println(");");
+	}
+
+	protected boolean isViewRequested() {
+		return isCodecGenOptionEnabled("view");
+	}
+
+	protected boolean isProjectionRequested() {
+		return isCodecGenOptionEnabled("projection");
+	}
+
+	private boolean isCodecGenOptionEnabled(String name) {
+		return getAnnotation(elem.getAnnotationMirrors(), "dev.argon.esexpr.ESExprCodecGen")
+			.flatMap(ann -> getAnnotationArgument(ann, name))
+			.map(value -> value.getValue() instanceof Boolean b && b)
+			.orElse(false);
+	}
+
+	// Views decode each field from its own subtree of an arena node, so that other fields are never converted.
+	protected void writeViewFieldDecoders(TypeElement te) throws IOException, AbortException {
+		String constructorName = getConstructorName(te);
+		var keywordNames = new ArrayList<String>();
+		boolean hasVararg = false;
+		boolean hasDict = false;
+		int positionalCount = 0;
+		for(var field : getFields(te)) {
+			var kwAnn = getKeywordAnn(field).orElse(null);
+			if(kwAnn != null) {
+				keywordNames.add(getKeywordName(field, kwAnn));
+			}
+			else if(isDict(field)) {
+				hasDict = true;
+			}
+			else {
+				hasVararg |= isVararg(field);
+				++positionalCount;
+			}
+		}
+
+		// Arena nodes store constructor names and keywords as symbols, so they are dispatched by symbol instead of comparing names.
+		boolean dispatchKeywords = !hasDict && !keywordNames.isEmpty();
+		print("private static final dev.argon.esexpr.SymbolDispatch VIEW_CONSTRUCTOR = new dev.argon.esexpr.SymbolDispatch(");
+		printStringLiteral(constructorName);
+		println(");");
+		if(dispatchKeywords) {
+			print("private static final dev.argon.esexpr.SymbolDispatch VIEW_KEYWORDS = new dev.argon.esexpr.SymbolDispatch(");
+			for(int i = 0; i < keywordNames.size(); ++i) {
+				if(i > 0) {
+					print(", ");
+				}
+				printStringLiteral(keywordNames.get(i));
+			}
+			println(");");
+		}
+
+		println("void checkView(dev.argon.esexpr.ESExprArena.Node node) throws dev.argon.esexpr.DecodeException {");
+		indent();
+		println("var path = dev.argon.esexpr.ESExprCodec.FailurePath.Current.INSTANCE;");
+		print("if(node.constructorCase(VIEW_CONSTRUCTOR) != 0) { throw new dev.argon.esexpr.DecodeException(");
+		printStringLiteral("Expected a " + constructorName + " constructor");
+		println(", path, false); }");
+		if(!hasVararg) {
+			print("if(node.argCount() > ");
+			print(Integer.toString(positionalCount));
+			print(") { throw new dev.argon.esexpr.DecodeException(\"Extra positional arguments were found.\", path.withConstructor(");
+			printStringLiteral(constructorName);
+			println("), false); }");
+		}
+		if(!hasDict) {
+			println("for(int i = 0; i < node.keywordCount(); ++i) {");
+			indent();
+			if(keywordNames.isEmpty()) {
+				print("throw new dev.argon.esexpr.DecodeException(\"Extra keyword arguments were found.\", path.withConstructor(");
+				printStringLiteral(constructorName);
+				println("), false);");
+			}
+			else {
+				println("switch(node.keywordCase(VIEW_KEYWORDS, i)) {");
+				indent();
+				print("case ");
+				for(int i = 0; i < keywordNames.size(); ++i) {
+					if(i > 0) {
+						print(", ");
+					}
+					print(Integer.toString(i));
+				}
+				println(" -> {}");
+				print("default -> throw new dev.argon.esexpr.DecodeException(\"Extra keyword arguments were found.\", path.withConstructor(");
+				printStringLiteral(constructorName);
+				println("), false);");
+				dedent();
+				println("}");
+			}
+			dedent();
+			println("}");
+		}
+		dedent();
+		println("}");
+
+		int positionalIndex = 0;
+		for(var field : getFields(te)) {
+			print(field.asType().toString());
+			print(" viewField_");
+			print(field.getSimpleName());
+			println("(dev.argon.esexpr.ESExprArena.Node node) throws dev.argon.esexpr.DecodeException {");
+			indent();
+			println("var path = dev.argon.esexpr.ESExprCodec.FailurePath.Current.INSTANCE;");
+
+			var kwAnn = getKeywordAnn(field).orElse(null);
+			if(kwAnn != null) {
+				String keywordName = getKeywordName(field, kwAnn);
+				print("var kwNode = node.keywordValue(");
+				printStringLiteral(keywordName);
+				println(").orElse(null);");
+
+				var defaultValue = getDefaultValue(field).orElse(null);
+				if(isOptional(field)) {
+					beginViewFieldDecode();
+					printCodecExpr(field.asType(), field, CodecOverride.CodecType.OPTIONAL_VALUE);
+					print(".decodeNullable(kwNode == null ? null : kwNode.toExpr(), ");
+					print(RELATIVE_PATH);
+					print(")");
+				}
+				else {
+					if(defaultValue != null) {
+						print("if(kwNode == null) { return (");
+						print(defaultValue);
+						println("); }");
+					}
+					else {
+						print("if(kwNode == null) { throw new dev.argon.esexpr.DecodeException(\"Missing required keyword argument\", path.withConstructor(");
+						printStringLiteral(constructorName);
+						println("), false); }");
+					}
+
+					beginViewFieldDecode();
+					printDecodeCall(field.asType(), field);
+					print("kwNode.toExpr(), ");
+					print(RELATIVE_PATH);
+					print(")");
+				}
+				endFieldDecode(constructorName, keywordName);
+			}
+			else if(isVararg(field)) {
+				println("var exprs = new java.util.ArrayList<dev.argon.esexpr.ESExpr>();");
+				print("for(int argIndex = ");
+				print(Integer.toString(positionalIndex));
+				println("; argIndex < node.argCount(); ++argIndex) {");
+				indent();
+				println("exprs.add(node.arg(argIndex).toExpr());");
+				dedent();
+				println("}");
+
+				beginViewFieldDecode();
+				printCodecExpr(field.asType(), field, CodecOverride.CodecType.VARARG);
+				print(".decodeVararg(exprs, i -> ");
+				print(RELATIVE_PATH);
+				print(".append(");
+				printStringLiteral(constructorName);
+				print(", ");
+				print(Integer.toString(positionalIndex));
+				print(" + i))");
+				endFieldDecode();
+				++positionalIndex;
+			}
+			else if(isDict(field)) {
+				println("var exprs = new java.util.HashMap<java.lang.String, dev.argon.esexpr.ESExpr>();");
+				println("for(int i = 0; i < node.keywordCount(); ++i) {");
+				indent();
+				println("var kw = node.keywordName(i);");
+				if(!keywordNames.isEmpty()) {
+					println("switch(kw) {");
+					indent();
+					print("case ");
+					for(int i = 0; i < keywordNames.size(); ++i) {
+						if(i > 0) {
+							print(", ");
+						}
+						printStringLiteral(keywordNames.get(i));
+					}
+					println(" -> {}");
+					println("default -> exprs.put(kw, node.keywordValue(i).toExpr());");
+					dedent();
+					println("}");
+				}
+				else {
+					println("exprs.put(kw, node.keywordValue(i).toExpr());");
+				}
+				dedent();
+				println("}");
+
+				beginViewFieldDecode();
+				printCodecExpr(field.asType(), field, CodecOverride.CodecType.DICT);
+				print(".decodeDict(exprs, kw -> ");
+				print(RELATIVE_PATH);
+				print(".append(");
+				printStringLiteral(constructorName);
+				print(", kw))");
+				endFieldDecode();
+			}
+			else {
+				String index = Integer.toString(positionalIndex);
+				if(isOptional(field)) {
+					beginViewFieldDecode();
+					printCodecExpr(field.asType(), field, CodecOverride.CodecType.OPTIONAL_VALUE);
+					print(".decodeNullable(node.argCount() <= ");
+					print(index);
+					print(" ? null : node.arg(");
+					print(index);
+					print(").toExpr(), ");
+					print(RELATIVE_PATH);
+					print(")");
+				}
+				else {
+					print("if(node.argCount() <= ");
+					print(index);
+					print(") { throw new dev.argon.esexpr.DecodeException(\"Not enough arguments\", path.withConstructor(");
+					printStringLiteral(constructorName);
+					println("), false); }");
+
+					beginViewFieldDecode();
+					printDecodeCall(field.asType(), field);
+					print("node.arg(");
+					print(index);
+					print(").toExpr(), ");
+					print(RELATIVE_PATH);
+					print(")");
+				}
+				endFieldDecode(constructorName, positionalIndex);
+				++positionalIndex;
+			}
+
+			dedent();
+			println("}");
+		}
+	}
+
+	private void beginViewFieldDecode() throws IOException {
+		println("try {");
+		indent();
+		print("return ");
+	}
+
+	protected void writeProjectionFields(TypeElement te) throws IOException {
+		println("private static final java.util.List<dev.argon.esexpr.ProjectedCodec.Field> PROJECTION_FIELDS = java.util.List.of(");
+		indent();
+
+		int positionalIndex = 0;
+		int i = 0;
+		for(var field : getFields(te)) {
+			if(i > 0) {
+				println(",");
+			}
+			++i;
+
+			print("new dev.argon.esexpr.ProjectedCodec.Field(");
+			printStringLiteral(field.getSimpleName().toString());
+			print(", dev.argon.esexpr.ProjectedCodec.FieldKind.");
+
+			var kwAnn = getKeywordAnn(field).orElse(null);
+			if(kwAnn != null) {
+				print("KEYWORD, -1, ");
+				printStringLiteral(getKeywordName(field, kwAnn));
+			}
+			else if(isDict(field)) {
+				print("DICT, -1, null");
+			}
+			else {
+				print(isVararg(field) ? "VARARG, " : "POSITIONAL, ");
+				print(Integer.toString(positionalIndex));
+				print(", null");
+				++positionalIndex;
+			}
+			print(")");
+		}
+		println();
+
+		dedent();
 		println(");");
 	}
 
+	private void beginProjectedField(RecordComponentElement field, int fieldIndex) throws IOException {
+		declareField(field);
+		print("if(isSelected(");
+		print(Integer.toString(fieldIndex));
+		println(")) {");
+		indent();
+		projectedDecode = true;
+	}
+
+	// Fields that are not selected are decoded as absent, skipping over any positional argument that was left in place.
+	private void endProjectedField(RecordComponentElement field) throws IOException, AbortException {
+		projectedDecode = false;
+		dedent();
+		println("}");
+		println("else {");
+		indent();
+
+		boolean isKeyword = getKeywordAnn(field).isPresent();
+		print("field_");
+		print(field.getSimpleName());
+		print(" = ");
+		if(isVararg(field)) {
+			printCodecExpr(field.asType(), field, CodecOverride.CodecType.VARARG);
+			print(".decodeVararg(java.util.List.of(), i -> ");
+			print(RELATIVE_PATH);
+			println(");");
+			println("argIndex = args.size();");
+		}
+		else if(isDict(field)) {
+			printCodecExpr(field.asType(), field, CodecOverride.CodecType.DICT);
+			print(".decodeDict(java.util.Map.of(), kw -> ");
+			print(RELATIVE_PATH);
+			println(");");
+		}
+		else {
+			var defaultValue = isKeyword ? getDefaultValue(field).orElse(null) : null;
+			if(isOptional(field)) {
+				printCodecExpr(field.asType(), field, CodecOverride.CodecType.OPTIONAL_VALUE);
+				print(".decodeNullable(null, ");
+				print(RELATIVE_PATH);
+				print(")");
+			}
+			else if(defaultValue != null) {
+				print("(");
+				print(defaultValue);
+				print(")");
+			}
+			else {
+				switch(field.asType().getKind()) {
+					case BOOLEAN -> print("false");
+					case BYTE, SHORT, CHAR, INT, LONG, FLOAT, DOUBLE -> print("0");
+					default -> print("null");
+				}
+			}
+			println(";");
+
+			if(!isKeyword) {
+				println("if(argIndex < args.size()) { ++argIndex; }");
+			}
+		}
+
+		dedent();
+		println("}");
+	}
+
+	private int writeDecodeField(RecordComponentElement field, String constructorName, int positionalIndex, List<String> keywordNames, boolean countKeywords) throws IOException, AbortException {
+		var kwAnn = getKeywordAnn(field).orElse(null);
+		if(kwAnn != null) {
+			String keywordName = getKeywordName(field, kwAnn);
+			print("var expr_");
+			print(field.getSimpleName());
+			print(" = kwargs.get(");
+			printStringLiteral(keywordName);
+			println(");");
+
+			var defaultValue = getDefaultValue(field).orElse(null);
+			boolean required = !isOptional(field) && defaultValue == null;
+			if(required) {
+				print("if(expr_");
+				print(field.getSimpleName());
+				print(" == null) { ");
+				printFailureStart();
+				print("\"Missing required keyword argument\", path.withConstructor(");
+				printStringLiteral(constructorName);
+				print(")");
+				printFailureEnd();
+				println(" }");
+			}
+
+			if(countKeywords) {
+				if(required) {
+					println("++kwargCount;");
+				}
+				else {
+					print("if(expr_");
+					print(field.getSimpleName());
+					println(" != null) { ++kwargCount; }");
+				}
+			}
+
+			if(isOptional(field)) {
+				beginFieldDecode(field);
+				printCodecExpr(field.asType(), field, CodecOverride.CodecType.OPTIONAL_VALUE);
+				print(".decodeNullable(expr_");
+				print(field.getSimpleName());
+				print(", ");
+				print(RELATIVE_PATH);
+				print(")");
+				endFieldDecode(constructorName, keywordName);
+				return positionalIndex;
+			}
+
+			if(resultDecode) {
+				declareField(field);
+				if(defaultValue != null) {
+					print("if(expr_");
+					print(field.getSimpleName());
+					print(" == null) { field_");
+					print(field.getSimpleName());
+					print(" = (");
+					print(defaultValue);
+					println("); }");
+					println("else {");
+					indent();
+				}
+				writeResultFieldDecode(field, "expr_" + field.getSimpleName(), () -> {
+					print("path.append(");
+					printStringLiteral(constructorName);
+					print(", ");
+					printStringLiteral(keywordName);
+					print(")");
+				});
+				if(defaultValue != null) {
+					dedent();
+					println("}");
+				}
+				return positionalIndex;
+			}
+
+			beginFieldDecode(field);
+			if(defaultValue != null) {
+				print("expr_");
+				print(field.getSimpleName());
+				print(" == null ? (");
+				print(defaultValue);
+				print(") : ");
+			}
+			printDecodeCall(field.asType(), field);
+			print("expr_");
+			print(field.getSimpleName());
+			print(", ");
+			print(RELATIVE_PATH);
+			print(")");
+			endFieldDecode(constructorName, keywordName);
+			return positionalIndex;
+		}
+
+		if(isVararg(field)) {
+			beginFieldDecode(field);
+			printCodecExpr(field.asType(), field, CodecOverride.CodecType.VARARG);
+			print(".decodeVararg(args.subList(argIndex, args.size()), i -> ");
+			print(RELATIVE_PATH);
+			print(".append(");
+			printStringLiteral(constructorName);
+			print(", ");
+			print(Integer.toString(positionalIndex));
+			print(" + i))");
+			endFieldDecode();
+
+			println("argIndex = args.size();");
+
+			return positionalIndex + 1;
+		}
+
+		if(isDict(field)) {
+			String dictArgs = "kwargs";
+			if(!keywordNames.isEmpty()) {
+				// Named keyword arguments are not part of the dict, so they are skipped while the dict codec iterates.
+				dictArgs = "dictArgs_" + field.getSimpleName();
+				print("var ");
+				print(dictArgs);
+				print(" = dev.argon.esexpr.DictCodec.dictArguments(kwargs, ");
+				printKeywordSet(keywordNames);
+				println(");");
+			}
+
+			beginFieldDecode(field);
+			printCodecExpr(field.asType(), field, CodecOverride.CodecType.DICT);
+			print(".decodeDict(");
+			print(dictArgs);
+			print(", kw -> ");
+			print(RELATIVE_PATH);
+			print(".append(");
+			printStringLiteral(constructorName);
+			print(", kw))");
+			endFieldDecode();
+			return positionalIndex;
+		}
+
+		if(isOptional(field)) {
+			beginFieldDecode(field);
+			printCodecExpr(field.asType(), field, CodecOverride.CodecType.OPTIONAL_VALUE);
+			print(".decodeNullable(argIndex >= args.size() ? null : args.get(argIndex++), ");
+			print(RELATIVE_PATH);
+			print(")");
+			endFieldDecode(constructorName, positionalIndex);
+		}
+		else {
+			print("if(argIndex >= args.size()) { ");
+			printFailureStart();
+			print("\"Not enough arguments\", path.withConstructor(");
+			printStringLiteral(constructorName);
+			print(")");
+			printFailureEnd();
+			println(" }");
+
+			if(resultDecode) {
+				declareField(field);
+				writeResultFieldDecode(field, "args.get(argIndex++)", () -> {
+					print("path.append(");
+					printStringLiteral(constructorName);
+					print(", ");
+					print(Integer.toString(positionalIndex));
+					print(")");
+				});
+				return positionalIndex + 1;
+			}
+
+			beginFieldDecode(field);
+			printDecodeCall(field.asType(), field);
+			print("args.get(argIndex++), ");
+			print(RELATIVE_PATH);
+			print(")");
+			endFieldDecode(constructorName, positionalIndex);
+		}
+		return positionalIndex + 1;
+	}
+
+
+	// Tags that depend on other codecs are computed lazily to avoid static initialization cycles.
+	protected boolean hasStaticTags() {
+		return true;
+	}
+
+	protected void writeAdditionalMembers() throws IOException, AbortException {}
+
+	// Decoders written here can share the hoisted codecs of the encode and decode methods.
+	protected void writeAdditionalDecoders() throws IOException, AbortException {}
 
 	protected abstract void writeTagsImpl() throws IOException, AbortException;
 	protected abstract void writeEncodeImpl() throws IOException, AbortException;
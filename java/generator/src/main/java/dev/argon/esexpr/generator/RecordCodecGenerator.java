@@ -17,7 +17,7 @@ final class RecordCodecGenerator extends GeneratorBase {
 		print("tags.add(new dev.argon.esexpr.ESExprTag.Constructor(");
 		printStringLiteral(getConstructorName(elem));
 		println("));");
-		println("return tags;");
+		println("return java.util.Set.copyOf(tags);");
 	}
 
 	@Override
@@ -27,24 +27,250 @@ final class RecordCodecGenerator extends GeneratorBase {
 
 	@Override
 	protected void writeDecodeImpl() throws IOException, AbortException {
-		print("if(expr instanceof dev.argon.esexpr.ESExpr.Constructor(var name, var args0, var kwargs0) && name.equals(");
+		writeRecordDecode(false);
+	}
+
+	// Projected codecs and views are opt-in and only generated for non-generic records, which have a single codec instance.
+	@Override
+	protected void writeAdditionalDecoders() throws IOException, AbortException {
+		if(!elem.getTypeParameters().isEmpty()) {
+			if(isViewRequested()) {
+				throw new AbortException("Views are not supported for generic records", elem);
+			}
+			if(isProjectionRequested()) {
+				throw new AbortException("Projections are not supported for generic records", elem);
+			}
+			return;
+		}
+
+		if(isViewRequested()) {
+			writeViewFieldDecoders(elem);
+		}
+
+		if(isProjectionRequested()) {
+			writeProjectedCodec();
+		}
+	}
+
+	private void writeProjectedCodec() throws IOException, AbortException {
+		writeProjectionFields(elem);
+
+		print("public static dev.argon.esexpr.ProjectedCodec<");
+		print(elem.getQualifiedName());
+		println("> projected(java.lang.String... fields) {");
+		indent();
+		print("return ((");
+		print(elem.getQualifiedName());
+		println("_CodecImpl)INSTANCE).new Projected(fields);");
+		dedent();
+		println("}");
+
+		print("private final class Projected extends dev.argon.esexpr.ProjectedCodec<");
+		print(elem.getQualifiedName());
+		println("> {");
+		indent();
+
+		println("Projected(java.lang.String[] fields) {");
+		indent();
+		print("super(");
+		printStringLiteral(getConstructorName(elem));
+		println(", PROJECTION_FIELDS, fields);");
+		dedent();
+		println("}");
+
+		println("@java.lang.Override");
+		println("public java.util.Set<dev.argon.esexpr.ESExprTag> tags() {");
+		indent();
+		print("return ");
+		print(elem.getQualifiedName());
+		println("_CodecImpl.this.tags();");
+		dedent();
+		println("}");
+
+		println("@java.lang.Override");
+		print("public dev.argon.esexpr.ESExpr encode(");
+		print(elem.getQualifiedName());
+		println(" value) {");
+		indent();
+		print("return ");
+		print(elem.getQualifiedName());
+		println("_CodecImpl.this.encode(value);");
+		dedent();
+		println("}");
+
+		println("@java.lang.Override");
+		print("public ");
+		print(elem.getQualifiedName());
+		println(" decode(dev.argon.esexpr.ESExpr expr, dev.argon.esexpr.ESExprCodec.FailurePath path) throws dev.argon.esexpr.DecodeException {");
+		indent();
+		writeRecordDecode(true);
+		dedent();
+		println("}");
+
+		dedent();
+		println("}");
+	}
+
+	@Override
+	public boolean hasView() {
+		return elem.getTypeParameters().isEmpty() && isViewRequested();
+	}
+
+	@Override
+	protected void writeViewImpl() throws IOException, AbortException {
+		String viewName = elem.getSimpleName() + "_View";
+		String codecName = elem.getQualifiedName() + "_CodecImpl";
+
+		println("/**");
+		print(" * A lazily decoded view of a {@link ");
+		print(elem.getQualifiedName());
+		println("} stored in an arena document.");
+		println(" * Each field is decoded on first access and cached. Views are not thread safe.");
+		println(" */");
+		print("public final class ");
+		print(viewName);
+		println(" {");
+		indent();
+
+		print("private ");
+		print(viewName);
+		println("(dev.argon.esexpr.ESExprArena.Node node) {");
+		indent();
+		println("this.node = node;");
+		dedent();
+		println("}");
+
+		print("private static final ");
+		print(codecName);
+		print(" CODEC = (");
+		print(codecName);
+		print(")");
+		print(codecName);
+		println(".INSTANCE;");
+
+		println("private final dev.argon.esexpr.ESExprArena.Node node;");
+
+		println("/**");
+		println(" * Creates a view of a node without decoding any of its fields.");
+		println(" * @param node The node.");
+		println(" * @return The view.");
+		println(" * @throws dev.argon.esexpr.DecodeException when the node is not a matching constructor.");
+		println(" */");
+		print("public static ");
+		print(viewName);
+		println(" of(dev.argon.esexpr.ESExprArena.Node node) throws dev.argon.esexpr.DecodeException {");
+		indent();
+		println("CODEC.checkView(node);");
+		print("return new ");
+		print(viewName);
+		println("(node);");
+		dedent();
+		println("}");
+
+		println("/**");
+		println(" * Gets the underlying node, which can be forwarded without decoding.");
+		println(" * @return The node.");
+		println(" */");
+		println("public dev.argon.esexpr.ESExprArena.Node node() {");
+		indent();
+		println("return node;");
+		dedent();
+		println("}");
+
+		for(var field : getFields(elem)) {
+			var name = field.getSimpleName();
+
+			print("private boolean ");
+			print(name);
+			println("_decoded = false;");
+			print("private ");
+			print(field.asType().toString());
+			print(" ");
+			print(name);
+			println(";");
+
+			println("/**");
+			print(" * Decodes the ");
+			print(name);
+			println(" field.");
+			print(" * @return The value of ");
+			print(name);
+			println(".");
+			println(" * @throws dev.argon.esexpr.DecodeException when the field cannot be decoded.");
+			println(" */");
+			print("public ");
+			print(field.asType().toString());
+			print(" ");
+			print(name);
+			println("() throws dev.argon.esexpr.DecodeException {");
+			indent();
+			print("if(!");
+			print(name);
+			println("_decoded) {");
+			indent();
+			print(name);
+			print(" = CODEC.viewField_");
+			print(name);
+			println("(node);");
+			print(name);
+			println("_decoded = true;");
+			dedent();
+			println("}");
+			print("return ");
+			print(name);
+			println(";");
+			dedent();
+			println("}");
+		}
+
+		println("/**");
+		println(" * Decodes the remaining fields and creates the record.");
+		println(" * @return The record.");
+		println(" * @throws dev.argon.esexpr.DecodeException when a field cannot be decoded.");
+		println(" */");
+		print("public ");
+		print(elem.getQualifiedName());
+		println(" materialize() throws dev.argon.esexpr.DecodeException {");
+		indent();
+		print("return new ");
+		print(elem.getQualifiedName());
+		print("(");
+		int i = 0;
+		for(var field : getFields(elem)) {
+			if(i > 0) {
+				print(", ");
+			}
+			++i;
+			print(field.getSimpleName());
+			print("()");
+		}
+		println(");");
+		dedent();
+		println("}");
+
+		dedent();
+		println("}");
+	}
+
+	private void writeRecordDecode(boolean projected) throws IOException, AbortException {
+		print("if(expr instanceof dev.argon.esexpr.ESExpr.Constructor(var name, var args, var kwargs) && name.equals(");
 		printStringLiteral(getConstructorName(elem));
 		println(")) {");
 		indent();
 
-		println("var args = new java.util.ArrayList<>(args0);");
-		println("var kwargs = new java.util.HashMap<>(kwargs0);");
 
-		writeDecodeFields(elem, false);
+		writeDecodeFields(elem, false, projected);
 
 		dedent();
 		println("}");
 		println("else {");
 		indent();
 
-		print("throw new dev.argon.esexpr.DecodeException(");
+		printFailureStart();
 		printStringLiteral("Expected a " + getConstructorName(elem) + " constructor");
-		println(", path);");
+		print(", path");
+		printFailureEnd();
+		println();
 
 		dedent();
 		println("}");
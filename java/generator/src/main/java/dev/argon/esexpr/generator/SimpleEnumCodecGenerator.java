@@ -26,8 +26,8 @@ final class SimpleEnumCodecGenerator extends GeneratorBase {
 	@Override
 	protected void writeTagsImpl() throws IOException, AbortException {
 		println("var tags = new java.util.HashSet<dev.argon.esexpr.ESExprTag>();");
-		println("tags.add(new dev.argon.esexpr.ESExprTag.Str());");
-		println("return tags;");
+		println("tags.add(dev.argon.esexpr.ESExprTag.Str.INSTANCE);");
+		println("return java.util.Set.copyOf(tags);");
 	}
 
 	@Override
@@ -67,7 +67,7 @@ final class SimpleEnumCodecGenerator extends GeneratorBase {
 			println(";");
 		}
 
-		println("default -> throw new dev.argon.esexpr.DecodeException(\"Invalid simple enum value\", path);");
+		println("default -> throw new dev.argon.esexpr.DecodeException(\"Invalid simple enum value\", path, false);");
 
 		dedent();
 		println("};");
@@ -78,7 +78,7 @@ final class SimpleEnumCodecGenerator extends GeneratorBase {
 		indent();
 
 
-		println("throw new dev.argon.esexpr.DecodeException(\"Simple enum must be a string\", path);");
+		println("throw new dev.argon.esexpr.DecodeException(\"Simple enum must be a string\", path, false);");
 
 		dedent();
 		println("}");
@@ -0,0 +1,70 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/*
+	Immutable storage for constructor positional arguments.
+	The hash code is computed on first use and cached, so hashing a constructor does not
+	walk its subtree more than once.
+ */
+final class ArgumentList extends AbstractList<ESExpr> implements RandomAccess {
+	private ArgumentList(@NotNull ESExpr @NotNull[] values) {
+		this.values = values;
+	}
+
+	static final @NotNull ArgumentList EMPTY = new ArgumentList(new ESExpr[0]);
+
+	private final @NotNull ESExpr @NotNull[] values;
+	private int hash;
+	private boolean hashIsZero;
+
+	static @NotNull List<@NotNull ESExpr> copyOf(@NotNull List<@NotNull ESExpr> list) {
+		if(list instanceof ArgumentList) {
+			return list;
+		}
+
+		int size = list.size();
+		if(size == 0) {
+			return EMPTY;
+		}
+
+		var values = new ESExpr[size];
+		int i = 0;
+		for(var value : list) {
+			values[i] = Objects.requireNonNull(value);
+			++i;
+		}
+
+		return new ArgumentList(values);
+	}
+
+	@Override
+	public ESExpr get(int index) {
+		return values[index];
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if(h == 0 && !hashIsZero) {
+			h = super.hashCode();
+			if(h == 0) {
+				hashIsZero = true;
+			}
+			else {
+				hash = h;
+			}
+		}
+		return h;
+	}
+}
@@ -24,7 +24,33 @@ import java.math.BigInteger;
 	11100111 constructor start "list"
  */
 sealed interface BinToken {
-	static record WithInteger(WithIntegerType type, BigInteger value) implements BinToken {
+	/*
+		bigValue is only set when the value does not fit in a non-negative long.
+	 */
+	static record WithInteger(WithIntegerType type, long value, BigInteger bigValue) implements BinToken {
+		WithInteger(WithIntegerType type, long value) {
+			this(type, value, null);
+		}
+
+		WithInteger(WithIntegerType type, BigInteger value) {
+			this(type, value.bitLength() < Long.SIZE ? value.longValue() : 0, value.bitLength() < Long.SIZE ? null : value);
+		}
+
+		int intValueExact() {
+			if(bigValue != null || value > Integer.MAX_VALUE) {
+				throw new ArithmeticException("Integer value out of int range");
+			}
+
+			return (int)value;
+		}
+
+		BigInteger bigIntegerValue() {
+			if(bigValue != null) {
+				return bigValue;
+			}
+
+			return BigInteger.valueOf(value);
+		}
 	}
 
 	static enum WithIntegerType {
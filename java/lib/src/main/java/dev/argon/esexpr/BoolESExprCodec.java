@@ -0,0 +1,24 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A codec for boolean values that does not box the value.
+ */
+public interface BoolESExprCodec {
+	/**
+	 * Encode a boolean value into an expression.
+	 * @param value The value.
+	 * @return The expression.
+	 */
+	@NotNull ESExpr encodeBool(boolean value);
+
+	/**
+	 * Decode an expression into a boolean value.
+	 * @param expr The expression.
+	 * @param path The path of the current expression within the decoded object for diagnostic purposes.
+	 * @return The value.
+	 * @throws DecodeException when the value cannot be decoded.
+	 */
+	boolean decodeBool(@NotNull ESExpr expr, @NotNull ESExprCodec.FailurePath path) throws DecodeException;
+}
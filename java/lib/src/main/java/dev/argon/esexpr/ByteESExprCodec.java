@@ -0,0 +1,24 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A codec for byte values that does not box the value.
+ */
+public interface ByteESExprCodec {
+	/**
+	 * Encode a byte value into an expression.
+	 * @param value The value.
+	 * @return The expression.
+	 */
+	@NotNull ESExpr encodeByte(byte value);
+
+	/**
+	 * Decode an expression into a byte value.
+	 * @param expr The expression.
+	 * @param path The path of the current expression within the decoded object for diagnostic purposes.
+	 * @return The value.
+	 * @throws DecodeException when the value cannot be decoded.
+	 */
+	byte decodeByte(@NotNull ESExpr expr, @NotNull ESExprCodec.FailurePath path) throws DecodeException;
+}
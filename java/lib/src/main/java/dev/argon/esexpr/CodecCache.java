@@ -0,0 +1,121 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A cache of codecs built from argument codecs, such as instantiations of generic codecs.
+ *
+ * Entries are keyed by the identity of the argument codecs. Lookups are lock-free.
+ * Cached codecs are held weakly: an entry is retained only while the codec it returned is reachable,
+ * so passing freshly built argument codecs does not grow the cache without bound.
+ * Callers that need a cached codec to be shared should keep a reference to it.
+ *
+ * @param <C> The type of the cached codecs.
+ */
+public final class CodecCache<C> {
+	/**
+	 * Creates an empty cache.
+	 */
+	public CodecCache() {}
+
+	private final ConcurrentHashMap<Key, Entry<C>> entries = new ConcurrentHashMap<>();
+	private final ReferenceQueue<C> staleEntries = new ReferenceQueue<>();
+
+	private static final class Key {
+		Key(@NotNull Object @NotNull[] args) {
+			this.args = args;
+
+			int h = 1;
+			for(var arg : args) {
+				h = 31 * h + System.identityHashCode(arg);
+			}
+			this.hash = h;
+		}
+
+		private final @NotNull Object @NotNull[] args;
+		private final int hash;
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Key other) || hash != other.hash || args.length != other.args.length) {
+				return false;
+			}
+
+			for(int i = 0; i < args.length; ++i) {
+				if(args[i] != other.args[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	// The argument codecs are only held strongly by the key, which is removed once the cached codec is collected.
+	// Cached codecs usually reference their argument codecs, so weak keys alone would never be cleared.
+	private static final class Entry<C> extends WeakReference<C> {
+		Entry(@NotNull C codec, @NotNull Key key, @NotNull ReferenceQueue<? super C> queue) {
+			super(codec, queue);
+			this.key = key;
+		}
+
+		final @NotNull Key key;
+	}
+
+	/**
+	 * Gets the codec for a combination of argument codecs, creating it if needed.
+	 * The factory is called without holding a lock, so it may itself use the cache, as recursive codecs do.
+	 * Under contention the factory may be called more than once, but only one live result is ever returned for a key.
+	 * @param args The argument codecs. Compared by identity.
+	 * @param factory Creates the codec when it is not cached.
+	 * @return The cached codec.
+	 */
+	public @NotNull C get(@NotNull Object @NotNull[] args, @NotNull Supplier<? extends @NotNull C> factory) {
+		var codec = lookup(entries.get(new Key(args)));
+		if(codec != null) {
+			return codec;
+		}
+
+		removeStaleEntries();
+
+		C created = factory.get();
+		var key = new Key(args.clone());
+		var entry = new Entry<>(created, key, staleEntries);
+		while(true) {
+			var existing = entries.putIfAbsent(key, entry);
+			if(existing == null) {
+				return created;
+			}
+
+			var existingCodec = existing.get();
+			if(existingCodec != null) {
+				return existingCodec;
+			}
+
+			entries.remove(key, existing);
+		}
+	}
+
+	private static <C> @Nullable C lookup(@Nullable Entry<C> entry) {
+		return entry == null ? null : entry.get();
+	}
+
+	private void removeStaleEntries() {
+		Reference<? extends C> ref;
+		while((ref = staleEntries.poll()) != null) {
+			var entry = (Entry<?>)ref;
+			entries.remove(entry.key, entry);
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/*
+	Immutable storage for constructor keyword arguments.
+	Keys and values are kept in parallel arrays. Small maps are searched linearly,
+	larger maps use an open addressing table of indexes into the arrays.
+	The hash code is computed on first use and cached.
+ */
+final class CompactKeywordMap extends AbstractMap<String, ESExpr> {
+	private CompactKeywordMap(@NotNull String @NotNull[] keys, @NotNull ESExpr @NotNull[] values) {
+		this.keys = keys;
+		this.values = values;
+		this.index = keys.length > LINEAR_SEARCH_LIMIT ? buildIndex(keys) : null;
+	}
+
+	private static final int LINEAR_SEARCH_LIMIT = 8;
+
+	static final @NotNull CompactKeywordMap EMPTY = new CompactKeywordMap(new String[0], new ESExpr[0]);
+
+	private final @NotNull String @NotNull[] keys;
+	private final @NotNull ESExpr @NotNull[] values;
+	private final int[] index;
+	private int hash;
+	private boolean hashIsZero;
+
+	static @NotNull Map<@NotNull String, @NotNull ESExpr> copyOf(@NotNull Map<@NotNull String, @NotNull ESExpr> map) {
+		if(map instanceof CompactKeywordMap) {
+			return map;
+		}
+
+		int size = map.size();
+		if(size == 0) {
+			return EMPTY;
+		}
+
+		var keys = new String[size];
+		var values = new ESExpr[size];
+		int i = 0;
+		for(var entry : map.entrySet()) {
+			keys[i] = Objects.requireNonNull(entry.getKey());
+			values[i] = Objects.requireNonNull(entry.getValue());
+			++i;
+		}
+
+		return new CompactKeywordMap(keys, values);
+	}
+
+	private static int[] buildIndex(String[] keys) {
+		int capacity = Integer.highestOneBit(keys.length * 2 - 1) << 1;
+		int mask = capacity - 1;
+		var index = new int[capacity];
+		for(int i = 0; i < keys.length; ++i) {
+			int slot = spread(keys[i].hashCode()) & mask;
+			while(index[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			index[slot] = i + 1;
+		}
+		return index;
+	}
+
+	private static int spread(int h) {
+		return h ^ (h >>> 16);
+	}
+
+	private int indexOf(Object key) {
+		if(!(key instanceof String)) {
+			return -1;
+		}
+
+		if(index == null) {
+			for(int i = 0; i < keys.length; ++i) {
+				if(keys[i].equals(key)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		int mask = index.length - 1;
+		int slot = spread(key.hashCode()) & mask;
+		while(true) {
+			int entry = index[slot];
+			if(entry == 0) {
+				return -1;
+			}
+
+			if(keys[entry - 1].equals(key)) {
+				return entry - 1;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	@Override
+	public int size() {
+		return keys.length;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return keys.length == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public ESExpr get(Object key) {
+		int i = indexOf(key);
+		return i >= 0 ? values[i] : null;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super String, ? super ESExpr> action) {
+		for(int i = 0; i < keys.length; ++i) {
+			action.accept(keys[i], values[i]);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if(h == 0 && !hashIsZero) {
+			for(int i = 0; i < keys.length; ++i) {
+				h += keys[i].hashCode() ^ values[i].hashCode();
+			}
+
+			if(h == 0) {
+				hashIsZero = true;
+			}
+			else {
+				hash = h;
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public @NotNull Set<Entry<String, ESExpr>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public int size() {
+				return keys.length;
+			}
+
+			@Override
+			public @NotNull Iterator<Entry<String, ESExpr>> iterator() {
+				return new Iterator<>() {
+					private int i = 0;
+
+					@Override
+					public boolean hasNext() {
+						return i < keys.length;
+					}
+
+					@Override
+					public Entry<String, ESExpr> next() {
+						if(i >= keys.length) {
+							throw new NoSuchElementException();
+						}
+
+						var entry = Map.entry(keys[i], values[i]);
+						++i;
+						return entry;
+					}
+				};
+			}
+		};
+	}
+}
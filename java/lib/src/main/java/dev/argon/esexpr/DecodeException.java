@@ -1,6 +1,10 @@
 package dev.argon.esexpr;
 
 import dev.argon.esexpr.ESExprCodec.FailurePath;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
 
 /**
  * An exception thrown when decoding an ESExpr.
@@ -17,12 +21,63 @@ public class DecodeException extends Exception {
 	}
 
 	/**
-	 * The path in the object where the failure occurred.
+	 * Create a decode exception.
+	 * The built-in and generated codecs create exceptions without a stack trace, because the path identifies where decoding failed.
+	 * @param message The message.
+	 * @param path The path where the error occurred.
+	 * @param writableStackTrace Whether the stack trace should be captured.
+	 */
+	public DecodeException(String message, FailurePath path, boolean writableStackTrace) {
+		super(message, null, false, writableStackTrace);
+		this.path = path;
+	}
+
+	private FailurePath path;
+	private @Nullable ArrayList<FailurePath> prefixes = null;
+
+	/**
+	 * Gets the path in the object where the failure occurred.
+	 * @return The path.
 	 */
-	public final FailurePath path;
+	public FailurePath getPath() {
+		if(prefixes != null) {
+			var fullPath = prefixes.getLast();
+			for(int i = prefixes.size() - 2; i >= 0; --i) {
+				fullPath = concat(fullPath, prefixes.get(i));
+			}
+			path = concat(fullPath, path);
+			prefixes = null;
+		}
+
+		return path;
+	}
+
+	/**
+	 * Prepends a prefix to the failure path.
+	 * Used by codecs that decode nested values relative to an empty path to add the location of the nested value.
+	 * The full path is only assembled when it is requested.
+	 * @param prefix The path of the nested value that failed to decode.
+	 * @return This exception.
+	 */
+	public @NotNull DecodeException prependPath(@NotNull FailurePath prefix) {
+		if(prefixes == null) {
+			prefixes = new ArrayList<>();
+		}
+		prefixes.add(prefix);
+		return this;
+	}
+
+	private static FailurePath concat(FailurePath prefix, FailurePath suffix) {
+		return switch(suffix) {
+			case FailurePath.Current() -> prefix;
+			case FailurePath.Constructor(var parent, var name) -> concat(prefix, parent).withConstructor(name);
+			case FailurePath.Positional(var parent, var constructor, var index) -> concat(prefix, parent).append(constructor, index);
+			case FailurePath.Keyword(var parent, var constructor, var keyword) -> concat(prefix, parent).append(constructor, keyword);
+		};
+	}
 
 	@Override
 	public String getMessage() {
-		return super.getMessage() + "\n" + path.toString();
+		return super.getMessage() + "\n" + getPath().toString();
 	}
 }
@@ -0,0 +1,56 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The result of decoding an ESExpr.
+ * @param <T> The type of the decoded value.
+ */
+public sealed interface DecodeResult<T> {
+	/**
+	 * Gets the decoded value or throws the failure.
+	 * @return The decoded value.
+	 * @throws DecodeException when decoding failed.
+	 */
+	@NotNull T getOrThrow() throws DecodeException;
+
+	/**
+	 * Checks whether decoding succeeded.
+	 * @return true if decoding succeeded.
+	 */
+	boolean isSuccess();
+
+	/**
+	 * A successfully decoded value.
+	 * @param value The decoded value.
+	 * @param <T> The type of the decoded value.
+	 */
+	public record Success<T>(@NotNull T value) implements DecodeResult<T> {
+		@Override
+		public @NotNull T getOrThrow() {
+			return value;
+		}
+
+		@Override
+		public boolean isSuccess() {
+			return true;
+		}
+	}
+
+	/**
+	 * A value that could not be decoded.
+	 * @param error The reason that decoding failed.
+	 * @param <T> The type of the decoded value.
+	 */
+	public record Failure<T>(@NotNull DecodeException error) implements DecodeResult<T> {
+		@Override
+		public @NotNull T getOrThrow() throws DecodeException {
+			throw error;
+		}
+
+		@Override
+		public boolean isSuccess() {
+			return false;
+		}
+	}
+}
@@ -8,12 +8,14 @@ import java.lang.annotation.Target;
 /**
  * Specifies a default value for an argument.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.RECORD_COMPONENT)
 public @interface DefaultValue {
 	/**
-	 * Gets the name of a method that returns the default value of this value.
-	 * @return The name of the method.
+	 * Gets the default value of this value.
+	 * This is either the name of a static method of the record with no parameters that returns the default value,
+	 * or a boolean, numeric or string literal of the type of the value. String literals cannot contain escape sequences.
+	 * @return The name of the method or the literal.
 	 */
 	String value();
 }
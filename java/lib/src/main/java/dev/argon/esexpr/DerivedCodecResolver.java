@@ -0,0 +1,238 @@
+package dev.argon.esexpr;
+
+import dev.argon.esexpr.codecs.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/*
+	Finds codecs for types used by runtime-derived codecs.
+	This mirrors how the annotation processor chooses codecs: override codecs from the built-in codecs package first,
+	then the static codec methods of the type, and finally a derived codec for types annotated with ESExprCodecGen.
+	Reflection is only used while resolving codecs, not while encoding or decoding values.
+ */
+final class DerivedCodecResolver {
+	private DerivedCodecResolver() {}
+
+	private static final List<Class<?>> BUILT_IN_OVERRIDE_CLASSES = List.of(
+		BigIntegerCodec.class,
+		BinaryESExprCodec.class,
+		BooleanESExprCodec.class,
+		DoubleArrayCodec.class,
+		DoubleCodec.class,
+		FloatArrayCodec.class,
+		FloatCodec.class,
+		IntArrayCodec.class,
+		ListCodec.class,
+		ListVarargCodec.class,
+		LongArrayCodec.class,
+		NonNegativeBigIntegerESExprCodec.class,
+		OptionalCodec.class,
+		OptionalOptionalValueCodec.class,
+		PackedListCodec.class,
+		SignedByteCodec.class,
+		SignedIntegerCodec.class,
+		SignedLongCodec.class,
+		SignedShortCodec.class,
+		StringCodec.class,
+		UnsignedByteCodec.class,
+		UnsignedIntegerCodec.class,
+		UnsignedLongCodec.class,
+		UnsignedShortCodec.class
+	);
+
+	@FunctionalInterface
+	private interface CodecFactory {
+		Object create(Object[] args) throws ReflectiveOperationException;
+	}
+
+	private record CodecOverride(
+		@NotNull Class<?> type,
+		@NotNull ESExprOverrideCodec.CodecType codecType,
+		@NotNull Class<?> @NotNull[] requiredAnnotations,
+		@NotNull Class<?> @NotNull[] excludedAnnotations,
+		@NotNull CodecFactory factory
+	) {}
+
+	private static final @NotNull List<@NotNull CodecOverride> OVERRIDES = scanOverrides();
+
+	private static @NotNull List<@NotNull CodecOverride> scanOverrides() {
+		var overrides = new ArrayList<CodecOverride>();
+		for(var cls : BUILT_IN_OVERRIDE_CLASSES) {
+			for(var ann : cls.getAnnotationsByType(ESExprOverrideCodec.class)) {
+				overrides.add(createOverride(ann, args -> {
+					for(var ctor : cls.getConstructors()) {
+						if(ctor.getParameterCount() == args.length) {
+							return ctor.newInstance(args);
+						}
+					}
+					throw new NoSuchMethodException("No codec constructor for " + cls.getName() + " with " + args.length + " arguments");
+				}));
+			}
+
+			for(var field : cls.getFields()) {
+				if(Modifier.isStatic(field.getModifiers())) {
+					for(var ann : field.getAnnotationsByType(ESExprOverrideCodec.class)) {
+						overrides.add(createOverride(ann, args -> field.get(null)));
+					}
+				}
+			}
+
+			for(var method : cls.getMethods()) {
+				if(Modifier.isStatic(method.getModifiers())) {
+					for(var ann : method.getAnnotationsByType(ESExprOverrideCodec.class)) {
+						overrides.add(createOverride(ann, args -> method.invoke(null, args)));
+					}
+				}
+			}
+		}
+		return List.copyOf(overrides);
+	}
+
+	private static @NotNull CodecOverride createOverride(@NotNull ESExprOverrideCodec ann, @NotNull CodecFactory factory) {
+		return new CodecOverride(ann.value(), ann.codecType(), ann.requiredAnnotations(), ann.excludedAnnotations(), factory);
+	}
+
+	/**
+	 * Resolves a codec for a type.
+	 * @param lookup The lookup used for derived codecs.
+	 * @param type The type, including type use annotations.
+	 * @param codecType The kind of codec.
+	 * @param typeArguments The codecs for type variables in scope.
+	 * @return An ESExprCodec, OptionalValueCodec, VarargCodec or DictCodec, depending on codecType.
+	 */
+	static @NotNull Object resolve(
+		@NotNull MethodHandles.Lookup lookup,
+		@NotNull AnnotatedType type,
+		@NotNull ESExprOverrideCodec.CodecType codecType,
+		@NotNull Map<TypeVariable<?>, ESExprCodec<?>> typeArguments
+	) {
+		if(codecType == ESExprOverrideCodec.CodecType.VALUE && type.getType() instanceof TypeVariable<?> tv) {
+			var codec = typeArguments.get(tv);
+			if(codec == null) {
+				throw new IllegalArgumentException("No codec was provided for type variable " + tv);
+			}
+			return codec;
+		}
+
+		Class<?> rawType = switch(type.getType()) {
+			case Class<?> c -> c;
+			case ParameterizedType pt when pt.getRawType() instanceof Class<?> c -> c;
+			default -> throw new IllegalArgumentException("Unsupported type for codec: " + type.getType());
+		};
+
+		var argTypes = type instanceof AnnotatedParameterizedType apt ? apt.getAnnotatedActualTypeArguments() : new AnnotatedType[0];
+		var args = new Object[argTypes.length];
+		for(int i = 0; i < argTypes.length; ++i) {
+			args[i] = resolve(lookup, argTypes[i], ESExprOverrideCodec.CodecType.VALUE, typeArguments);
+		}
+
+		try {
+			for(var codecOverride : OVERRIDES) {
+				if(codecOverride.codecType() == codecType && codecOverride.type() == rawType && annotationsMatch(type, codecOverride)) {
+					return codecOverride.factory().create(args);
+				}
+			}
+
+			String methodName = switch(codecType) {
+				case VALUE -> "codec";
+				case OPTIONAL_VALUE -> "optionalValueCodec";
+				case VARARG -> "varargCodec";
+				case DICT -> "dictCodec";
+			};
+
+			for(var method : rawType.getMethods()) {
+				if(method.getName().equals(methodName) && Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == args.length) {
+					return method.invoke(null, args);
+				}
+			}
+		}
+		catch(InvocationTargetException e) {
+			throw new IllegalArgumentException("Could not create codec for type " + type.getType(), e.getCause());
+		}
+		catch(ReflectiveOperationException e) {
+			throw new IllegalArgumentException("Could not create codec for type " + type.getType(), e);
+		}
+
+		if(codecType == ESExprOverrideCodec.CodecType.VALUE && rawType.isAnnotationPresent(ESExprCodecGen.class)) {
+			var argCodecs = new ESExprCodec<?>[args.length];
+			for(int i = 0; i < args.length; ++i) {
+				argCodecs[i] = (ESExprCodec<?>)args[i];
+			}
+			return ESExprCodecs.derive(lookup, rawType, argCodecs);
+		}
+
+		throw new IllegalArgumentException("No codec found for type " + type.getType());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static boolean annotationsMatch(@NotNull AnnotatedType type, @NotNull CodecOverride codecOverride) {
+		if(codecOverride.requiredAnnotations().length > 0) {
+			boolean found = false;
+			for(var annType : codecOverride.requiredAnnotations()) {
+				if(type.isAnnotationPresent((Class<? extends Annotation>)annType)) {
+					found = true;
+					break;
+				}
+			}
+
+			if(!found) {
+				return false;
+			}
+		}
+
+		for(var annType : codecOverride.excludedAnnotations()) {
+			if(type.isAnnotationPresent((Class<? extends Annotation>)annType)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+
+	private static final String NAME_SPLIT_PATTERN = "(?<=[a-z0-9])(?=[A-Z])|(?<=[A-Z])(?=[A-Z][a-z])|(?<=[A-Za-z])_(?=[0-9])";
+
+	static @NotNull String nameToKebabCase(@NotNull String name) {
+		return Arrays.stream(name.split(NAME_SPLIT_PATTERN))
+			.map(s -> s.toLowerCase(Locale.ROOT))
+			.collect(Collectors.joining("-"));
+	}
+
+	static @NotNull String constructorName(@NotNull Class<?> type) {
+		var ann = type.getAnnotation(Constructor.class);
+		return ann != null ? ann.value() : nameToKebabCase(type.getSimpleName());
+	}
+
+	static @NotNull String enumConstantName(@NotNull Field field) {
+		var ann = field.getAnnotation(Constructor.class);
+		if(ann != null) {
+			return ann.value();
+		}
+
+		return Arrays.stream(field.getName().split("_"))
+			.map(s -> s.toLowerCase(Locale.ROOT))
+			.collect(Collectors.joining("-"));
+	}
+
+	static @NotNull String keywordName(@NotNull RecordComponent component, @NotNull Keyword ann) {
+		return ann.value().isEmpty() ? nameToKebabCase(component.getName()) : ann.value();
+	}
+
+	static @NotNull Map<TypeVariable<?>, ESExprCodec<?>> typeArgumentMap(@NotNull Class<?> type, @NotNull ESExprCodec<?> @NotNull[] typeArgumentCodecs) {
+		var typeParams = type.getTypeParameters();
+		if(typeParams.length != typeArgumentCodecs.length) {
+			throw new IllegalArgumentException("Expected " + typeParams.length + " type argument codecs for " + type.getName() + ", but got " + typeArgumentCodecs.length);
+		}
+
+		var map = new HashMap<TypeVariable<?>, ESExprCodec<?>>();
+		for(int i = 0; i < typeParams.length; ++i) {
+			map.put(typeParams[i], Objects.requireNonNull(typeArgumentCodecs[i]));
+		}
+		return map;
+	}
+}
@@ -0,0 +1,37 @@
+package dev.argon.esexpr;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/*
+	The template of the hidden class that DerivedRecordCodec defines for each record.
+	The bytes of this class are defined again with the handles of a record as class data,
+	so every record gets its own static final handles, which the JIT compiler treats as constants.
+	This class is never initialized itself.
+ */
+final class DerivedRecordAccessor implements DerivedRecordCodec.RecordAccessor {
+	private static final MethodHandle GET_FIELDS;
+	private static final MethodHandle CONSTRUCT;
+
+	static {
+		try {
+			var lookup = MethodHandles.lookup();
+			GET_FIELDS = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 0);
+			CONSTRUCT = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 1);
+		}
+		catch(IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	@Override
+	public Object[] getFields(Object value) throws Throwable {
+		return (Object[])GET_FIELDS.invokeExact(value);
+	}
+
+	@Override
+	public Object construct(Object[] values) throws Throwable {
+		return (Object)CONSTRUCT.invokeExact(values);
+	}
+}
@@ -0,0 +1,451 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.TypeVariable;
+import java.util.*;
+
+/*
+	A codec for a record that is built at runtime from the same annotations used by the annotation processor.
+	The accessors and the canonical constructor are combined into two method handles,
+	which are bound as static final constants of a hidden class defined for the record (see DerivedRecordAccessor).
+	Field codecs are resolved on first use so that recursive records can be derived.
+ */
+final class DerivedRecordCodec<T> extends ESExprCodec<T> {
+	DerivedRecordCodec(@NotNull MethodHandles.Lookup lookup, @NotNull Class<T> type, @NotNull Map<TypeVariable<?>, ESExprCodec<?>> typeArguments) {
+		if(!type.isRecord()) {
+			throw new IllegalArgumentException("Type is not a record: " + type.getName());
+		}
+
+		this.lookup = lookup;
+		this.typeArguments = typeArguments;
+		constructorName = DerivedCodecResolver.constructorName(type);
+		tags = Set.of(new ESExprTag.Constructor(constructorName));
+
+		var components = type.getRecordComponents();
+		fields = new FieldInfo[components.length];
+		var keywordNames = new ArrayList<String>();
+		var componentTypes = new Class<?>[components.length];
+		var accessors = new MethodHandle[components.length];
+
+		boolean hasVarArgs = false;
+		boolean hasDict = false;
+		boolean hasOptionalPositional = false;
+		int positionalIndex = 0;
+		try {
+			for(int i = 0; i < components.length; ++i) {
+				var component = components[i];
+				componentTypes[i] = component.getType();
+				accessors[i] = lookup.unreflect(component.getAccessor())
+					.asType(MethodType.methodType(Object.class, type));
+
+				boolean optional = component.isAnnotationPresent(OptionalValue.class);
+				var kwAnn = component.getAnnotation(Keyword.class);
+				FieldInfo field;
+				if(kwAnn != null) {
+					var kwName = DerivedCodecResolver.keywordName(component, kwAnn);
+					if(keywordNames.contains(kwName)) {
+						throw new IllegalArgumentException("Duplicate keyword argument: " + kwName);
+					}
+					if(hasDict) {
+						throw new IllegalArgumentException("Keyword arguments must precede dict arguments");
+					}
+					keywordNames.add(kwName);
+
+					var defaultAnn = component.getAnnotation(DefaultValue.class);
+					if(optional) {
+						field = new FieldInfo(FieldKind.OPTIONAL_KEYWORD, component.getAnnotatedType(), kwName, -1, null);
+					}
+					else if(defaultAnn != null) {
+						field = new FieldInfo(FieldKind.DEFAULT_KEYWORD, component.getAnnotatedType(), kwName, -1, defaultValue(lookup, type, component.getType(), defaultAnn.value()));
+					}
+					else {
+						field = new FieldInfo(FieldKind.KEYWORD, component.getAnnotatedType(), kwName, -1, null);
+					}
+				}
+				else if(component.isAnnotationPresent(Vararg.class)) {
+					if(hasVarArgs) {
+						throw new IllegalArgumentException("Only a single vararg is allowed");
+					}
+					hasVarArgs = true;
+					field = new FieldInfo(FieldKind.VARARG, component.getAnnotatedType(), null, positionalIndex++, null);
+				}
+				else if(component.isAnnotationPresent(Dict.class)) {
+					if(hasDict) {
+						throw new IllegalArgumentException("Only a single dict argument is allowed");
+					}
+					hasDict = true;
+					field = new FieldInfo(FieldKind.DICT, component.getAnnotatedType(), null, -1, null);
+				}
+				else {
+					if(hasVarArgs) {
+						throw new IllegalArgumentException("Positional arguments must precede varargs");
+					}
+
+					if(optional) {
+						if(hasOptionalPositional) {
+							throw new IllegalArgumentException("Only a single optional positional argument is allowed");
+						}
+						hasOptionalPositional = true;
+						field = new FieldInfo(FieldKind.OPTIONAL_POSITIONAL, component.getAnnotatedType(), null, positionalIndex++, null);
+					}
+					else {
+						if(hasOptionalPositional) {
+							throw new IllegalArgumentException("Required positional arguments must precede optional positional arguments");
+						}
+						field = new FieldInfo(FieldKind.POSITIONAL, component.getAnnotatedType(), null, positionalIndex++, null);
+					}
+				}
+
+				fields[i] = field;
+			}
+
+			// (T) -> Object[] that calls every accessor.
+			var getFields = MethodHandles.identity(Object[].class).asCollector(Object[].class, components.length);
+			getFields = MethodHandles.filterArguments(getFields, 0, accessors);
+			getFields = MethodHandles.permuteArguments(getFields, MethodType.methodType(Object[].class, type), new int[components.length])
+				.asType(MethodType.methodType(Object[].class, Object.class));
+
+			var construct = lookup.unreflectConstructor(type.getDeclaredConstructor(componentTypes))
+				.asType(MethodType.methodType(Object.class, componentTypes).generic())
+				.asSpreader(Object[].class, components.length);
+
+			accessor = defineAccessor(getFields, construct);
+		}
+		catch(ReflectiveOperationException e) {
+			throw new IllegalArgumentException("Could not access record " + type.getName(), e);
+		}
+
+		positionalCount = positionalIndex;
+		this.hasDict = hasDict;
+		this.hasKeywordArgs = !keywordNames.isEmpty() || hasDict;
+		this.keywordNames = Set.copyOf(keywordNames);
+	}
+
+	private enum FieldKind {
+		POSITIONAL,
+		OPTIONAL_POSITIONAL,
+		VARARG,
+		KEYWORD,
+		OPTIONAL_KEYWORD,
+		DEFAULT_KEYWORD,
+		DICT,
+	}
+
+	private record FieldInfo(
+		@NotNull FieldKind kind,
+		@NotNull AnnotatedType type,
+		@Nullable String keyword,
+		int positionalIndex,
+		@Nullable Object defaultValue
+	) {
+		ESExprOverrideCodec.CodecType codecType() {
+			return switch(kind) {
+				case POSITIONAL, KEYWORD, DEFAULT_KEYWORD -> ESExprOverrideCodec.CodecType.VALUE;
+				case OPTIONAL_POSITIONAL, OPTIONAL_KEYWORD -> ESExprOverrideCodec.CodecType.OPTIONAL_VALUE;
+				case VARARG -> ESExprOverrideCodec.CodecType.VARARG;
+				case DICT -> ESExprOverrideCodec.CodecType.DICT;
+			};
+		}
+	}
+
+	// Implemented by the hidden class defined from DerivedRecordAccessor.
+	interface RecordAccessor {
+		Object[] getFields(Object value) throws Throwable;
+		Object construct(Object[] values) throws Throwable;
+	}
+
+	private static final class AccessorTemplate {
+		static final byte @NotNull[] BYTES = read();
+
+		private static byte @NotNull[] read() {
+			try(InputStream stream = DerivedRecordAccessor.class.getResourceAsStream("DerivedRecordAccessor.class")) {
+				if(stream == null) {
+					throw new IllegalStateException("Missing class file of DerivedRecordAccessor");
+				}
+				return stream.readAllBytes();
+			}
+			catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	// Each hidden class is only reachable from its codec, so it can be unloaded with the codec.
+	private static @NotNull RecordAccessor defineAccessor(@NotNull MethodHandle getFields, @NotNull MethodHandle construct) throws ReflectiveOperationException {
+		var accessorLookup = MethodHandles.lookup().defineHiddenClassWithClassData(AccessorTemplate.BYTES, List.of(getFields, construct), true);
+		try {
+			return (RecordAccessor)accessorLookup.findConstructor(accessorLookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+		}
+		catch(RuntimeException | Error | ReflectiveOperationException e) {
+			throw e;
+		}
+		catch(Throwable e) {
+			throw new IllegalStateException("Record accessor constructor threw a checked exception", e);
+		}
+	}
+
+	// Final field semantics publish the array contents safely, so racing threads at worst resolve the codecs twice.
+	private record ResolvedCodecs(@NotNull Object @NotNull[] codecs) {}
+
+	private final @NotNull MethodHandles.Lookup lookup;
+	private final @NotNull Map<TypeVariable<?>, ESExprCodec<?>> typeArguments;
+	private final @NotNull String constructorName;
+	private final @NotNull Set<@NotNull ESExprTag> tags;
+	private final @NotNull FieldInfo @NotNull[] fields;
+	private final @NotNull RecordAccessor accessor;
+	private final int positionalCount;
+	private final boolean hasDict;
+	private final boolean hasKeywordArgs;
+	private final @NotNull Set<@NotNull String> keywordNames;
+	private @Nullable ResolvedCodecs resolvedCodecs = null;
+
+	@NotNull String constructorName() {
+		return constructorName;
+	}
+
+	private @NotNull Object @NotNull[] codecs() {
+		var resolved = resolvedCodecs;
+		if(resolved == null) {
+			var codecs = new Object[fields.length];
+			for(int i = 0; i < fields.length; ++i) {
+				codecs[i] = DerivedCodecResolver.resolve(lookup, fields[i].type(), fields[i].codecType(), typeArguments);
+			}
+			resolved = new ResolvedCodecs(codecs);
+			resolvedCodecs = resolved;
+		}
+		return resolved.codecs();
+	}
+
+	@Override
+	public @NotNull Set<@NotNull ESExprTag> tags() {
+		return tags;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public @NotNull ESExpr encode(@NotNull T value) {
+		var codecs = codecs();
+		var fieldValues = getFields(value);
+		var args = new ArrayList<ESExpr>(positionalCount);
+		Map<String, ESExpr> kwargs = hasKeywordArgs ? new HashMap<>() : Map.of();
+
+		for(int i = 0; i < fields.length; ++i) {
+			var field = fields[i];
+			Object fieldValue = fieldValues[i];
+			switch(field.kind()) {
+				case POSITIONAL -> args.add(((ESExprCodec<Object>)codecs[i]).encode(fieldValue));
+				case OPTIONAL_POSITIONAL -> {
+					var arg = ((OptionalValueCodec<Object>)codecs[i]).encodeNullable(fieldValue);
+					if(arg != null) {
+						args.add(arg);
+					}
+				}
+				case VARARG -> ((VarargCodec<Object>)codecs[i]).encodeVararg(fieldValue, args::add);
+				case KEYWORD -> kwargs.put(field.keyword(), ((ESExprCodec<Object>)codecs[i]).encode(fieldValue));
+				case OPTIONAL_KEYWORD -> {
+					var kwValue = ((OptionalValueCodec<Object>)codecs[i]).encodeNullable(fieldValue);
+					if(kwValue != null) {
+						kwargs.put(field.keyword(), kwValue);
+					}
+				}
+				case DEFAULT_KEYWORD -> {
+					if(!Objects.equals(fieldValue, field.defaultValue())) {
+						kwargs.put(field.keyword(), ((ESExprCodec<Object>)codecs[i]).encode(fieldValue));
+					}
+				}
+				case DICT -> ((DictCodec<Object>)codecs[i]).encodeDict(fieldValue, kwargs::put);
+			}
+		}
+
+		return new ESExpr.Constructor(constructorName, args, kwargs);
+	}
+
+	@Override
+	public @NotNull T decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		if(expr instanceof ESExpr.Constructor(var name, var args, var kwargs) && name.equals(constructorName)) {
+			return decodeFields(args, kwargs, path);
+		}
+		else {
+			throw new DecodeException("Expected a " + constructorName + " constructor", path, false);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@NotNull T decodeFields(@NotNull List<@NotNull ESExpr> args, @NotNull Map<String, ESExpr> kwargs, @NotNull FailurePath path) throws DecodeException {
+		var codecs = codecs();
+		var values = new Object[fields.length];
+		int argIndex = 0;
+		int kwargCount = 0;
+
+		for(int i = 0; i < fields.length; ++i) {
+			var field = fields[i];
+			switch(field.kind()) {
+				case KEYWORD, DEFAULT_KEYWORD, OPTIONAL_KEYWORD -> {
+					var kwExpr = kwargs.get(field.keyword());
+					if(kwExpr != null) {
+						++kwargCount;
+					}
+					else if(field.kind() == FieldKind.KEYWORD) {
+						throw new DecodeException("Missing required keyword argument", path.withConstructor(constructorName), false);
+					}
+
+					try {
+						if(field.kind() == FieldKind.OPTIONAL_KEYWORD) {
+							values[i] = ((OptionalValueCodec<Object>)codecs[i]).decodeNullable(kwExpr, FailurePath.Current.INSTANCE);
+						}
+						else if(kwExpr == null) {
+							values[i] = field.defaultValue();
+						}
+						else {
+							values[i] = ((ESExprCodec<Object>)codecs[i]).decode(kwExpr, FailurePath.Current.INSTANCE);
+						}
+					}
+					catch(DecodeException e) {
+						throw e.prependPath(path.append(constructorName, field.keyword()));
+					}
+				}
+
+				case VARARG -> {
+					int startIndex = field.positionalIndex();
+					try {
+						values[i] = ((VarargCodec<Object>)codecs[i]).decodeVararg(args.subList(argIndex, args.size()), index -> FailurePath.Current.INSTANCE.append(constructorName, startIndex + index));
+					}
+					catch(DecodeException e) {
+						throw e.prependPath(path);
+					}
+					argIndex = args.size();
+				}
+
+				case DICT -> {
+					Iterator<Map.Entry<String, ESExpr>> dictArgs = keywordNames.isEmpty() ? kwargs.entrySet().iterator() : DictCodec.dictArguments(kwargs, keywordNames);
+
+					try {
+						values[i] = ((DictCodec<Object>)codecs[i]).decodeDict(dictArgs, kw -> FailurePath.Current.INSTANCE.append(constructorName, kw));
+					}
+					catch(DecodeException e) {
+						throw e.prependPath(path);
+					}
+				}
+
+				case OPTIONAL_POSITIONAL -> {
+					try {
+						values[i] = ((OptionalValueCodec<Object>)codecs[i]).decodeNullable(argIndex >= args.size() ? null : args.get(argIndex++), FailurePath.Current.INSTANCE);
+					}
+					catch(DecodeException e) {
+						throw e.prependPath(path.append(constructorName, field.positionalIndex()));
+					}
+				}
+
+				case POSITIONAL -> {
+					if(argIndex >= args.size()) {
+						throw new DecodeException("Not enough arguments", path.withConstructor(constructorName), false);
+					}
+
+					try {
+						values[i] = ((ESExprCodec<Object>)codecs[i]).decode(args.get(argIndex++), FailurePath.Current.INSTANCE);
+					}
+					catch(DecodeException e) {
+						throw e.prependPath(path.append(constructorName, field.positionalIndex()));
+					}
+				}
+			}
+		}
+
+		if(argIndex < args.size()) {
+			throw new DecodeException("Extra positional arguments were found.", path.withConstructor(constructorName), false);
+		}
+
+		if(!hasDict && kwargCount < kwargs.size()) {
+			throw new DecodeException("Extra keyword arguments were found.", path.withConstructor(constructorName), false);
+		}
+
+		try {
+			return (T)accessor.construct(values);
+		}
+		catch(RuntimeException | Error e) {
+			throw e;
+		}
+		catch(Throwable e) {
+			throw new IllegalStateException("Record constructor threw a checked exception", e);
+		}
+	}
+
+	private @NotNull Object @NotNull[] getFields(@NotNull Object value) {
+		try {
+			return accessor.getFields(value);
+		}
+		catch(RuntimeException | Error e) {
+			throw e;
+		}
+		catch(Throwable e) {
+			throw new IllegalStateException("Record accessor threw a checked exception", e);
+		}
+	}
+
+	private static @NotNull Object defaultValue(@NotNull MethodHandles.Lookup lookup, @NotNull Class<?> recordType, @NotNull Class<?> fieldType, @NotNull String value) {
+		try {
+			var method = recordType.getDeclaredMethod(value);
+			if(Modifier.isStatic(method.getModifiers())) {
+				return (Object)lookup.unreflect(method).asType(MethodType.methodType(Object.class)).invokeExact();
+			}
+		}
+		catch(NoSuchMethodException e) {
+			// Not a method name, so the value must be a literal.
+		}
+		catch(RuntimeException | Error e) {
+			throw e;
+		}
+		catch(Throwable e) {
+			throw new IllegalArgumentException("Could not get default value " + value + " of " + recordType.getName(), e);
+		}
+
+		try {
+			if(fieldType == boolean.class || fieldType == Boolean.class) {
+				if(value.equals("true") || value.equals("false")) {
+					return Boolean.parseBoolean(value);
+				}
+			}
+			else if(fieldType == String.class) {
+				if(value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+					var content = value.substring(1, value.length() - 1);
+					if(content.indexOf('"') < 0 && content.indexOf('\\') < 0) {
+						return content;
+					}
+				}
+			}
+			else if(fieldType == byte.class || fieldType == Byte.class) {
+				return Byte.decode(value);
+			}
+			else if(fieldType == short.class || fieldType == Short.class) {
+				return Short.decode(value);
+			}
+			else if(fieldType == int.class || fieldType == Integer.class) {
+				return Integer.decode(value);
+			}
+			else if(fieldType == long.class || fieldType == Long.class) {
+				return Long.decode(value.endsWith("L") || value.endsWith("l") ? value.substring(0, value.length() - 1) : value);
+			}
+			else if(fieldType == float.class || fieldType == Float.class) {
+				return Float.parseFloat(value);
+			}
+			else if(fieldType == double.class || fieldType == Double.class) {
+				return Double.parseDouble(value);
+			}
+		}
+		catch(NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid default value " + value + " of " + recordType.getName(), e);
+		}
+
+		throw new IllegalArgumentException("Default value " + value + " of " + recordType.getName() + " must be a literal or the name of a static method");
+	}
+}
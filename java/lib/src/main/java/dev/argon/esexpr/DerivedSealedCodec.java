@@ -0,0 +1,214 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.TypeVariable;
+import java.util.*;
+
+/*
+	A codec for a sealed interface of records that is built at runtime.
+	Cases marked with InlineValue are dispatched by the tag of the expression, like the generated enum codecs.
+	Other cases are dispatched by constructor name.
+ */
+final class DerivedSealedCodec<T> extends ESExprCodec<T> {
+	DerivedSealedCodec(@NotNull MethodHandles.Lookup lookup, @NotNull Class<T> type, @NotNull Map<TypeVariable<?>, ESExprCodec<?>> typeArguments) {
+		if(!type.isSealed()) {
+			throw new IllegalArgumentException("Type is not sealed: " + type.getName());
+		}
+
+		this.lookup = lookup;
+		this.typeArguments = typeArguments;
+
+		var subclasses = type.getPermittedSubclasses();
+		cases = new ArrayList<>(subclasses.length);
+		var constructorCases = new HashMap<String, DerivedRecordCodec<?>>();
+		var casesByClass = new HashMap<Class<?>, Object>();
+		for(var subclass : subclasses) {
+			var caseTypeArguments = caseTypeArguments(type, subclass);
+
+			Object enumCase;
+			if(subclass.isAnnotationPresent(InlineValue.class)) {
+				enumCase = inlineCase(lookup, subclass, cases.size(), caseTypeArguments);
+			}
+			else {
+				var codec = new DerivedRecordCodec<>(lookup, subclass, caseTypeArguments);
+				if(constructorCases.putIfAbsent(codec.constructorName(), codec) != null) {
+					throw new IllegalArgumentException("Duplicate constructor name: " + codec.constructorName());
+				}
+				enumCase = codec;
+			}
+
+			cases.add(enumCase);
+			casesByClass.put(subclass, enumCase);
+		}
+
+		this.constructorCases = Map.copyOf(constructorCases);
+		this.casesByClass = Map.copyOf(casesByClass);
+	}
+
+	private record InlineCase(
+		int index,
+		@NotNull AnnotatedType type,
+		@NotNull MethodHandle accessor,
+		@NotNull MethodHandle constructor,
+		@NotNull Map<TypeVariable<?>, ESExprCodec<?>> typeArguments
+	) {}
+
+	private final @NotNull MethodHandles.Lookup lookup;
+	private final @NotNull Map<TypeVariable<?>, ESExprCodec<?>> typeArguments;
+	private final @NotNull List<@NotNull Object> cases;
+	private final @NotNull Map<@NotNull String, @NotNull DerivedRecordCodec<?>> constructorCases;
+	private final @NotNull Map<@NotNull Class<?>, @NotNull Object> casesByClass;
+
+	// Final field semantics publish the array contents safely, so racing threads at worst resolve the codecs twice.
+	private record InlineCodecs(@Nullable ESExprCodec<?> @NotNull[] codecs) {}
+
+	private @Nullable InlineCodecs inlineCodecs = null;
+	private @Nullable Set<@NotNull ESExprTag> tags = null;
+	private @Nullable Map<ESExprTag, InlineCase> inlineCases = null;
+
+	private @NotNull Map<TypeVariable<?>, ESExprCodec<?>> caseTypeArguments(@NotNull Class<?> type, @NotNull Class<?> subclass) {
+		var typeParams = type.getTypeParameters();
+		var caseTypeParams = subclass.getTypeParameters();
+		if(typeParams.length != caseTypeParams.length) {
+			throw new IllegalArgumentException("Case " + subclass.getName() + " must have the same type parameters as " + type.getName());
+		}
+
+		var caseTypeArguments = new HashMap<TypeVariable<?>, ESExprCodec<?>>();
+		for(int i = 0; i < typeParams.length; ++i) {
+			caseTypeArguments.put(caseTypeParams[i], typeArguments.get(typeParams[i]));
+		}
+		return caseTypeArguments;
+	}
+
+	private static @NotNull InlineCase inlineCase(@NotNull MethodHandles.Lookup lookup, @NotNull Class<?> subclass, int index, @NotNull Map<TypeVariable<?>, ESExprCodec<?>> typeArguments) {
+		var components = subclass.getRecordComponents();
+		if(components == null || components.length != 1) {
+			throw new IllegalArgumentException("Inline value case must be a record with a single field: " + subclass.getName());
+		}
+
+		var component = components[0];
+		try {
+			var accessor = lookup.unreflect(component.getAccessor())
+				.asType(MethodType.methodType(Object.class, Object.class));
+			var constructor = lookup.unreflectConstructor(subclass.getDeclaredConstructor(component.getType()))
+				.asType(MethodType.methodType(Object.class, Object.class));
+			return new InlineCase(index, component.getAnnotatedType(), accessor, constructor, typeArguments);
+		}
+		catch(ReflectiveOperationException e) {
+			throw new IllegalArgumentException("Could not access record " + subclass.getName(), e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private @NotNull ESExprCodec<Object> inlineCodec(@NotNull InlineCase inlineCase) {
+		var inlineCodecs = this.inlineCodecs;
+		if(inlineCodecs == null) {
+			var codecs = new ESExprCodec<?>[cases.size()];
+			for(var enumCase : cases) {
+				if(enumCase instanceof InlineCase c) {
+					codecs[c.index()] = (ESExprCodec<?>)DerivedCodecResolver.resolve(lookup, c.type(), ESExprOverrideCodec.CodecType.VALUE, c.typeArguments());
+				}
+			}
+			inlineCodecs = new InlineCodecs(codecs);
+			this.inlineCodecs = inlineCodecs;
+		}
+		return (ESExprCodec<Object>)inlineCodecs.codecs()[inlineCase.index()];
+	}
+
+	@Override
+	public @NotNull Set<@NotNull ESExprTag> tags() {
+		var tags = this.tags;
+		if(tags == null) {
+			var newTags = new HashSet<ESExprTag>();
+			for(var enumCase : cases) {
+				switch(enumCase) {
+					case InlineCase c -> newTags.addAll(inlineCodec(c).tags());
+					case DerivedRecordCodec<?> c -> newTags.addAll(c.tags());
+					default -> throw new IllegalStateException();
+				}
+			}
+			tags = Set.copyOf(newTags);
+			this.tags = tags;
+		}
+		return tags;
+	}
+
+	private @NotNull Map<ESExprTag, InlineCase> inlineCases() {
+		var inlineCases = this.inlineCases;
+		if(inlineCases == null) {
+			var newInlineCases = new HashMap<ESExprTag, Optional<InlineCase>>();
+			for(var enumCase : cases) {
+				switch(enumCase) {
+					case InlineCase c -> {
+						for(var tag : inlineCodec(c).tags()) {
+							newInlineCases.putIfAbsent(tag, Optional.of(c));
+						}
+					}
+					// Constructor cases that come first take precedence over later inline cases.
+					case DerivedRecordCodec<?> c -> newInlineCases.putIfAbsent(new ESExprTag.Constructor(c.constructorName()), Optional.empty());
+					default -> throw new IllegalStateException();
+				}
+			}
+
+			var map = new HashMap<ESExprTag, InlineCase>();
+			newInlineCases.forEach((tag, c) -> c.ifPresent(inlineCase -> map.put(tag, inlineCase)));
+			inlineCases = Map.copyOf(map);
+			this.inlineCases = inlineCases;
+		}
+		return inlineCases;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public @NotNull ESExpr encode(@NotNull T value) {
+		var enumCase = casesByClass.get(value.getClass());
+		return switch(enumCase) {
+			case InlineCase c -> {
+				try {
+					yield inlineCodec(c).encode((Object)c.accessor().invokeExact((Object)value));
+				}
+				catch(RuntimeException | Error e) {
+					throw e;
+				}
+				catch(Throwable e) {
+					throw new IllegalStateException("Record accessor threw a checked exception", e);
+				}
+			}
+			case DerivedRecordCodec<?> c -> ((DerivedRecordCodec<Object>)c).encode(value);
+			case null, default -> throw new IllegalArgumentException("Unknown case: " + value.getClass().getName());
+		};
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public @NotNull T decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		var inlineCase = inlineCases().get(expr.tag());
+		if(inlineCase != null) {
+			var inner = inlineCodec(inlineCase).decode(expr, path);
+			try {
+				return (T)(Object)inlineCase.constructor().invokeExact(inner);
+			}
+			catch(RuntimeException | Error e) {
+				throw e;
+			}
+			catch(Throwable e) {
+				throw new IllegalStateException("Record constructor threw a checked exception", e);
+			}
+		}
+
+		if(expr instanceof ESExpr.Constructor(var name, var args, var kwargs)) {
+			var codec = constructorCases.get(name);
+			if(codec != null) {
+				return (T)codec.decodeFields(args, kwargs, path);
+			}
+		}
+
+		throw new DecodeException("Unexpected value for enum", path, false);
+	}
+}
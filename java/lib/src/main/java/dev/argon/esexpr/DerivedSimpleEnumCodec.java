@@ -0,0 +1,65 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/*
+	A codec for a simple enum that is built at runtime.
+	Values are encoded as strings, like the generated simple enum codecs.
+ */
+final class DerivedSimpleEnumCodec<T extends Enum<T>> extends ESExprCodec<T> {
+	DerivedSimpleEnumCodec(@NotNull Class<T> type) {
+		var names = new EnumMap<T, String>(type);
+		var values = new HashMap<String, T>();
+		for(var value : type.getEnumConstants()) {
+			String name;
+			try {
+				name = DerivedCodecResolver.enumConstantName(type.getField(value.name()));
+			}
+			catch(NoSuchFieldException e) {
+				throw new IllegalArgumentException("Could not access enum constant " + value.name() + " of " + type.getName(), e);
+			}
+
+			if(values.putIfAbsent(name, value) != null) {
+				throw new IllegalArgumentException("Duplicate constructor name: " + name);
+			}
+			names.put(value, name);
+		}
+
+		this.names = names;
+		this.values = Map.copyOf(values);
+	}
+
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Str.INSTANCE);
+
+	private final @NotNull EnumMap<T, String> names;
+	private final @NotNull Map<String, T> values;
+
+	@Override
+	public @NotNull Set<@NotNull ESExprTag> tags() {
+		return TAGS;
+	}
+
+	@Override
+	public @NotNull ESExpr encode(@NotNull T value) {
+		return new ESExpr.Str(names.get(value));
+	}
+
+	@Override
+	public @NotNull T decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		if(expr instanceof ESExpr.Str(var s)) {
+			var value = values.get(s);
+			if(value == null) {
+				throw new DecodeException("Invalid simple enum value", path, false);
+			}
+			return value;
+		}
+		else {
+			throw new DecodeException("Simple enum must be a string", path, false);
+		}
+	}
+}
@@ -8,7 +8,7 @@ import java.lang.annotation.Target;
 /**
  * Indicates a value that is encoded as repeated keyword arguments.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.RECORD_COMPONENT)
 public @interface Dict {
 }
@@ -0,0 +1,51 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/*
+	Iterates the keyword arguments that belong to a dict field, skipping the keywords of named keyword fields.
+	The next matching entry is found ahead of time so that hasNext can be called repeatedly.
+ */
+final class DictArgumentIterator implements Iterator<Map.Entry<String, ESExpr>> {
+	DictArgumentIterator(@NotNull Iterator<Map.Entry<String, ESExpr>> entries, @NotNull Set<@NotNull String> keywords) {
+		this.entries = entries;
+		this.keywords = keywords;
+		advance();
+	}
+
+	private final @NotNull Iterator<Map.Entry<String, ESExpr>> entries;
+	private final @NotNull Set<@NotNull String> keywords;
+	private Map.@Nullable Entry<String, ESExpr> nextEntry;
+
+	private void advance() {
+		while(entries.hasNext()) {
+			var entry = entries.next();
+			if(!keywords.contains(entry.getKey())) {
+				nextEntry = entry;
+				return;
+			}
+		}
+		nextEntry = null;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return nextEntry != null;
+	}
+
+	@Override
+	public Map.Entry<String, ESExpr> next() {
+		var entry = nextEntry;
+		if(entry == null) {
+			throw new NoSuchElementException();
+		}
+		advance();
+		return entry;
+	}
+}
@@ -3,10 +3,16 @@ package dev.argon.esexpr;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * A codec for dictionary argument values.
+ *
+ * Generated codecs use the sink and iterator methods, which avoid building an intermediate map.
+ * The default sink and iterator methods adapt the map methods, so implementations should override them as well.
  * @param <T> The type of the dictionary argument value.
  */
 public interface DictCodec<T> {
@@ -17,15 +23,52 @@ public interface DictCodec<T> {
 	 */
 	Map<String, ESExpr> encodeDict(T value);
 
+	/**
+	 * Encode a dictionary argument value, passing each keyword and expression to a sink.
+	 * @param value The dictionary argument value.
+	 * @param sink Receives the keywords and expressions.
+	 */
+	default void encodeDict(T value, @NotNull BiConsumer<? super String, ? super ESExpr> sink) {
+		encodeDict(value).forEach(sink);
+	}
+
 	/**
 	 * Decode a map of expressions into a dictionary argument value.
 	 * @param exprs The expressions.
 	 * @param pathBuilder A path builder of the current expressions within the decoded object for diagnostic purposes.
+	 *                    Paths only need to be built when decoding fails.
 	 * @return The dictionary argument value.
 	 * @throws DecodeException when the value cannot be decoded.
 	 */
 	T decodeDict(Map<String, ESExpr> exprs, @NotNull KeywordPathBuilder pathBuilder) throws DecodeException;
 
+	/**
+	 * Decode a sequence of keywords and expressions into a dictionary argument value.
+	 * @param exprs The keywords and expressions. Each keyword occurs at most once.
+	 * @param pathBuilder A path builder of the current expressions within the decoded object for diagnostic purposes.
+	 *                    Paths only need to be built when decoding fails.
+	 * @return The dictionary argument value.
+	 * @throws DecodeException when the value cannot be decoded.
+	 */
+	default T decodeDict(@NotNull Iterator<? extends Map.Entry<String, ESExpr>> exprs, @NotNull KeywordPathBuilder pathBuilder) throws DecodeException {
+		Map<String, ESExpr> map = new HashMap<>();
+		while(exprs.hasNext()) {
+			var entry = exprs.next();
+			map.put(entry.getKey(), entry.getValue());
+		}
+		return decodeDict(map, pathBuilder);
+	}
+
+	/**
+	 * Gets the keyword arguments of a constructor that belong to a dictionary argument.
+	 * @param kwargs The keyword arguments of the constructor.
+	 * @param keywords The keywords of the other keyword arguments of the constructor, which are skipped.
+	 * @return The keywords and expressions of the dictionary argument.
+	 */
+	static @NotNull Iterator<Map.Entry<String, ESExpr>> dictArguments(@NotNull Map<String, ESExpr> kwargs, @NotNull Set<@NotNull String> keywords) {
+		return new DictArgumentIterator(kwargs.entrySet().iterator(), keywords);
+	}
+
 	/**
 	 * Builds paths for elements of a dictionary argument.
 	 */
@@ -0,0 +1,24 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A codec for double values that does not box the value.
+ */
+public interface DoubleESExprCodec {
+	/**
+	 * Encode a double value into an expression.
+	 * @param value The value.
+	 * @return The expression.
+	 */
+	@NotNull ESExpr encodeDouble(double value);
+
+	/**
+	 * Decode an expression into a double value.
+	 * @param expr The expression.
+	 * @param path The path of the current expression within the decoded object for diagnostic purposes.
+	 * @return The value.
+	 * @throws DecodeException when the value cannot be decoded.
+	 */
+	double decodeDouble(@NotNull ESExpr expr, @NotNull ESExprCodec.FailurePath path) throws DecodeException;
+}
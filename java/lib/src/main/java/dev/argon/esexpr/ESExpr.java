@@ -1,10 +1,13 @@
 package dev.argon.esexpr;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -20,15 +23,96 @@ public sealed interface ESExpr {
 
 	/**
 	 * A constructor value.
+	 *
+	 * The arguments are copied into compact immutable collections.
 	 * @param constructor The constructor name.
 	 * @param args Positional arguments.
 	 * @param kwargs Keyword arguments.
 	 */
     public static record Constructor(@NotNull String constructor, @NotNull List<@NotNull ESExpr> args, @NotNull Map<@NotNull String, @NotNull ESExpr> kwargs) implements ESExpr {
+		/**
+		 * Creates a constructor value.
+		 * @param constructor The constructor name.
+		 * @param args Positional arguments.
+		 * @param kwargs Keyword arguments.
+		 */
+		public Constructor {
+			if(!(args instanceof UpdatedArgumentList)) {
+				args = ArgumentList.copyOf(args);
+			}
+
+			if(!(kwargs instanceof UpdatedKeywordMap)) {
+				kwargs = CompactKeywordMap.copyOf(kwargs);
+			}
+		}
+
+		/**
+		 * Creates a copy of this constructor with a positional argument replaced.
+		 * The other arguments are shared with this constructor.
+		 * @param index The index of the positional argument.
+		 * @param value The new value of the argument.
+		 * @return The updated constructor.
+		 */
+		public @NotNull Constructor withArg(int index, @NotNull ESExpr value) {
+			if(args.get(index) == value) {
+				return this;
+			}
+
+			return new Constructor(constructor, UpdatedArgumentList.set(args, index, value), kwargs);
+		}
+
+		/**
+		 * Creates a copy of this constructor with a keyword argument added or replaced.
+		 * The other arguments are shared with this constructor.
+		 * @param keyword The name of the keyword argument.
+		 * @param value The new value of the argument.
+		 * @return The updated constructor.
+		 */
+		public @NotNull Constructor withKeyword(@NotNull String keyword, @NotNull ESExpr value) {
+			if(kwargs.get(keyword) == value) {
+				return this;
+			}
+
+			return new Constructor(constructor, args, UpdatedKeywordMap.put(kwargs, keyword, value));
+		}
+
+		/**
+		 * Creates a copy of this constructor with a keyword argument removed.
+		 * The other arguments are shared with this constructor.
+		 * @param keyword The name of the keyword argument.
+		 * @return The updated constructor.
+		 */
+		public @NotNull Constructor withoutKeyword(@NotNull String keyword) {
+			if(!kwargs.containsKey(keyword)) {
+				return this;
+			}
+
+			return new Constructor(constructor, args, UpdatedKeywordMap.remove(kwargs, keyword));
+		}
+
 		@Override
 		public @NotNull ESExprTag tag() {
 			return new ESExprTag.Constructor(constructor);
 		}
+
+		// The argument collections cache their hash codes, so this only walks the subtree once.
+		@Override
+		public int hashCode() {
+			return (constructor.hashCode() * 31 + args.hashCode()) * 31 + kwargs.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+
+			return obj instanceof Constructor other &&
+				hashCode() == other.hashCode() &&
+				constructor.equals(other.constructor) &&
+				args.equals(other.args) &&
+				kwargs.equals(other.kwargs);
+		}
 	}
 
 	/**
@@ -36,20 +120,122 @@ public sealed interface ESExpr {
 	 * @param b The boolean value.
 	 */
     public static record Bool(boolean b) implements ESExpr {
+		/**
+		 * The shared true value.
+		 */
+		public static final @NotNull Bool TRUE = new Bool(true);
+
+		/**
+		 * The shared false value.
+		 */
+		public static final @NotNull Bool FALSE = new Bool(false);
+
+		/**
+		 * Gets the shared instance for a boolean value.
+		 * @param b The boolean value.
+		 * @return The boolean expression.
+		 */
+		public static @NotNull Bool of(boolean b) {
+			return b ? TRUE : FALSE;
+		}
+
 		@Override
 		public @NotNull ESExprTag tag() {
-			return new ESExprTag.Bool();
+			return ESExprTag.Bool.INSTANCE;
 		}
 	}
 
 	/**
 	 * An integer value.
-	 * @param n The integer value.
+	 *
+	 * Values that fit in a long are stored without allocating a BigInteger.
+	 * Unlike the other expressions, this is not a record, so it is matched with a type pattern such as {@code case ESExpr.Int i}.
 	 */
-    public static record Int(@NotNull BigInteger n) implements ESExpr {
+    public static final class Int implements ESExpr {
+		/**
+		 * Creates an integer value.
+		 * @param n The integer value.
+		 */
+		public Int(@NotNull BigInteger n) {
+			if(n.bitLength() < Long.SIZE) {
+				this.smallValue = n.longValue();
+				this.bigValue = null;
+			}
+			else {
+				this.smallValue = 0;
+				this.bigValue = n;
+			}
+		}
+
+		/**
+		 * Creates an integer value.
+		 * @param n The integer value.
+		 */
+		public Int(long n) {
+			this.smallValue = n;
+			this.bigValue = null;
+		}
+
+		private final long smallValue;
+		private final @Nullable BigInteger bigValue;
+
+		/**
+		 * Gets the integer value.
+		 * @return The integer value.
+		 */
+		public @NotNull BigInteger n() {
+			if(bigValue != null) {
+				return bigValue;
+			}
+
+			return BigInteger.valueOf(smallValue);
+		}
+
+		/**
+		 * Determines whether the value can be represented by a long.
+		 * @return true if the value fits in a long.
+		 */
+		public boolean fitsInLong() {
+			return bigValue == null;
+		}
+
+		/**
+		 * Gets the integer value as a long.
+		 * @return The integer value.
+		 * @throws ArithmeticException if the value does not fit in a long.
+		 */
+		public long longValueExact() {
+			if(bigValue != null) {
+				throw new ArithmeticException("Integer value out of long range");
+			}
+
+			return smallValue;
+		}
+
 		@Override
 		public @NotNull ESExprTag tag() {
-			return new ESExprTag.Int();
+			return ESExprTag.Int.INSTANCE;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Int other &&
+				smallValue == other.smallValue &&
+				Objects.equals(bigValue, other.bigValue);
+		}
+
+		@Override
+		public int hashCode() {
+			if(bigValue != null) {
+				return bigValue.hashCode();
+			}
+
+			return Long.hashCode(smallValue);
+		}
+
+		@Override
+		public String toString() {
+			return "Int[n=" + n() + "]";
 		}
 	}
 
@@ -60,7 +246,7 @@ public sealed interface ESExpr {
     public static record Str(@NotNull String s) implements ESExpr {
 		@Override
 		public @NotNull ESExprTag tag() {
-			return new ESExprTag.Str();
+			return ESExprTag.Str.INSTANCE;
 		}
 	}
 
@@ -71,7 +257,17 @@ public sealed interface ESExpr {
     public static record Binary(byte @NotNull[] b) implements ESExpr {
 		@Override
 		public @NotNull ESExprTag tag() {
-			return new ESExprTag.Binary();
+			return ESExprTag.Binary.INSTANCE;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(b);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Binary other && Arrays.equals(b, other.b);
 		}
 	}
 
@@ -82,7 +278,7 @@ public sealed interface ESExpr {
     public static record Float32(float f) implements ESExpr {
 		@Override
 		public @NotNull ESExprTag tag() {
-			return new ESExprTag.Float32();
+			return ESExprTag.Float32.INSTANCE;
 		}
 	}
 
@@ -93,7 +289,7 @@ public sealed interface ESExpr {
     public static record Float64(double d) implements ESExpr {
 		@Override
 		public @NotNull ESExprTag tag() {
-			return new ESExprTag.Float64();
+			return ESExprTag.Float64.INSTANCE;
 		}
 	}
 
@@ -102,9 +298,47 @@ public sealed interface ESExpr {
 	 * @param level The level where the null lives. Used to disambiguate nesting of Optional types.
 	 */
     public static record Null(BigInteger level) implements ESExpr {
+		private static final int CACHED_LEVELS = 16;
+		private static final @NotNull Null @NotNull[] CACHE = new Null[CACHED_LEVELS];
+
+		static {
+			for(int i = 0; i < CACHED_LEVELS; ++i) {
+				CACHE[i] = new Null(BigInteger.valueOf(i));
+			}
+		}
+
+		/**
+		 * Gets a null value for a level, sharing instances for low levels.
+		 * @param level The level where the null lives.
+		 * @return The null expression.
+		 */
+		public static @NotNull Null of(int level) {
+			if(level >= 0 && level < CACHED_LEVELS) {
+				return CACHE[level];
+			}
+
+			return new Null(BigInteger.valueOf(level));
+		}
+
+		/**
+		 * Gets a null value for a level, sharing instances for low levels.
+		 * @param level The level where the null lives.
+		 * @return The null expression.
+		 */
+		public static @NotNull Null of(@NotNull BigInteger level) {
+			if(level.signum() >= 0 && level.bitLength() < Integer.SIZE) {
+				int intLevel = level.intValue();
+				if(intLevel < CACHED_LEVELS) {
+					return CACHE[intLevel];
+				}
+			}
+
+			return new Null(level);
+		}
+
 		@Override
 		public @NotNull ESExprTag tag() {
-			return new ESExprTag.Null();
+			return ESExprTag.Null.INSTANCE;
 		}
 	}
 
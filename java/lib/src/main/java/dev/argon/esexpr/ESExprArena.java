@@ -0,0 +1,705 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * An immutable ESExpr document stored as nodes in memory segments allocated from an {@link Arena}.
+ *
+ * Nodes reference their children by position and constructor names and keywords by index into the symbol table,
+ * which is the only part of a document that is kept on the heap.
+ * Strings are stored as UTF-8 and decoded when they are accessed.
+ * Nodes are accessed through {@link Node} cursors.
+ */
+public final class ESExprArena {
+	private ESExprArena(@NotNull MemorySegment @NotNull[] chunks, @NotNull StringTable symbolTable, long root) {
+		this.chunks = chunks;
+		this.symbolTable = symbolTable;
+		this.root = root;
+		symbolCases = new SymbolCases(symbolTable.values());
+	}
+
+	private final @NotNull MemorySegment @NotNull[] chunks;
+	private final @NotNull StringTable symbolTable;
+	private final long root;
+	private final @NotNull SymbolCases symbolCases;
+
+	/*
+		Nodes are written to chunks, and a node never spans two chunks.
+		A node is referenced by its position, which is the index of its chunk in the upper 32 bits and its offset within the chunk in the lower 32 bits.
+
+		Node layout (little endian, unaligned). Each node starts with a kind byte.
+		CONSTRUCTOR: int name, int argCount, int kwargCount, long[argCount] arg positions, (int key, long value position)[kwargCount]
+		TRUE, FALSE: no payload
+		INT: long value
+		BIG_INT: int length, byte[length] two's complement value
+		STR: int length, byte[length] UTF-8 value
+		BINARY: int length, byte[length]
+		FLOAT32: int bits
+		FLOAT64: long bits
+		NULL: int level
+		BIG_NULL: int length, byte[length] two's complement level
+
+		Constructor names and keys are indexes into the symbol table.
+		The names of list and string table constructors are not symbols in the binary format, so they are stored as NAME_LIST and NAME_STRING_TABLE.
+	 */
+	static final byte KIND_CONSTRUCTOR = 0;
+	static final byte KIND_TRUE = 1;
+	static final byte KIND_FALSE = 2;
+	static final byte KIND_INT = 3;
+	static final byte KIND_BIG_INT = 4;
+	static final byte KIND_STR = 5;
+	static final byte KIND_BINARY = 6;
+	static final byte KIND_FLOAT32 = 7;
+	static final byte KIND_FLOAT64 = 8;
+	static final byte KIND_NULL = 9;
+	static final byte KIND_BIG_NULL = 10;
+
+	static final int NAME_LIST = -1;
+	static final int NAME_STRING_TABLE = -2;
+
+	private static final ValueLayout.OfInt INT_LAYOUT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+	private static final ValueLayout.OfLong LONG_LAYOUT = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+	/**
+	 * Stores an expression in an arena.
+	 * The memory is released when the returned document is no longer reachable.
+	 * @param expr The expression.
+	 * @return The arena document.
+	 */
+	public static @NotNull ESExprArena fromExpr(@NotNull ESExpr expr) {
+		return fromExpr(expr, Arena.ofAuto());
+	}
+
+	/**
+	 * Stores an expression in an arena.
+	 * @param expr The expression.
+	 * @param arena The arena used to allocate the memory for the document.
+	 * @return The arena document.
+	 */
+	public static @NotNull ESExprArena fromExpr(@NotNull ESExpr expr, @NotNull Arena arena) {
+		var builder = new Builder(arena);
+		long root = builder.add(expr);
+		return builder.build(root);
+	}
+
+	/**
+	 * Gets the root node of the document.
+	 * @return The root node.
+	 */
+	public @NotNull Node root() {
+		return new Node(root);
+	}
+
+	/**
+	 * Converts the document into an ESExpr.
+	 * @return The expression.
+	 */
+	public @NotNull ESExpr toExpr() {
+		return root().toExpr();
+	}
+
+	/**
+	 * Gets the memory segments that store the nodes of the document.
+	 * @return The read-only memory segments.
+	 */
+	public @NotNull List<@NotNull MemorySegment> segments() {
+		return Arrays.stream(chunks).map(MemorySegment::asReadOnly).toList();
+	}
+
+	/**
+	 * Gets the string table containing the constructor names and keywords of the document.
+	 * @return The string table.
+	 */
+	public @NotNull StringTable symbolTable() {
+		return symbolTable;
+	}
+
+	private @NotNull String symbol(int index) {
+		return switch(index) {
+			case NAME_LIST -> BinToken.ListName;
+			case NAME_STRING_TABLE -> BinToken.StringTableName;
+			default -> symbolTable.values().get(index);
+		};
+	}
+
+	/**
+	 * A cursor referring to a node within an arena document.
+	 */
+	public final class Node {
+		private Node(long position) {
+			this.position = position;
+			chunk = chunks[(int)(position >>> 32)];
+			offset = position & 0xFFFFFFFFL;
+		}
+
+		private final long position;
+		private final @NotNull MemorySegment chunk;
+		private final long offset;
+
+		byte kind() {
+			return chunk.get(ValueLayout.JAVA_BYTE, offset);
+		}
+
+		private int intAt(long relOffset) {
+			return chunk.get(INT_LAYOUT, offset + relOffset);
+		}
+
+		private long longAt(long relOffset) {
+			return chunk.get(LONG_LAYOUT, offset + relOffset);
+		}
+
+		private @NotNull MemorySegment sliceAt(long relOffset) {
+			int length = intAt(relOffset);
+			return chunk.asSlice(offset + relOffset + 4, length);
+		}
+
+		private byte @NotNull[] bytesAt(long relOffset) {
+			return sliceAt(relOffset).toArray(ValueLayout.JAVA_BYTE);
+		}
+
+		/**
+		 * Gets the tag of this node.
+		 * @return The tag.
+		 */
+		public @NotNull ESExprTag tag() {
+			return switch(kind()) {
+				case KIND_CONSTRUCTOR -> new ESExprTag.Constructor(constructorName());
+				case KIND_TRUE, KIND_FALSE -> ESExprTag.Bool.INSTANCE;
+				case KIND_INT, KIND_BIG_INT -> ESExprTag.Int.INSTANCE;
+				case KIND_STR -> ESExprTag.Str.INSTANCE;
+				case KIND_BINARY -> ESExprTag.Binary.INSTANCE;
+				case KIND_FLOAT32 -> ESExprTag.Float32.INSTANCE;
+				case KIND_FLOAT64 -> ESExprTag.Float64.INSTANCE;
+				case KIND_NULL, KIND_BIG_NULL -> ESExprTag.Null.INSTANCE;
+				default -> throw new IllegalStateException("Invalid node kind");
+			};
+		}
+
+		private void expectKind(byte expected) {
+			if(kind() != expected) {
+				throw new IllegalStateException("Unexpected node type: " + tag());
+			}
+		}
+
+		/**
+		 * Determines whether this node is a constructor.
+		 * @return true if this node is a constructor.
+		 */
+		public boolean isConstructor() {
+			return kind() == KIND_CONSTRUCTOR;
+		}
+
+		/**
+		 * Gets the name of a constructor node.
+		 * @return The constructor name.
+		 */
+		public @NotNull String constructorName() {
+			expectKind(KIND_CONSTRUCTOR);
+			return symbol(intAt(1));
+		}
+
+		/**
+		 * Gets the symbol of the name of a constructor node.
+		 * @return The index of the constructor name in {@link #symbolTable()},
+		 *         or -1 for list and string table constructors, whose names are not symbols.
+		 */
+		public int constructorSymbol() {
+			expectKind(KIND_CONSTRUCTOR);
+			return Math.max(-1, intAt(1));
+		}
+
+		/**
+		 * Gets the case of the name of this node.
+		 * The cases of the symbol table are computed once for each dispatch used with a document.
+		 * @param dispatch The constructor names to dispatch on.
+		 * @return The case index, or -1 if this node is not a constructor of the dispatch.
+		 */
+		public int constructorCase(@NotNull SymbolDispatch dispatch) {
+			if(kind() != KIND_CONSTRUCTOR) {
+				return -1;
+			}
+
+			int name = intAt(1);
+			if(name < 0) {
+				return dispatch.caseOf(symbol(name));
+			}
+
+			return symbolCases.caseOf(dispatch, name);
+		}
+
+		/**
+		 * Gets the case of the name of a keyword argument of a constructor node.
+		 * @param dispatch The keywords to dispatch on.
+		 * @param index The index of the keyword argument.
+		 * @return The case index, or -1 if the keyword is not a case of the dispatch.
+		 */
+		public int keywordCase(@NotNull SymbolDispatch dispatch, int index) {
+			return symbolCases.caseOf(dispatch, keywordSymbol(index));
+		}
+
+		/**
+		 * Gets the symbol table of the document of this node.
+		 * @return The constructor names and keywords of the document.
+		 */
+		public @NotNull List<@NotNull String> symbolTable() {
+			return symbolTable.values();
+		}
+
+		/**
+		 * Gets the number of positional arguments of a constructor node.
+		 * @return The number of positional arguments.
+		 */
+		public int argCount() {
+			expectKind(KIND_CONSTRUCTOR);
+			return intAt(5);
+		}
+
+		/**
+		 * Gets a positional argument of a constructor node.
+		 * @param index The index of the argument.
+		 * @return The argument.
+		 */
+		public @NotNull Node arg(int index) {
+			Objects.checkIndex(index, argCount());
+			return new Node(longAt(13 + 8L * index));
+		}
+
+		/**
+		 * Gets the number of keyword arguments of a constructor node.
+		 * @return The number of keyword arguments.
+		 */
+		public int keywordCount() {
+			expectKind(KIND_CONSTRUCTOR);
+			return intAt(9);
+		}
+
+		private long keywordEntryOffset(int index) {
+			Objects.checkIndex(index, keywordCount());
+			return 13 + 8L * argCount() + 12L * index;
+		}
+
+		/**
+		 * Gets the name of a keyword argument of a constructor node.
+		 * @param index The index of the keyword argument.
+		 * @return The keyword.
+		 */
+		public @NotNull String keywordName(int index) {
+			return symbol(intAt(keywordEntryOffset(index)));
+		}
+
+		/**
+		 * Gets the symbol of a keyword argument of a constructor node.
+		 * @param index The index of the keyword argument.
+		 * @return The index of the keyword in {@link #symbolTable()}.
+		 */
+		public int keywordSymbol(int index) {
+			return intAt(keywordEntryOffset(index));
+		}
+
+		/**
+		 * Gets the value of a keyword argument of a constructor node.
+		 * @param index The index of the keyword argument.
+		 * @return The value.
+		 */
+		public @NotNull Node keywordValue(int index) {
+			return new Node(longAt(keywordEntryOffset(index) + 4));
+		}
+
+		/**
+		 * Gets the value of a keyword argument of a constructor node.
+		 * @param keyword The name of the keyword argument.
+		 * @return The value, or empty if the keyword argument is not present.
+		 */
+		public @NotNull Optional<Node> keywordValue(@NotNull String keyword) {
+			for(int i = keywordCount() - 1; i >= 0; --i) {
+				if(keywordName(i).equals(keyword)) {
+					return Optional.of(keywordValue(i));
+				}
+			}
+
+			return Optional.empty();
+		}
+
+		/**
+		 * Gets the value of a boolean node.
+		 * @return The boolean value.
+		 */
+		public boolean boolValue() {
+			return switch(kind()) {
+				case KIND_TRUE -> true;
+				case KIND_FALSE -> false;
+				default -> throw new IllegalStateException("Unexpected node type: " + tag());
+			};
+		}
+
+		/**
+		 * Determines whether the value of an integer node fits in a long.
+		 * @return true if the value fits in a long.
+		 */
+		public boolean fitsInLong() {
+			return switch(kind()) {
+				case KIND_INT -> true;
+				case KIND_BIG_INT -> false;
+				default -> throw new IllegalStateException("Unexpected node type: " + tag());
+			};
+		}
+
+		/**
+		 * Gets the value of an integer node as a long.
+		 * @return The integer value.
+		 * @throws ArithmeticException if the value does not fit in a long.
+		 */
+		public long longValueExact() {
+			if(!fitsInLong()) {
+				throw new ArithmeticException("Integer value out of long range");
+			}
+
+			return longAt(1);
+		}
+
+		/**
+		 * Gets the value of an integer node.
+		 * @return The integer value.
+		 */
+		public @NotNull BigInteger intValue() {
+			if(fitsInLong()) {
+				return BigInteger.valueOf(longAt(1));
+			}
+
+			return new BigInteger(bytesAt(1));
+		}
+
+		/**
+		 * Gets the value of a string node.
+		 * @return The string value.
+		 */
+		public @NotNull String stringValue() {
+			expectKind(KIND_STR);
+			return new String(bytesAt(1), StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Gets the value of a binary node without copying it.
+		 * @return A read-only slice of the arena containing the binary value.
+		 */
+		public @NotNull MemorySegment binarySegment() {
+			expectKind(KIND_BINARY);
+			return sliceAt(1).asReadOnly();
+		}
+
+		/**
+		 * Gets the value of a binary node.
+		 * @return A copy of the binary value.
+		 */
+		public byte @NotNull[] binaryValue() {
+			expectKind(KIND_BINARY);
+			return bytesAt(1);
+		}
+
+		/**
+		 * Gets the value of a 32-bit floating point node.
+		 * @return The float value.
+		 */
+		public float float32Value() {
+			expectKind(KIND_FLOAT32);
+			return Float.intBitsToFloat(intAt(1));
+		}
+
+		/**
+		 * Gets the value of a 64-bit floating point node.
+		 * @return The double value.
+		 */
+		public double float64Value() {
+			expectKind(KIND_FLOAT64);
+			return Double.longBitsToDouble(longAt(1));
+		}
+
+		/**
+		 * Gets the level of a null node.
+		 * @return The level.
+		 */
+		public @NotNull BigInteger nullLevel() {
+			return switch(kind()) {
+				case KIND_NULL -> BigInteger.valueOf(Integer.toUnsignedLong(intAt(1)));
+				case KIND_BIG_NULL -> new BigInteger(bytesAt(1));
+				default -> throw new IllegalStateException("Unexpected node type: " + tag());
+			};
+		}
+
+		/**
+		 * Converts the subtree rooted at this node into an ESExpr.
+		 * @return The expression.
+		 */
+		public @NotNull ESExpr toExpr() {
+			return switch(kind()) {
+				case KIND_CONSTRUCTOR -> {
+					int argCount = argCount();
+					var args = new ESExpr[argCount];
+					for(int i = 0; i < argCount; ++i) {
+						args[i] = arg(i).toExpr();
+					}
+
+					int kwargCount = keywordCount();
+					Map<String, ESExpr> kwargs;
+					if(kwargCount == 0) {
+						kwargs = Map.of();
+					}
+					else {
+						kwargs = new LinkedHashMap<>(kwargCount * 2);
+						for(int i = 0; i < kwargCount; ++i) {
+							kwargs.put(keywordName(i), keywordValue(i).toExpr());
+						}
+					}
+
+					yield new ESExpr.Constructor(constructorName(), List.of(args), kwargs);
+				}
+				case KIND_TRUE -> ESExpr.Bool.TRUE;
+				case KIND_FALSE -> ESExpr.Bool.FALSE;
+				case KIND_INT -> new ESExpr.Int(longAt(1));
+				case KIND_BIG_INT -> new ESExpr.Int(intValue());
+				case KIND_STR -> new ESExpr.Str(stringValue());
+				case KIND_BINARY -> new ESExpr.Binary(binaryValue());
+				case KIND_FLOAT32 -> new ESExpr.Float32(float32Value());
+				case KIND_FLOAT64 -> new ESExpr.Float64(float64Value());
+				case KIND_NULL, KIND_BIG_NULL -> ESExpr.Null.of(nullLevel());
+				default -> throw new IllegalStateException("Invalid node kind");
+			};
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Node other && arena() == other.arena() && position == other.position;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(arena()) * 31 + Long.hashCode(position);
+		}
+
+		private ESExprArena arena() {
+			return ESExprArena.this;
+		}
+	}
+
+
+	/*
+		Writes nodes directly into chunks allocated from the arena of the document.
+		Children must be added before their parents; each add method returns the position of the new node.
+	 */
+	static final class Builder {
+		Builder(@NotNull Arena arena) {
+			this.arena = arena;
+		}
+
+		private static final long INITIAL_CHUNK_SIZE = 4096;
+		private static final long MAX_CHUNK_SIZE = 1 << 20;
+
+		private final @NotNull Arena arena;
+		private final List<MemorySegment> chunks = new ArrayList<>();
+		private long nextChunkSize = INITIAL_CHUNK_SIZE;
+
+		// The chunk that small nodes are appended to.
+		private MemorySegment current = null;
+		private int currentIndex = -1;
+		private long currentSize = 0;
+
+		// The node that is being written.
+		private MemorySegment node;
+		private long nodeOffset;
+
+		private final Map<String, Integer> symbolIndexes = new HashMap<>();
+		private final List<String> symbols = new ArrayList<>();
+
+		long add(@NotNull ESExpr expr) {
+			return switch(expr) {
+				case ESExpr.Constructor(var name, var args, var kwargs) -> {
+					var argPositions = new long[args.size()];
+					int i = 0;
+					for(var arg : args) {
+						argPositions[i] = add(arg);
+						++i;
+					}
+
+					var keys = new int[kwargs.size()];
+					var values = new long[kwargs.size()];
+					i = 0;
+					for(var entry : kwargs.entrySet()) {
+						keys[i] = symbol(entry.getKey());
+						values[i] = add(entry.getValue());
+						++i;
+					}
+
+					yield constructor(constructorName(name), argPositions, argPositions.length, keys, values, kwargs.size());
+				}
+				case ESExpr.Bool(var b) -> bool(b);
+				case ESExpr.Int i when i.fitsInLong() -> integer(i.longValueExact());
+				case ESExpr.Int i -> bigInteger(KIND_BIG_INT, i.n());
+				case ESExpr.Str(var s) -> str(s);
+				case ESExpr.Binary(var b) -> binary(b);
+				case ESExpr.Float32(var f) -> float32(f);
+				case ESExpr.Float64(var d) -> float64(d);
+				case ESExpr.Null(var level) -> nullValue(level);
+			};
+		}
+
+		int constructorName(@NotNull String name) {
+			return switch(name) {
+				case BinToken.ListName -> NAME_LIST;
+				case BinToken.StringTableName -> NAME_STRING_TABLE;
+				default -> symbol(name);
+			};
+		}
+
+		int symbol(@NotNull String s) {
+			var index = symbolIndexes.get(s);
+			if(index == null) {
+				index = symbols.size();
+				symbols.add(s);
+				symbolIndexes.put(s, index);
+			}
+			return index;
+		}
+
+		private int addChunk(long size) {
+			chunks.add(arena.allocate(size));
+			return chunks.size() - 1;
+		}
+
+		private long startNode(byte kind, long payloadSize) {
+			long size = 1 + payloadSize;
+			if(size > Integer.MAX_VALUE) {
+				throw new IllegalStateException("Arena node is too large");
+			}
+
+			int chunkIndex;
+			if(size > nextChunkSize / 4) {
+				// Nodes that are large relative to a new chunk get a chunk of their own, so the rest of the current chunk is still used.
+				// Every other node fits in a new chunk.
+				chunkIndex = addChunk(size);
+				node = chunks.get(chunkIndex);
+				nodeOffset = 0;
+			}
+			else {
+				if(current == null || currentSize + size > current.byteSize()) {
+					currentIndex = addChunk(nextChunkSize);
+					current = chunks.get(currentIndex);
+					currentSize = 0;
+					nextChunkSize = Math.min(MAX_CHUNK_SIZE, nextChunkSize * 2);
+				}
+
+				chunkIndex = currentIndex;
+				node = current;
+				nodeOffset = currentSize;
+				currentSize += size;
+			}
+
+			node.set(ValueLayout.JAVA_BYTE, nodeOffset, kind);
+			return ((long)chunkIndex << 32) | nodeOffset;
+		}
+
+		private void putInt(long relOffset, int value) {
+			node.set(INT_LAYOUT, nodeOffset + relOffset, value);
+		}
+
+		private void putLong(long relOffset, long value) {
+			node.set(LONG_LAYOUT, nodeOffset + relOffset, value);
+		}
+
+		long constructor(int name, long @NotNull[] argPositions, int argCount, int @NotNull[] keys, long @NotNull[] values, int kwargCount) {
+			long position = startNode(KIND_CONSTRUCTOR, 12 + 8L * argCount + 12L * kwargCount);
+			putInt(1, name);
+			putInt(5, argCount);
+			putInt(9, kwargCount);
+			long pos = 13;
+			for(int i = 0; i < argCount; ++i) {
+				putLong(pos, argPositions[i]);
+				pos += 8;
+			}
+			for(int i = 0; i < kwargCount; ++i) {
+				putInt(pos, keys[i]);
+				putLong(pos + 4, values[i]);
+				pos += 12;
+			}
+			return position;
+		}
+
+		long bool(boolean b) {
+			return startNode(b ? KIND_TRUE : KIND_FALSE, 0);
+		}
+
+		long integer(long value) {
+			long position = startNode(KIND_INT, 8);
+			putLong(1, value);
+			return position;
+		}
+
+		private long bigInteger(byte kind, @NotNull BigInteger value) {
+			return bytes(kind, value.toByteArray());
+		}
+
+		long integer(@NotNull BigInteger value) {
+			if(value.bitLength() < Long.SIZE) {
+				return integer(value.longValue());
+			}
+
+			return bigInteger(KIND_BIG_INT, value);
+		}
+
+		long str(@NotNull String s) {
+			return strUtf8(s.getBytes(StandardCharsets.UTF_8));
+		}
+
+		long strUtf8(byte @NotNull[] utf8) {
+			return bytes(KIND_STR, utf8);
+		}
+
+		private long bytes(byte kind, byte @NotNull[] b) {
+			long position = startNode(kind, 4L + b.length);
+			putInt(1, b.length);
+			MemorySegment.copy(b, 0, node, ValueLayout.JAVA_BYTE, nodeOffset + 5, b.length);
+			return position;
+		}
+
+		long binary(byte @NotNull[] b) {
+			return bytes(KIND_BINARY, b);
+		}
+
+		long float32(float f) {
+			long position = startNode(KIND_FLOAT32, 4);
+			putInt(1, Float.floatToRawIntBits(f));
+			return position;
+		}
+
+		long float64(double d) {
+			long position = startNode(KIND_FLOAT64, 8);
+			putLong(1, Double.doubleToRawLongBits(d));
+			return position;
+		}
+
+		long nullValue(@NotNull BigInteger level) {
+			if(level.signum() >= 0 && level.bitLength() <= Integer.SIZE) {
+				long position = startNode(KIND_NULL, 4);
+				putInt(1, level.intValue());
+				return position;
+			}
+
+			return bigInteger(KIND_BIG_NULL, level);
+		}
+
+		@NotNull ESExprArena build(long root) {
+			return new ESExprArena(
+				chunks.toArray(MemorySegment[]::new),
+				new StringTable(List.copyOf(symbols)),
+				root
+			);
+		}
+	}
+}
@@ -6,6 +6,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.foreign.Arena;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
@@ -21,12 +22,31 @@ public class ESExprBinaryReader {
 	 * @param is The stream.
 	 */
 	public ESExprBinaryReader(@NotNull List<String> symbolTable, @NotNull InputStream is) {
+		this(symbolTable, is, null);
+	}
+
+	/**
+	 * Create a reader for the ESExpr binary format.
+	 * @param symbolTable The symbol table used when parsing.
+	 * @param is The stream.
+	 * @param interner An interner used to share repeated values, or null to disable interning.
+	 */
+	public ESExprBinaryReader(@NotNull List<String> symbolTable, @NotNull InputStream is, @Nullable ESExprInterner interner) {
 		this.symbolTable = new ArrayList<>(symbolTable);
+		this.symbolTableView = Collections.unmodifiableList(this.symbolTable);
+		this.symbolCases = new SymbolCases(symbolTableView);
 		this.is = is;
+		this.interner = interner;
 	}
 
 	private final List<String> symbolTable;
+	private final @NotNull List<@NotNull String> symbolTableView;
+	private @Nullable BinToken peekedToken = null;
+	private @Nullable ESExprProjection lastProjection = null;
+	private int @Nullable[] lastProjectionCases = null;
+	private final @NotNull SymbolCases symbolCases;
 	private final @NotNull InputStream is;
+	private final @Nullable ESExprInterner interner;
 	private int nextByte = -1;
 
 	/**
@@ -36,13 +56,128 @@ public class ESExprBinaryReader {
 	 * @throws SyntaxException when an expression cannot be read.
 	 */
 	public @Nullable ESExpr read() throws IOException, SyntaxException {
-		if(peekNext() < 0) {
+		if(atEnd()) {
 			return null;
 		}
 
 		return readExpr();
 	}
 
+	/**
+	 * Attempts to read an ESExpr from the stream, only reading the arguments selected by a projection.
+	 * Arguments that are not selected are skipped without building expressions for them.
+	 * The projection only applies when the expression is a constructor with the name of the projection.
+	 * @param projection The selected arguments.
+	 * @return The ESExpr, or null if at the end of the stream.
+	 * @throws IOException when an error occurs in the underlying stream.
+	 * @throws SyntaxException when an expression cannot be read.
+	 */
+	public @Nullable ESExpr read(@NotNull ESExprProjection projection) throws IOException, SyntaxException {
+		if(atEnd()) {
+			return null;
+		}
+
+		var token = nextToken();
+		String name = projection.constructor();
+		boolean matches = switch(token) {
+			case BinToken.WithInteger t when t.type() == BinToken.WithIntegerType.CONSTRUCTOR -> projectionCases(projection)[t.intValueExact()] == 0;
+			case BinToken.Fixed.CONSTRUCTOR_START_STRING_TABLE -> name.equals(BinToken.StringTableName);
+			case BinToken.Fixed.CONSTRUCTOR_START_LIST -> name.equals(BinToken.ListName);
+			default -> false;
+		};
+
+		if(!matches) {
+			return switch(readExprPlusUninterned(token)) {
+				case ExprPlus.Expr(var expr) -> interner != null ? interner.internNode(expr) : expr;
+				default -> throw new SyntaxException();
+			};
+		}
+
+		return readProjectedConstructor(name, projection);
+	}
+
+	// Projections are usually reused for every value of a stream, so the cases of the symbols for the last one are kept.
+	private int @NotNull[] projectionCases(@NotNull ESExprProjection projection) {
+		var cases = lastProjectionCases;
+		if(cases == null || lastProjection != projection) {
+			cases = new SymbolDispatch(projection.constructor()).bind(symbolTableView);
+			lastProjection = projection;
+			lastProjectionCases = cases;
+		}
+		return cases;
+	}
+
+	/**
+	 * Gets the symbol table used when parsing.
+	 * @return The symbol table.
+	 */
+	public @NotNull List<@NotNull String> symbolTable() {
+		return symbolTableView;
+	}
+
+	/**
+	 * Gets the symbol index of the constructor name of the next expression without consuming it.
+	 * @return The index of the constructor name in the symbol table,
+	 *         or -1 if the next expression is not a constructor with a name from the symbol table or the stream has ended.
+	 * @throws IOException when an error occurs in the underlying stream.
+	 * @throws SyntaxException when an expression cannot be read.
+	 */
+	public int peekConstructorSymbol() throws IOException, SyntaxException {
+		if(atEnd()) {
+			return -1;
+		}
+
+		if(peekedToken == null) {
+			peekedToken = readToken();
+		}
+
+		if(peekedToken instanceof BinToken.WithInteger t && t.type() == BinToken.WithIntegerType.CONSTRUCTOR) {
+			return t.intValueExact();
+		}
+		else {
+			return -1;
+		}
+	}
+
+	/**
+	 * Gets the case of the constructor name of the next expression without consuming it.
+	 * The cases of the symbol table are computed once for each dispatch used with this reader.
+	 * @param dispatch The constructor names to dispatch on.
+	 * @return The case index, or -1 if the next expression is not a constructor of the dispatch or the stream has ended.
+	 * @throws IOException when an error occurs in the underlying stream.
+	 * @throws SyntaxException when an expression cannot be read.
+	 */
+	public int peekConstructorCase(@NotNull SymbolDispatch dispatch) throws IOException, SyntaxException {
+		int symbol = peekConstructorSymbol();
+		if(symbol >= 0) {
+			return symbolCases.caseOf(dispatch, symbol);
+		}
+
+		return switch(peekedToken) {
+			case BinToken.Fixed.CONSTRUCTOR_START_STRING_TABLE -> dispatch.caseOf(BinToken.StringTableName);
+			case BinToken.Fixed.CONSTRUCTOR_START_LIST -> dispatch.caseOf(BinToken.ListName);
+			case null, default -> -1;
+		};
+	}
+
+	/**
+	 * Attempts to read an ESExpr from the stream into an arena document.
+	 * The expression is stored directly in the arena without building an ESExpr tree.
+	 * @param arena The arena used to allocate the memory for the document.
+	 * @return The arena document, or null if at the end of the stream.
+	 * @throws IOException when an error occurs in the underlying stream.
+	 * @throws SyntaxException when an expression cannot be read.
+	 */
+	public @Nullable ESExprArena readArena(@NotNull Arena arena) throws IOException, SyntaxException {
+		if(atEnd()) {
+			return null;
+		}
+
+		var builder = new ESExprArena.Builder(arena);
+		long root = readArenaNode(builder, nextToken());
+		return builder.build(root);
+	}
+
 	/**
 	 * Reads all ESExpr values from the stream.
 	 * @return A stream of ESExpr values.
@@ -68,10 +203,22 @@ public class ESExprBinaryReader {
 	 * @throws SyntaxException when an expression cannot be read.
 	 */
 	public static @NotNull Stream<@NotNull ESExpr> readEmbeddedStringTable(InputStream is) throws IOException, SyntaxException {
+		return readEmbeddedStringTable(is, null);
+	}
+
+	/**
+	 * Reads all ESExpr values, using the first as the string table.
+	 * @param is The input stream.
+	 * @param interner An interner used to share repeated values, or null to disable interning.
+	 * @return A stream of ESExpr values.
+	 * @throws IOException when an error occurs in the underlying stream.
+	 * @throws SyntaxException when an expression cannot be read.
+	 */
+	public static @NotNull Stream<@NotNull ESExpr> readEmbeddedStringTable(InputStream is, @Nullable ESExprInterner interner) throws IOException, SyntaxException {
 		try {
 			var stExpr = new ESExprBinaryReader(List.of(), is).readExpr();
 			var stringTable = StringTable.codec().decode(stExpr);
-			return new ESExprBinaryReader(stringTable.values(), is).readAll();
+			return new ESExprBinaryReader(stringTable.values(), is, interner).readAll();
 		}
 		catch(DecodeException ex) {
 			throw new SyntaxException(ex);
@@ -99,7 +246,21 @@ public class ESExprBinaryReader {
 		return nextByte;
 	}
 
+	private boolean atEnd() throws IOException {
+		return peekedToken == null && peekNext() < 0;
+	}
+
 	private BinToken nextToken() throws IOException, SyntaxException {
+		var token = peekedToken;
+		if(token != null) {
+			peekedToken = null;
+			return token;
+		}
+
+		return readToken();
+	}
+
+	private BinToken readToken() throws IOException, SyntaxException {
 		int b = next();
 		if(b < 0) {
 			throw new EOFException();
@@ -133,15 +294,41 @@ public class ESExprBinaryReader {
 			};
 		}
 		else {
-			BigInteger i = BigInteger.valueOf(b & 0x0F);
+			long i = b & 0x0F;
 			if((b & 0x10) == 0x10) {
-				i = readInt(i, 4);
+				return readIntToken(type, i, 4);
 			}
 
 			return new BinToken.WithInteger(type, i);
 		}
 	}
 
+	private BinToken.WithInteger readIntToken(BinToken.WithIntegerType type, long acc, int bits) throws IOException {
+		while(true) {
+			int b = next();
+			if(b < 0) {
+				throw new EOFException();
+			}
+
+			long part = b & 0x7F;
+			if(part != 0 && (bits >= Long.SIZE - 1 || (part >>> (Long.SIZE - 1 - bits)) != 0)) {
+				var big = BigInteger.valueOf(acc).or(BigInteger.valueOf(part).shiftLeft(bits));
+				if((b & 0x80) == 0x80) {
+					big = readInt(big, bits + 7);
+				}
+
+				return new BinToken.WithInteger(type, big);
+			}
+
+			acc |= part << bits;
+			bits += 7;
+
+			if((b & 0x80) == 0) {
+				return new BinToken.WithInteger(type, acc);
+			}
+		}
+	}
+
 	private BigInteger readInt(BigInteger acc, int bits) throws IOException {
 		while(true) {
 			int b = next();
@@ -174,18 +361,43 @@ public class ESExprBinaryReader {
 	}
 
 	private @NotNull ExprPlus readExprPlus() throws SyntaxException, IOException {
-		return switch(nextToken()) {
-			case BinToken.WithInteger(var type, var value) -> switch(type) {
+		var exprPlus = readExprPlusUninterned();
+		if(interner != null && exprPlus instanceof ExprPlus.Expr(var expr)) {
+			return new ExprPlus.Expr(interner.internNode(expr));
+		}
+
+		return exprPlus;
+	}
+
+	private @NotNull ExprPlus readExprPlusUninterned() throws SyntaxException, IOException {
+		return readExprPlusUninterned(nextToken());
+	}
+
+	private @NotNull ExprPlus readExprPlusUninterned(@NotNull BinToken binToken) throws SyntaxException, IOException {
+		return switch(binToken) {
+			case BinToken.WithInteger token -> switch(token.type()) {
 				case CONSTRUCTOR -> {
-					var sym = symbolTable.get(value.intValueExact());
+					var sym = symbolTable.get(token.intValueExact());
 					yield new ExprPlus.Expr(readConstructor(sym));
 				}
-				case INT -> new ExprPlus.Expr(new ESExpr.Int(value));
-				case NEG_INT -> new ExprPlus.Expr(new ESExpr.Int(value.add(BigInteger.ONE).negate()));
+				case INT -> {
+					if(token.bigValue() != null) {
+						yield new ExprPlus.Expr(new ESExpr.Int(token.bigValue()));
+					}
+
+					yield new ExprPlus.Expr(new ESExpr.Int(token.value()));
+				}
+				case NEG_INT -> {
+					if(token.bigValue() != null) {
+						yield new ExprPlus.Expr(new ESExpr.Int(token.bigValue().add(BigInteger.ONE).negate()));
+					}
+
+					yield new ExprPlus.Expr(new ESExpr.Int(~token.value()));
+				}
 
 				// Should be safe to bypass next/peekNext here.
 				case STRING -> {
-					int len = value.intValueExact();
+					int len = token.intValueExact();
 					byte[] b = new byte[len];
 					if(is.readNBytes(b, 0, len) < len) {
 						throw new EOFException();
@@ -195,12 +407,12 @@ public class ESExprBinaryReader {
 				}
 
 				case STRING_POOL_INDEX -> {
-					var sym = symbolTable.get(value.intValueExact());
+					var sym = symbolTable.get(token.intValueExact());
 					yield new ExprPlus.Expr(new ESExpr.Str(sym));
 				}
 
 				case BINARY -> {
-					int len = value.intValueExact();
+					int len = token.intValueExact();
 					byte[] b = new byte[len];
 					if(is.readNBytes(b, 0, len) < len) {
 						throw new EOFException();
@@ -210,22 +422,22 @@ public class ESExprBinaryReader {
 				}
 
 				case KEYWORD -> {
-					var sym = symbolTable.get(value.intValueExact());
+					var sym = symbolTable.get(token.intValueExact());
 					yield new ExprPlus.Keyword(sym);
 				}
 			};
 
 			case BinToken.Fixed fixed -> switch(fixed) {
-				case NULL0 -> new ExprPlus.Expr(new ESExpr.Null(BigInteger.ZERO));
-				case NULL1 -> new ExprPlus.Expr(new ESExpr.Null(BigInteger.ONE));
-				case NULL2 -> new ExprPlus.Expr(new ESExpr.Null(BigInteger.valueOf(2)));
+				case NULL0 -> new ExprPlus.Expr(ESExpr.Null.of(0));
+				case NULL1 -> new ExprPlus.Expr(ESExpr.Null.of(1));
+				case NULL2 -> new ExprPlus.Expr(ESExpr.Null.of(2));
 				case NULLN -> {
 					var n = readInt(BigInteger.ZERO, 0);
-					yield new ExprPlus.Expr(new ESExpr.Null(n.add(BigInteger.valueOf(3))));
+					yield new ExprPlus.Expr(ESExpr.Null.of(n.add(BigInteger.valueOf(3))));
 				}
 				case CONSTRUCTOR_END -> new ExprPlus.ConstructorEnd();
-				case TRUE -> new ExprPlus.Expr(new ESExpr.Bool(true));
-				case FALSE -> new ExprPlus.Expr(new ESExpr.Bool(false));
+				case TRUE -> new ExprPlus.Expr(ESExpr.Bool.TRUE);
+				case FALSE -> new ExprPlus.Expr(ESExpr.Bool.FALSE);
 				case FLOAT32 -> {
 					int bits = 0;
 					for(int i = 0; i < 4; ++i) {
@@ -261,7 +473,7 @@ public class ESExprBinaryReader {
 
 	private @NotNull ESExpr readConstructor(String name) throws IOException, SyntaxException {
 		var args = new ArrayList<ESExpr>();
-		var kwargs = new HashMap<String, ESExpr>();
+		Map<String, ESExpr> kwargs = null;
 
 		body:
 		while(true) {
@@ -272,12 +484,205 @@ public class ESExprBinaryReader {
 				}
 				case ExprPlus.Keyword(var kw) -> {
 					var expr = readExpr();
+					if(kwargs == null) {
+						kwargs = new HashMap<>();
+					}
 					kwargs.put(kw, expr);
 				}
 			}
 		}
 
-		return new ESExpr.Constructor(name, args, kwargs);
+		return new ESExpr.Constructor(name, args, kwargs == null ? Map.of() : kwargs);
+	}
+
+	private @NotNull ESExpr readProjectedConstructor(@NotNull String name, @NotNull ESExprProjection projection) throws IOException, SyntaxException {
+		var args = new ArrayList<ESExpr>();
+		Map<String, ESExpr> kwargs = null;
+		int argIndex = 0;
+		// Skipped arguments after the last selected argument are dropped rather than replaced.
+		int selectedArgCount = 0;
+
+		while(true) {
+			var token = nextToken();
+			if(token == BinToken.Fixed.CONSTRUCTOR_END) {
+				break;
+			}
+
+			if(token instanceof BinToken.WithInteger t && t.type() == BinToken.WithIntegerType.KEYWORD) {
+				var kw = symbolTable.get(t.intValueExact());
+				if(projection.includesKeyword(kw)) {
+					var expr = readExpr();
+					if(kwargs == null) {
+						kwargs = new HashMap<>();
+					}
+					kwargs.put(kw, expr);
+				}
+				else {
+					skipExpr(nextToken());
+				}
+			}
+			else if(projection.includesPositional(argIndex)) {
+				var expr = switch(readExprPlusUninterned(token)) {
+					case ExprPlus.Expr(var e) -> interner != null ? interner.internNode(e) : e;
+					default -> throw new SyntaxException();
+				};
+				args.add(expr);
+				++argIndex;
+				selectedArgCount = argIndex;
+			}
+			else {
+				skipExpr(token);
+				args.add(ESExpr.Null.of(0));
+				++argIndex;
+			}
+		}
+
+		args.subList(selectedArgCount, args.size()).clear();
+		return new ESExpr.Constructor(name, args, kwargs == null ? Map.of() : kwargs);
+	}
+
+	private void skipExpr(@NotNull BinToken token) throws IOException, SyntaxException {
+		switch(token) {
+			case BinToken.WithInteger t -> {
+				switch(t.type()) {
+					case CONSTRUCTOR -> skipConstructorBody();
+					case INT, NEG_INT, STRING_POOL_INDEX -> {}
+					case STRING, BINARY -> skipBytes(t.intValueExact());
+					case KEYWORD -> throw new SyntaxException();
+				}
+			}
+
+			case BinToken.Fixed fixed -> {
+				switch(fixed) {
+					case NULL0, NULL1, NULL2, TRUE, FALSE -> {}
+					case NULLN -> readInt(BigInteger.ZERO, 0);
+					case FLOAT32 -> readFixed(4);
+					case FLOAT64 -> readFixed(8);
+					case CONSTRUCTOR_START_STRING_TABLE, CONSTRUCTOR_START_LIST -> skipConstructorBody();
+					case CONSTRUCTOR_END -> throw new SyntaxException();
+				}
+			}
+		}
+	}
+
+	private void skipConstructorBody() throws IOException, SyntaxException {
+		while(true) {
+			var token = nextToken();
+			if(token == BinToken.Fixed.CONSTRUCTOR_END) {
+				return;
+			}
+
+			if(token instanceof BinToken.WithInteger t && t.type() == BinToken.WithIntegerType.KEYWORD) {
+				skipExpr(nextToken());
+			}
+			else {
+				skipExpr(token);
+			}
+		}
+	}
+
+	private long readArenaNode(@NotNull ESExprArena.Builder builder, @NotNull BinToken token) throws IOException, SyntaxException {
+		return switch(token) {
+			case BinToken.WithInteger t -> switch(t.type()) {
+				case CONSTRUCTOR -> readArenaConstructor(builder, symbolTable.get(t.intValueExact()));
+				case INT -> {
+					if(t.bigValue() != null) {
+						yield builder.integer(t.bigValue());
+					}
+
+					yield builder.integer(t.value());
+				}
+				case NEG_INT -> {
+					if(t.bigValue() != null) {
+						yield builder.integer(t.bigValue().add(BigInteger.ONE).negate());
+					}
+
+					yield builder.integer(~t.value());
+				}
+				case STRING -> builder.strUtf8(readBytes(t.intValueExact()));
+				case STRING_POOL_INDEX -> builder.str(symbolTable.get(t.intValueExact()));
+				case BINARY -> builder.binary(readBytes(t.intValueExact()));
+				case KEYWORD -> throw new SyntaxException();
+			};
+
+			case BinToken.Fixed fixed -> switch(fixed) {
+				case NULL0 -> builder.nullValue(BigInteger.ZERO);
+				case NULL1 -> builder.nullValue(BigInteger.ONE);
+				case NULL2 -> builder.nullValue(BigInteger.TWO);
+				case NULLN -> builder.nullValue(readInt(BigInteger.ZERO, 0).add(BigInteger.valueOf(3)));
+				case TRUE -> builder.bool(true);
+				case FALSE -> builder.bool(false);
+				case FLOAT32 -> builder.float32(Float.intBitsToFloat((int)readFixed(4)));
+				case FLOAT64 -> builder.float64(Double.longBitsToDouble(readFixed(8)));
+				case CONSTRUCTOR_START_STRING_TABLE -> readArenaConstructor(builder, BinToken.StringTableName);
+				case CONSTRUCTOR_START_LIST -> readArenaConstructor(builder, BinToken.ListName);
+				case CONSTRUCTOR_END -> throw new SyntaxException();
+			};
+		};
+	}
+
+	private long readArenaConstructor(@NotNull ESExprArena.Builder builder, @NotNull String name) throws IOException, SyntaxException {
+		long[] args = new long[4];
+		int argCount = 0;
+		int[] keys = new int[0];
+		long[] values = new long[0];
+		int kwargCount = 0;
+
+		while(true) {
+			var token = nextToken();
+			if(token == BinToken.Fixed.CONSTRUCTOR_END) {
+				break;
+			}
+
+			if(token instanceof BinToken.WithInteger t && t.type() == BinToken.WithIntegerType.KEYWORD) {
+				int key = builder.symbol(symbolTable.get(t.intValueExact()));
+				long value = readArenaNode(builder, nextToken());
+				if(kwargCount == keys.length) {
+					keys = Arrays.copyOf(keys, Math.max(4, keys.length * 2));
+					values = Arrays.copyOf(values, keys.length);
+				}
+				keys[kwargCount] = key;
+				values[kwargCount] = value;
+				++kwargCount;
+			}
+			else {
+				long value = readArenaNode(builder, token);
+				if(argCount == args.length) {
+					args = Arrays.copyOf(args, args.length * 2);
+				}
+				args[argCount] = value;
+				++argCount;
+			}
+		}
+
+		return builder.constructor(builder.constructorName(name), args, argCount, keys, values, kwargCount);
+	}
+
+	// Should be safe to bypass next/peekNext here.
+	private byte[] readBytes(int len) throws IOException {
+		byte[] b = new byte[len];
+		if(is.readNBytes(b, 0, len) < len) {
+			throw new EOFException();
+		}
+		return b;
+	}
+
+	// Should be safe to bypass next/peekNext here.
+	private void skipBytes(int len) throws IOException {
+		is.skipNBytes(len);
+	}
+
+	private long readFixed(int size) throws IOException {
+		long bits = 0;
+		for(int i = 0; i < size; ++i) {
+			int b = next();
+			if(b < 0) {
+				throw new EOFException();
+			}
+
+			bits |= (long)(b & 0xFF) << (i * 8);
+		}
+		return bits;
 	}
 
 }
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.foreign.ValueLayout;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
@@ -37,92 +38,153 @@ public class ESExprBinaryWriter {
 	public void write(ESExpr expr) throws IOException {
 		switch(expr) {
 			case ESExpr.Constructor(var constructor, var args, var kwargs) -> {
-				switch(constructor) {
-					case BinToken.StringTableName -> writeToken(BinToken.Fixed.CONSTRUCTOR_START_STRING_TABLE);
-					case BinToken.ListName -> writeToken(BinToken.Fixed.CONSTRUCTOR_START_LIST);
-					default -> {
-						var index = getSymbolIndex(constructor);
-						writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.CONSTRUCTOR, index));
-					}
-				}
+				writeConstructorStart(constructor);
 				for(var arg : args) {
 					write(arg);
 				}
 				for(var pair : kwargs.entrySet()) {
-					writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.KEYWORD, getSymbolIndex(pair.getKey())));
+					writeKeyword(pair.getKey());
 					write(pair.getValue());
 				}
 				writeToken(BinToken.Fixed.CONSTRUCTOR_END);
 			}
 
-			case ESExpr.Bool(var b) -> {
-				if(b) {
-					writeToken(BinToken.Fixed.TRUE);
-				}
-				else {
-					writeToken(BinToken.Fixed.FALSE);
-				}
+			case ESExpr.Bool(var b) -> writeBool(b);
+			case ESExpr.Int intExpr when intExpr.fitsInLong() -> writeIntValue(intExpr.longValueExact());
+			case ESExpr.Int intExpr -> writeIntValue(intExpr.n());
+			case ESExpr.Str(var s) -> writeStr(s);
+			case ESExpr.Binary(var b) -> {
+				writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.BINARY, b.length));
+				os.write(b);
 			}
+			case ESExpr.Float32(var f) -> writeFloat32(f);
+			case ESExpr.Float64(var d) -> writeFloat64(d);
+			case ESExpr.Null(var level) -> writeNull(level);
+		}
+	}
 
-			case ESExpr.Int(var i) -> {
-				if(i.signum() < 0) {
-					writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.NEG_INT, i.negate().subtract(BigInteger.ONE)));
+	/**
+	 * Write a node of an arena document to the stream.
+	 * @param node The node to write.
+	 * @throws IOException when an error occurs in the underlying stream.
+	 */
+	public void write(@NotNull ESExprArena.Node node) throws IOException {
+		switch(node.kind()) {
+			case ESExprArena.KIND_CONSTRUCTOR -> {
+				writeConstructorStart(node.constructorName());
+				int argCount = node.argCount();
+				for(int i = 0; i < argCount; ++i) {
+					write(node.arg(i));
 				}
-				else {
-					writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.INT, i));
+				int kwargCount = node.keywordCount();
+				for(int i = 0; i < kwargCount; ++i) {
+					writeKeyword(node.keywordName(i));
+					write(node.keywordValue(i));
 				}
+				writeToken(BinToken.Fixed.CONSTRUCTOR_END);
 			}
 
-			case ESExpr.Str(var s) -> {
-				byte[] b = s.getBytes(StandardCharsets.UTF_8);
-				writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.STRING, BigInteger.valueOf(b.length)));
-				os.write(b);
+			case ESExprArena.KIND_TRUE, ESExprArena.KIND_FALSE -> writeBool(node.boolValue());
+			case ESExprArena.KIND_INT -> writeIntValue(node.longValueExact());
+			case ESExprArena.KIND_BIG_INT -> writeIntValue(node.intValue());
+			case ESExprArena.KIND_STR -> writeStr(node.stringValue());
+			case ESExprArena.KIND_BINARY -> {
+				var b = node.binarySegment();
+				writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.BINARY, b.byteSize()));
+				os.write(b.toArray(ValueLayout.JAVA_BYTE));
 			}
+			case ESExprArena.KIND_FLOAT32 -> writeFloat32(node.float32Value());
+			case ESExprArena.KIND_FLOAT64 -> writeFloat64(node.float64Value());
+			case ESExprArena.KIND_NULL, ESExprArena.KIND_BIG_NULL -> writeNull(node.nullLevel());
+			default -> throw new IllegalStateException("Invalid node kind");
+		}
+	}
 
-			case ESExpr.Binary(var b) -> {
-				writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.BINARY, BigInteger.valueOf(b.length)));
-				os.write(b);
+	private void writeConstructorStart(String constructor) throws IOException {
+		switch(constructor) {
+			case BinToken.StringTableName -> writeToken(BinToken.Fixed.CONSTRUCTOR_START_STRING_TABLE);
+			case BinToken.ListName -> writeToken(BinToken.Fixed.CONSTRUCTOR_START_LIST);
+			default -> {
+				var index = getSymbolIndex(constructor);
+				writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.CONSTRUCTOR, index));
 			}
+		}
+	}
 
-			case ESExpr.Float32(var f) -> {
-				writeToken(BinToken.Fixed.FLOAT32);
-				int bits = Float.floatToRawIntBits(f);
-				for(int i = 0; i < 4; ++i) {
-					os.write(bits & 0xFF);
-					bits >>>= 8;
-				}
-			}
+	private void writeKeyword(String keyword) throws IOException {
+		writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.KEYWORD, getSymbolIndex(keyword)));
+	}
 
-			case ESExpr.Float64(var d) -> {
-				writeToken(BinToken.Fixed.FLOAT64);
-				long bits = Double.doubleToRawLongBits(d);
-				for(int i = 0; i < 8; ++i) {
-					os.write((int)bits & 0xFF);
-					bits >>>= 8;
-				}
-			}
+	private void writeBool(boolean b) throws IOException {
+		if(b) {
+			writeToken(BinToken.Fixed.TRUE);
+		}
+		else {
+			writeToken(BinToken.Fixed.FALSE);
+		}
+	}
 
-			case ESExpr.Null(var level) -> {
-				if(level.equals(BigInteger.ZERO)) {
-					writeToken(BinToken.Fixed.NULL0);
-				}
-				else if(level.equals(BigInteger.ONE)) {
-					writeToken(BinToken.Fixed.NULL1);
-				}
-				else if(level.equals(BigInteger.valueOf(2))) {
-					writeToken(BinToken.Fixed.NULL2);
-				}
-				else {
-					writeToken(BinToken.Fixed.NULLN);
-					writeInt(level.subtract(BigInteger.valueOf(3)));
-				}
-			}
+	private void writeIntValue(long i) throws IOException {
+		if(i < 0) {
+			writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.NEG_INT, ~i));
+		}
+		else {
+			writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.INT, i));
+		}
+	}
+
+	private void writeIntValue(BigInteger i) throws IOException {
+		if(i.signum() < 0) {
+			writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.NEG_INT, i.negate().subtract(BigInteger.ONE)));
+		}
+		else {
+			writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.INT, i));
+		}
+	}
+
+	private void writeStr(String s) throws IOException {
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		writeToken(new BinToken.WithInteger(BinToken.WithIntegerType.STRING, b.length));
+		os.write(b);
+	}
+
+	private void writeFloat32(float f) throws IOException {
+		writeToken(BinToken.Fixed.FLOAT32);
+		int bits = Float.floatToRawIntBits(f);
+		for(int i = 0; i < 4; ++i) {
+			os.write(bits & 0xFF);
+			bits >>>= 8;
+		}
+	}
+
+	private void writeFloat64(double d) throws IOException {
+		writeToken(BinToken.Fixed.FLOAT64);
+		long bits = Double.doubleToRawLongBits(d);
+		for(int i = 0; i < 8; ++i) {
+			os.write((int)bits & 0xFF);
+			bits >>>= 8;
+		}
+	}
+
+	private void writeNull(BigInteger level) throws IOException {
+		if(level.equals(BigInteger.ZERO)) {
+			writeToken(BinToken.Fixed.NULL0);
+		}
+		else if(level.equals(BigInteger.ONE)) {
+			writeToken(BinToken.Fixed.NULL1);
+		}
+		else if(level.equals(BigInteger.valueOf(2))) {
+			writeToken(BinToken.Fixed.NULL2);
+		}
+		else {
+			writeToken(BinToken.Fixed.NULLN);
+			writeInt(level.subtract(BigInteger.valueOf(3)));
 		}
 	}
 
 	private void writeToken(BinToken token) throws IOException {
 		switch(token) {
-			case BinToken.WithInteger(var type, var value) -> {
+			case BinToken.WithInteger(var type, var value, var bigValue) -> {
 				int b = switch(type) {
 					case CONSTRUCTOR -> 0x00;
 					case INT -> 0x20;
@@ -133,16 +195,31 @@ public class ESExprBinaryWriter {
 					case KEYWORD -> 0xC0;
 				};
 
-				b |= value.byteValue() & 0x0F;
-				value = value.shiftRight(4);
+				if(bigValue != null) {
+					b |= bigValue.byteValue() & 0x0F;
+					bigValue = bigValue.shiftRight(4);
 
-				boolean isPos = value.signum() > 0;
-				if(isPos) {
-					b |= 0x10;
+					boolean isPos = bigValue.signum() > 0;
+					if(isPos) {
+						b |= 0x10;
+					}
+					os.write(b);
+					if(isPos) {
+						writeInt(bigValue);
+					}
 				}
-				os.write(b);
-				if(isPos) {
-					writeInt(value);
+				else {
+					b |= (int)(value & 0x0F);
+					value >>>= 4;
+
+					boolean isPos = value != 0;
+					if(isPos) {
+						b |= 0x10;
+					}
+					os.write(b);
+					if(isPos) {
+						writeInt(value);
+					}
 				}
 			}
 			case BinToken.Fixed fixed -> {
@@ -164,12 +241,12 @@ public class ESExprBinaryWriter {
 		}
 	}
 
-	private BigInteger getSymbolIndex(String symbol) {
+	private int getSymbolIndex(String symbol) {
 		int index = symbolTable.indexOf(symbol);
 		if(index < 0) {
 			throw new IndexOutOfBoundsException();
 		}
-		return BigInteger.valueOf(index);
+		return index;
 	}
 
 	private void writeInt(BigInteger value) throws IOException {
@@ -184,6 +261,18 @@ public class ESExprBinaryWriter {
 		} while(value.signum() > 0);
 	}
 
+	private void writeInt(long value) throws IOException {
+		do {
+			int b = (int)(value & 0x7F);
+			value >>>= 7;
+
+			if(value != 0) {
+				b |= 0x80;
+			}
+			os.write(b);
+		} while(value != 0);
+	}
+
 
 	/**
 	 * Creates a string table with the required values for an expression.
@@ -251,4 +340,17 @@ public class ESExprBinaryWriter {
 		new ESExprBinaryWriter(st.values(), os).write(expr);
 	}
 
+	/**
+	 * Write an arena document with an embedded string table.
+	 * @param os The stream to write to.
+	 * @param doc The document to write.
+	 * @throws IOException If an IO error occurs.
+	 */
+	public static void writeWithSymbolTable(@NotNull OutputStream os, @NotNull ESExprArena doc) throws IOException {
+		var st = doc.symbolTable();
+
+		new ESExprBinaryWriter(List.of(), os).write(StringTable.codec().encode(st));
+		new ESExprBinaryWriter(st.values(), os).write(doc.root());
+	}
+
 }
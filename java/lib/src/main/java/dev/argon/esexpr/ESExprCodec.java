@@ -1,5 +1,7 @@
 package dev.argon.esexpr;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.Optional;
 
@@ -37,20 +39,51 @@ public abstract class ESExprCodec<T> {
 	 * @throws DecodeException when the value cannot be decoded.
 	 */
 	public final @NotNull T decode(@NotNull ESExpr expr) throws DecodeException {
-		return decode(expr, new FailurePath.Current());
+		return decode(expr, FailurePath.Current.INSTANCE);
 	}
 
 	/**
 	 * Decode an ESExpr into a value.
 	 * @param expr The ESExpr to decode.
 	 * @param path The path of the current value within the decoded object for diagnostic purposes.
+	 *             Implementations that decode nested values may instead decode them relative to {@link FailurePath.Current#INSTANCE}
+	 *             and use {@link DecodeException#prependPath} on failure, so that paths are only built when decoding fails.
 	 * @return The decoded value.
 	 * @throws DecodeException when the value cannot be decoded.
 	 */
 	public abstract @NotNull T decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException;
 
+	/**
+	 * Decode an ESExpr into a value without throwing on failure.
+	 * @param expr The ESExpr to decode.
+	 * @return The decoded value or the failure.
+	 */
+	public final @NotNull DecodeResult<T> decodeResult(@NotNull ESExpr expr) {
+		return decodeResult(expr, FailurePath.Current.INSTANCE);
+	}
+
+	/**
+	 * Decode an ESExpr into a value without throwing on failure.
+	 * The default implementation catches the exception thrown by {@link #decode(ESExpr, FailurePath)}.
+	 * The built-in and generated codecs override this to return failures without throwing.
+	 * @param expr The ESExpr to decode.
+	 * @param path The path of the current value within the decoded object for diagnostic purposes.
+	 * @return The decoded value or the failure.
+	 */
+	public @NotNull DecodeResult<T> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		try {
+			return new DecodeResult.Success<>(decode(expr, path));
+		}
+		catch(DecodeException e) {
+			return new DecodeResult.Failure<>(e);
+		}
+	}
+
 	/**
 	 * The path of a decode failure.
+	 *
+	 * Each path links to its parent, so appending is constant time.
+	 * The full path is only rendered by {@link Object#toString()}.
 	 */
 	public sealed interface FailurePath {
 		/**
@@ -77,90 +110,157 @@ public abstract class ESExprCodec<T> {
 		FailurePath withConstructor(String constructor);
 
 		/**
-		 * Indicates that the path ends at the current object.
+		 * Indicates the root of a path.
 		 */
 		public record Current() implements FailurePath {
+			/**
+			 * The empty path.
+			 */
+			public static final @NotNull Current INSTANCE = new Current();
+
 			@Override
 			public FailurePath append(String constructor, int index) {
-				return new Positional(constructor, index, this);
+				return new Positional(this, constructor, index);
 			}
 
 			@Override
 			public FailurePath append(String constructor, String keyword) {
-				return new Keyword(constructor, keyword, this);
+				return new Keyword(this, constructor, keyword);
 			}
 
 			@Override
 			public FailurePath withConstructor(String constructor) {
-				return new Constructor(constructor);
+				return new Constructor(this, constructor);
+			}
+
+			@Override
+			public String toString() {
+				return render(this);
 			}
 		}
 
 		/**
 		 * Indicates that the path ends at a constructor value.
+		 * @param parent The path of the constructor value.
 		 * @param name The name of the constructor.
 		 */
-		public record Constructor(String name) implements FailurePath {
+		public record Constructor(@NotNull FailurePath parent, String name) implements FailurePath {
 			@Override
 			public FailurePath append(String constructor, int index) {
-				return new Positional(constructor, index, new Current());
+				return new Positional(parent, constructor, index);
 			}
 
 			@Override
 			public FailurePath append(String constructor, String keyword) {
-				return new Keyword(constructor, keyword, new Current());
+				return new Keyword(parent, constructor, keyword);
 			}
 
 			@Override
 			public FailurePath withConstructor(String constructor) {
-				return new Constructor(constructor);
+				return new Constructor(parent, constructor);
+			}
+
+			@Override
+			public String toString() {
+				return render(this);
 			}
 		}
 
 		/**
-		 * Indicates that the next part of the path is a positional argument.
+		 * Indicates that the path continues into a positional argument.
+		 * @param parent The path of the constructor value.
 		 * @param constructor The name of the constructor.
 		 * @param index The index of the positional argument.
-		 * @param next The next part of the path.
 		 */
-		public record Positional(String constructor, int index, FailurePath next) implements FailurePath {
+		public record Positional(@NotNull FailurePath parent, String constructor, int index) implements FailurePath {
 			@Override
 			public FailurePath append(String constructor, int index) {
-				return new Positional(this.constructor, this.index, next.append(constructor, index));
+				return new Positional(this, constructor, index);
 			}
 
 			@Override
 			public FailurePath append(String constructor, String keyword) {
-				return new Positional(this.constructor, index, next.append(constructor, keyword));
+				return new Keyword(this, constructor, keyword);
 			}
 
 			@Override
 			public FailurePath withConstructor(String constructor) {
-				return new Positional(this.constructor, index, next.withConstructor(constructor));
+				return new Constructor(this, constructor);
+			}
+
+			@Override
+			public String toString() {
+				return render(this);
 			}
 		}
 
 		/**
-		 * Indicates that the next part of the path is a keyword argument.
+		 * Indicates that the path continues into a keyword argument.
+		 * @param parent The path of the constructor value.
 		 * @param constructor The name of the constructor.
 		 * @param keyword The name of the keyword argument.
-		 * @param next The next part of the path.
 		 */
-		public record Keyword(String constructor, String keyword, FailurePath next) implements FailurePath {
+		public record Keyword(@NotNull FailurePath parent, String constructor, String keyword) implements FailurePath {
 			@Override
 			public FailurePath append(String constructor, int index) {
-				return new Keyword(this.constructor, this.keyword, next.append(constructor, index));
+				return new Positional(this, constructor, index);
 			}
 
 			@Override
 			public FailurePath append(String constructor, String keyword) {
-				return new Keyword(this.constructor, keyword, next.append(constructor, keyword));
+				return new Keyword(this, constructor, keyword);
 			}
 
 			@Override
 			public FailurePath withConstructor(String constructor) {
-				return new Keyword(this.constructor, keyword, next.withConstructor(constructor));
-			}}
+				return new Constructor(this, constructor);
+			}
+
+			@Override
+			public String toString() {
+				return render(this);
+			}
+		}
+
+		private static @NotNull List<@NotNull FailurePath> parts(@NotNull FailurePath path) {
+			var parts = new ArrayList<FailurePath>();
+			while(true) {
+				switch(path) {
+					case Current() -> {
+						return parts.reversed();
+					}
+					case Constructor(var parent, var name) -> {
+						parts.add(path);
+						path = parent;
+					}
+					case Positional(var parent, var constructor, var index) -> {
+						parts.add(path);
+						path = parent;
+					}
+					case Keyword(var parent, var constructor, var keyword) -> {
+						parts.add(path);
+						path = parent;
+					}
+				}
+			}
+		}
+
+		private static @NotNull String render(@NotNull FailurePath path) {
+			var sb = new StringBuilder();
+			for(var part : parts(path)) {
+				if(!sb.isEmpty()) {
+					sb.append(" / ");
+				}
+
+				switch(part) {
+					case Current() -> {}
+					case Constructor(var parent, var name) -> sb.append("(").append(name).append(")");
+					case Positional(var parent, var constructor, var index) -> sb.append(constructor).append("[").append(index).append("]");
+					case Keyword(var parent, var constructor, var keyword) -> sb.append(constructor).append("[").append(keyword).append(":]");
+				}
+			}
+			return sb.toString();
+		}
 	}
 
 	/**
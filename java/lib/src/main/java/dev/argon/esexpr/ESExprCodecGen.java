@@ -8,8 +8,22 @@ import java.lang.annotation.Target;
 /**
  * Indicates that an `ESExprCodec` should be generated for the annotated type.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface ESExprCodecGen {
-	
+	/**
+	 * Whether a lazily decoded view of the record should also be generated.
+	 * The view is named after the record with a `_View` suffix and reads fields from an {@link ESExprArena.Node}.
+	 * Only non-generic records support views.
+	 * @return true if a view is generated.
+	 */
+	boolean view() default false;
+
+	/**
+	 * Whether a static `projected(String...)` method should be generated for the record.
+	 * It returns a {@link ProjectedCodec} that only decodes the selected fields.
+	 * Only non-generic records support projections.
+	 * @return true if projected codecs can be created.
+	 */
+	boolean projection() default false;
 }
@@ -8,7 +8,7 @@ import java.lang.annotation.Target;
 /**
  * Specifies codec overrides.
  */
-@Retention(RetentionPolicy.CLASS)
+@Retention(RetentionPolicy.RUNTIME)
 @Target({ ElementType.TYPE, ElementType.FIELD, ElementType.METHOD })
 public @interface ESExprCodecOverrideList {
 	/**
@@ -0,0 +1,105 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derives codecs at runtime for types that were not processed by the annotation processor.
+ *
+ * Derived codecs read the same annotations as the annotation processor ({@link Constructor}, {@link Keyword}, {@link Vararg},
+ * {@link Dict}, {@link OptionalValue}, {@link DefaultValue}, {@link InlineValue}, {@link Unsigned}, {@link Packed} and {@link ParallelDecode})
+ * and produce the same expressions as generated codecs.
+ * Records, sealed interfaces of records and enums are supported.
+ *
+ * Record fields are accessed through method handles that are constants of a hidden class defined for each record,
+ * so reflection is only used while a codec is being built.
+ * Codecs for field types are resolved on first use, which allows recursive types.
+ * A {@link DefaultValue} must be either the name of a static method of the record with no parameters or
+ * a boolean, numeric or string literal, as for the annotation processor.
+ */
+public final class ESExprCodecs {
+	private ESExprCodecs() {}
+
+	// Codecs are cached per lookup, so a codec derived with a privileged lookup is never returned for a lookup with less access.
+	private record LookupKey(@NotNull Class<?> lookupClass, Class<?> previousLookupClass, int lookupModes) {
+		static @NotNull LookupKey of(@NotNull MethodHandles.Lookup lookup) {
+			return new LookupKey(lookup.lookupClass(), lookup.previousLookupClass(), lookup.lookupModes());
+		}
+	}
+
+	// Codecs without type arguments are held as long as their type, so they are only derived once.
+	// Codecs of generic types are held weakly by their argument codecs.
+	private static final class DerivedCodecs {
+		final ConcurrentHashMap<LookupKey, ESExprCodec<?>> codecs = new ConcurrentHashMap<>();
+		final ConcurrentHashMap<LookupKey, CodecCache<ESExprCodec<?>>> genericCodecs = new ConcurrentHashMap<>();
+	}
+
+	private static final ClassValue<DerivedCodecs> DERIVED_CODECS = new ClassValue<>() {
+		@Override
+		protected DerivedCodecs computeValue(Class<?> type) {
+			return new DerivedCodecs();
+		}
+	};
+
+	/**
+	 * Derives a codec for a public type.
+	 * @param type The type.
+	 * @return The codec.
+	 * @param <T> The type.
+	 */
+	public static <T> @NotNull ESExprCodec<T> derive(@NotNull Class<T> type) {
+		return derive(MethodHandles.publicLookup(), type);
+	}
+
+	/**
+	 * Derives a codec for a type using a lookup that can access its record components and constructors.
+	 * Codecs are cached for each lookup class and access mode, so a codec is only shared between callers with the same access.
+	 * A codec of a type without type arguments is kept as long as the type; other codecs are kept while they are reachable.
+	 * @param lookup The lookup used to access the type.
+	 * @param type The type.
+	 * @param typeArgumentCodecs The codecs for the type parameters of the type.
+	 * @return The codec.
+	 * @param <T> The type.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> @NotNull ESExprCodec<T> derive(@NotNull MethodHandles.Lookup lookup, @NotNull Class<T> type, @NotNull ESExprCodec<?> @NotNull... typeArgumentCodecs) {
+		// Derived codecs are cached by type, lookup and argument codecs, so recursive types reuse the codec that is being built.
+		var derived = DERIVED_CODECS.get(type);
+		var lookupKey = LookupKey.of(lookup);
+		if(typeArgumentCodecs.length == 0) {
+			var codec = derived.codecs.get(lookupKey);
+			if(codec == null) {
+				// The codec is created outside of the map, and racing threads keep the first codec that was stored.
+				codec = create(lookup, type, typeArgumentCodecs);
+				var existing = derived.codecs.putIfAbsent(lookupKey, codec);
+				if(existing != null) {
+					codec = existing;
+				}
+			}
+			return (ESExprCodec<T>)codec;
+		}
+
+		return (ESExprCodec<T>)derived.genericCodecs
+			.computeIfAbsent(lookupKey, k -> new CodecCache<>())
+			.get(typeArgumentCodecs, () -> create(lookup, type, typeArgumentCodecs));
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static @NotNull ESExprCodec<?> create(@NotNull MethodHandles.Lookup lookup, @NotNull Class<?> type, @NotNull ESExprCodec<?> @NotNull[] typeArgumentCodecs) {
+		var typeArguments = DerivedCodecResolver.typeArgumentMap(type, typeArgumentCodecs);
+		if(type.isEnum()) {
+			return new DerivedSimpleEnumCodec(type);
+		}
+		else if(type.isRecord()) {
+			return new DerivedRecordCodec<>(lookup, type, typeArguments);
+		}
+		else if(type.isInterface() && type.isSealed()) {
+			return new DerivedSealedCodec<>(lookup, type, typeArguments);
+		}
+		else {
+			throw new IllegalArgumentException("Codecs can only be derived for records, sealed interfaces and enums: " + type.getName());
+		}
+	}
+}
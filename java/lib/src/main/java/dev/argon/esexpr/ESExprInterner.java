@@ -0,0 +1,117 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Canonicalizes structurally equal expressions and strings so that repeated values share a single instance.
+ *
+ * The interning table is bounded. Once it is full, the least recently used entries are evicted.
+ * Binary values are compared by content, so their arrays must not be modified once they have been interned.
+ */
+public final class ESExprInterner {
+	/**
+	 * Creates an interner with the default table size.
+	 */
+	public ESExprInterner() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Creates an interner.
+	 * @param maxSize The maximum number of expressions and strings retained by the interner.
+	 */
+	public ESExprInterner(int maxSize) {
+		if(maxSize <= 0) {
+			throw new IllegalArgumentException("Interner size must be positive");
+		}
+
+		this.exprs = new BoundedTable<>(maxSize);
+		this.strings = new BoundedTable<>(maxSize);
+	}
+
+	private static final int DEFAULT_MAX_SIZE = 4096;
+
+	private final BoundedTable<ESExpr> exprs;
+	private final BoundedTable<String> strings;
+
+	private static final class BoundedTable<T> extends LinkedHashMap<T, T> {
+		public BoundedTable(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		private final int maxSize;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<T, T> eldest) {
+			return size() > maxSize;
+		}
+	}
+
+	/**
+	 * Gets the canonical instance of a string.
+	 * @param s The string.
+	 * @return A string equal to s.
+	 */
+	public synchronized @NotNull String intern(@NotNull String s) {
+		var existing = strings.putIfAbsent(s, s);
+		return existing != null ? existing : s;
+	}
+
+	/**
+	 * Gets the canonical instance of an expression, interning all of its subexpressions.
+	 * @param expr The expression.
+	 * @return An expression equal to expr.
+	 */
+	public @NotNull ESExpr intern(@NotNull ESExpr expr) {
+		if(expr instanceof ESExpr.Constructor(var name, var args, var kwargs)) {
+			var name2 = intern(name);
+			boolean changed = name2 != name;
+
+			var args2 = new ESExpr[args.size()];
+			int i = 0;
+			for(var arg : args) {
+				var arg2 = intern(arg);
+				changed |= arg2 != arg;
+				args2[i] = arg2;
+				++i;
+			}
+
+			var kwargs2 = new LinkedHashMap<String, ESExpr>(kwargs.size() * 2);
+			for(var entry : kwargs.entrySet()) {
+				var key2 = intern(entry.getKey());
+				var value2 = intern(entry.getValue());
+				changed |= key2 != entry.getKey() || value2 != entry.getValue();
+				kwargs2.put(key2, value2);
+			}
+
+			if(changed) {
+				expr = new ESExpr.Constructor(name2, List.of(args2), kwargs2);
+			}
+		}
+
+		return internNode(expr);
+	}
+
+	/*
+		Interns an expression whose subexpressions have already been interned.
+	 */
+	@NotNull ESExpr internNode(@NotNull ESExpr expr) {
+		return switch(expr) {
+			case ESExpr.Bool(var b) -> ESExpr.Bool.of(b);
+			case ESExpr.Null(var level) -> ESExpr.Null.of(level);
+			case ESExpr.Str(var s) -> {
+				var s2 = intern(s);
+				yield lookup(s2 == s ? expr : new ESExpr.Str(s2));
+			}
+			default -> lookup(expr);
+		};
+	}
+
+	private synchronized @NotNull ESExpr lookup(@NotNull ESExpr expr) {
+		var existing = exprs.putIfAbsent(expr, expr);
+		return existing != null ? existing : expr;
+	}
+}
@@ -6,7 +6,7 @@ import java.lang.annotation.*;
  * Defines a codec override for a specified type.
  */
 
-@Retention(RetentionPolicy.CLASS)
+@Retention(RetentionPolicy.RUNTIME)
 @Target({ ElementType.TYPE, ElementType.FIELD, ElementType.METHOD })
 @Repeatable(ESExprCodecOverrideList.class)
 public @interface ESExprOverrideCodec {
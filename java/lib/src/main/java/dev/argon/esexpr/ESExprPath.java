@@ -0,0 +1,178 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * A path to a subexpression within an ESExpr.
+ *
+ * Updates through a path are persistent. They return a new expression that shares every subtree
+ * that is not on the path with the original expression.
+ */
+public final class ESExprPath {
+	private ESExprPath(@Nullable ESExprPath parent, int index, @Nullable String keyword) {
+		this.parent = parent;
+		this.index = index;
+		this.keyword = keyword;
+	}
+
+	private static final @NotNull ESExprPath ROOT = new ESExprPath(null, -1, null);
+
+	private final @Nullable ESExprPath parent;
+	private final int index;
+	private final @Nullable String keyword;
+
+	/**
+	 * Gets the path to the root of an expression.
+	 * @return The root path.
+	 */
+	public static @NotNull ESExprPath root() {
+		return ROOT;
+	}
+
+	/**
+	 * Gets a sub-path for a positional argument of the constructor at this path.
+	 * @param index The index of the positional argument.
+	 * @return The sub-path.
+	 */
+	public @NotNull ESExprPath arg(int index) {
+		if(index < 0) {
+			throw new IndexOutOfBoundsException(index);
+		}
+
+		return new ESExprPath(this, index, null);
+	}
+
+	/**
+	 * Gets a sub-path for a keyword argument of the constructor at this path.
+	 * @param keyword The name of the keyword argument.
+	 * @return The sub-path.
+	 */
+	public @NotNull ESExprPath keyword(@NotNull String keyword) {
+		return new ESExprPath(this, -1, Objects.requireNonNull(keyword));
+	}
+
+	/**
+	 * Gets the subexpression at this path.
+	 * @param expr The root expression.
+	 * @return The subexpression.
+	 */
+	public @NotNull ESExpr get(@NotNull ESExpr expr) {
+		if(parent == null) {
+			return expr;
+		}
+
+		return child(asConstructor(parent.get(expr), parent));
+	}
+
+	/**
+	 * Replaces the subexpression at this path.
+	 * If this path ends in a keyword argument that is not present, the keyword argument is added.
+	 * @param expr The root expression.
+	 * @param value The new subexpression.
+	 * @return The updated root expression.
+	 */
+	public @NotNull ESExpr set(@NotNull ESExpr expr, @NotNull ESExpr value) {
+		Objects.requireNonNull(value);
+
+		if(parent == null) {
+			return value;
+		}
+
+		return parent.modify(expr, node -> {
+			var constructor = asConstructor(node, parent);
+			if(keyword == null) {
+				return constructor.withArg(index, value);
+			}
+			else {
+				return constructor.withKeyword(keyword, value);
+			}
+		});
+	}
+
+	/**
+	 * Updates the subexpression at this path.
+	 * @param expr The root expression.
+	 * @param f A function that computes the new subexpression from the current one.
+	 * @return The updated root expression.
+	 */
+	public @NotNull ESExpr update(@NotNull ESExpr expr, @NotNull UnaryOperator<@NotNull ESExpr> f) {
+		return modify(expr, f);
+	}
+
+	/**
+	 * Removes a keyword argument from the constructor at this path.
+	 * @param expr The root expression.
+	 * @param keyword The name of the keyword argument.
+	 * @return The updated root expression.
+	 */
+	public @NotNull ESExpr removeKeyword(@NotNull ESExpr expr, @NotNull String keyword) {
+		return modify(expr, node -> asConstructor(node, this).withoutKeyword(keyword));
+	}
+
+	private @NotNull ESExpr modify(@NotNull ESExpr expr, @NotNull UnaryOperator<@NotNull ESExpr> f) {
+		if(parent == null) {
+			return Objects.requireNonNull(f.apply(expr));
+		}
+
+		return parent.modify(expr, node -> {
+			var constructor = asConstructor(node, parent);
+			var value = Objects.requireNonNull(f.apply(child(constructor)));
+			if(keyword == null) {
+				return constructor.withArg(index, value);
+			}
+			else {
+				return constructor.withKeyword(keyword, value);
+			}
+		});
+	}
+
+	private @NotNull ESExpr child(@NotNull ESExpr.Constructor constructor) {
+		if(keyword == null) {
+			return constructor.args().get(index);
+		}
+
+		var value = constructor.kwargs().get(keyword);
+		if(value == null) {
+			throw new NoSuchElementException("Missing keyword argument " + keyword + " at " + parent);
+		}
+		return value;
+	}
+
+	private static @NotNull ESExpr.Constructor asConstructor(@NotNull ESExpr expr, @NotNull ESExprPath path) {
+		if(expr instanceof ESExpr.Constructor constructor) {
+			return constructor;
+		}
+
+		throw new IllegalArgumentException("Expected a constructor at " + path);
+	}
+
+	@Override
+	public String toString() {
+		if(parent == null) {
+			return "<root>";
+		}
+
+		var sb = new StringBuilder();
+		appendTo(sb);
+		return sb.toString();
+	}
+
+	private void appendTo(@NotNull StringBuilder sb) {
+		if(parent == null) {
+			return;
+		}
+
+		parent.appendTo(sb);
+		if(keyword == null) {
+			sb.append('[').append(index).append(']');
+		}
+		else {
+			sb.append('.').append(keyword);
+		}
+	}
+}
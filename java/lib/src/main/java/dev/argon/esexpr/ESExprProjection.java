@@ -0,0 +1,41 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * Selects the arguments of a constructor that are read from binary input.
+ * Other arguments are skipped without being decoded.
+ * Skipped positional arguments that precede a selected argument are replaced with null so that indexes are preserved.
+ * @param constructor The name of the constructor that the projection applies to.
+ * @param positional The indexes of the selected positional arguments.
+ * @param restIndex The index from which all positional arguments are selected, or -1 if none are.
+ * @param keywords The names of the selected keyword arguments.
+ * @param otherKeywords Whether keyword arguments that are not named in keywords are selected.
+ */
+public record ESExprProjection(
+	@NotNull String constructor,
+	@NotNull Set<@NotNull Integer> positional,
+	int restIndex,
+	@NotNull Set<@NotNull String> keywords,
+	boolean otherKeywords
+) {
+	/**
+	 * Checks whether a positional argument is selected.
+	 * @param index The index of the argument.
+	 * @return true if the argument is selected.
+	 */
+	public boolean includesPositional(int index) {
+		return (restIndex >= 0 && index >= restIndex) || positional.contains(index);
+	}
+
+	/**
+	 * Checks whether a keyword argument is selected.
+	 * @param keyword The name of the argument.
+	 * @return true if the argument is selected.
+	 */
+	public boolean includesKeyword(@NotNull String keyword) {
+		return otherKeywords || keywords.contains(keyword);
+	}
+}
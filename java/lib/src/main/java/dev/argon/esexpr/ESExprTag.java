@@ -16,36 +16,71 @@ public sealed interface ESExprTag {
 	/**
 	 * A tag for a boolean value.
 	 */
-    public static record Bool() implements ESExprTag {}
+    public static record Bool() implements ESExprTag {
+		/**
+		 * The shared instance of this tag.
+		 */
+		public static final @NotNull Bool INSTANCE = new Bool();
+	}
 
 	/**
 	 * A tag for an integer value.
 	 */
-    public static record Int() implements ESExprTag {}
+    public static record Int() implements ESExprTag {
+		/**
+		 * The shared instance of this tag.
+		 */
+		public static final @NotNull Int INSTANCE = new Int();
+	}
 
 	/**
 	 * A tag for a string value.
 	 */
-    public static record Str() implements ESExprTag {}
+    public static record Str() implements ESExprTag {
+		/**
+		 * The shared instance of this tag.
+		 */
+		public static final @NotNull Str INSTANCE = new Str();
+	}
 
 	/**
 	 * A tag for a binary value.
 	 */
-    public static record Binary() implements ESExprTag {}
+    public static record Binary() implements ESExprTag {
+		/**
+		 * The shared instance of this tag.
+		 */
+		public static final @NotNull Binary INSTANCE = new Binary();
+	}
 
 	/**
 	 * A tag for a 32-bit floating point value.
 	 */
-    public static record Float32() implements ESExprTag {}
+    public static record Float32() implements ESExprTag {
+		/**
+		 * The shared instance of this tag.
+		 */
+		public static final @NotNull Float32 INSTANCE = new Float32();
+	}
 
 	/**
 	 * A tag for a 64-bit floating point value.
 	 */
-    public static record Float64() implements ESExprTag {}
+    public static record Float64() implements ESExprTag {
+		/**
+		 * The shared instance of this tag.
+		 */
+		public static final @NotNull Float64 INSTANCE = new Float64();
+	}
 
 	/**
 	 * A tag for a null value.
 	 */
-    public static record Null() implements ESExprTag {}
+    public static record Null() implements ESExprTag {
+		/**
+		 * The shared instance of this tag.
+		 */
+		public static final @NotNull Null INSTANCE = new Null();
+	}
 
 }
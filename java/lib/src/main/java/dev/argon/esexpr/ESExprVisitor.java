@@ -0,0 +1,25 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A visitor for the expressions in an ESExpr tree.
+ * @see ESExprWalker#walk(ESExpr, ESExprVisitor)
+ */
+public interface ESExprVisitor {
+	/**
+	 * Called for an expression before any of its subexpressions are visited.
+	 * @param expr The expression.
+	 * @return true to visit the subexpressions of expr, false to skip them.
+	 */
+	default boolean enter(@NotNull ESExpr expr) {
+		return true;
+	}
+
+	/**
+	 * Called for an expression after all of its subexpressions have been visited.
+	 * This is called for every entered expression, even if its subexpressions were skipped.
+	 * @param expr The expression.
+	 */
+	default void exit(@NotNull ESExpr expr) {}
+}
@@ -0,0 +1,360 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Traverses ESExpr trees without recursion.
+ *
+ * Subexpressions of a constructor are visited in order: positional arguments first, then keyword argument values.
+ */
+public final class ESExprWalker {
+	private ESExprWalker() {}
+
+	/**
+	 * The default minimum number of arguments of a constructor before its arguments are folded in parallel.
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 256;
+
+	/**
+	 * Combines the results for the arguments of an expression.
+	 * @param <T> The result type.
+	 */
+	@FunctionalInterface
+	public static interface Folder<T> {
+		/**
+		 * Computes the result for an expression.
+		 * @param expr The expression.
+		 * @param args The results for the positional arguments. Empty if expr is not a constructor.
+		 * @param kwargs The results for the keyword arguments. Empty if expr is not a constructor.
+		 * @return The result for expr.
+		 */
+		T fold(@NotNull ESExpr expr, @NotNull List<T> args, @NotNull Map<String, T> kwargs);
+	}
+
+	/**
+	 * Visits an expression and all of its subexpressions.
+	 * @param expr The expression.
+	 * @param visitor The visitor.
+	 */
+	public static void walk(@NotNull ESExpr expr, @NotNull ESExprVisitor visitor) {
+		if(!visitor.enter(expr)) {
+			visitor.exit(expr);
+			return;
+		}
+
+		var stack = new ArrayDeque<Frame>();
+		stack.push(new Frame(expr));
+		while(!stack.isEmpty()) {
+			var frame = stack.peek();
+			var child = frame.nextChild();
+			if(child == null) {
+				stack.pop();
+				visitor.exit(frame.expr);
+			}
+			else if(visitor.enter(child)) {
+				stack.push(new Frame(child));
+			}
+			else {
+				visitor.exit(child);
+			}
+		}
+	}
+
+	/**
+	 * Gets an expression and all of its subexpressions, each before its subexpressions.
+	 * @param expr The expression.
+	 * @return The expressions in pre-order.
+	 */
+	public static @NotNull Stream<@NotNull ESExpr> preOrder(@NotNull ESExpr expr) {
+		return traverse(expr, false);
+	}
+
+	/**
+	 * Gets an expression and all of its subexpressions, each after its subexpressions.
+	 * @param expr The expression.
+	 * @return The expressions in post-order.
+	 */
+	public static @NotNull Stream<@NotNull ESExpr> postOrder(@NotNull ESExpr expr) {
+		return traverse(expr, true);
+	}
+
+	private static @NotNull Stream<@NotNull ESExpr> traverse(@NotNull ESExpr expr, boolean postOrder) {
+		var iter = new TraversalIterator(expr, postOrder);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iter, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * Folds an expression bottom-up.
+	 * @param expr The expression.
+	 * @param folder Computes the result for each expression from the results for its arguments.
+	 * @return The result for expr.
+	 * @param <T> The result type.
+	 */
+	public static <T> T fold(@NotNull ESExpr expr, @NotNull Folder<T> folder) {
+		return foldImpl(expr, folder, null);
+	}
+
+	/**
+	 * Folds an expression bottom-up, folding the arguments of large constructors in parallel using the common pool.
+	 * @param expr The expression.
+	 * @param folder Computes the result for each expression from the results for its arguments. Must be thread-safe.
+	 * @return The result for expr.
+	 * @param <T> The result type.
+	 */
+	public static <T> T parallelFold(@NotNull ESExpr expr, @NotNull Folder<T> folder) {
+		return parallelFold(expr, folder, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Folds an expression bottom-up, folding the arguments of large constructors in parallel.
+	 * @param expr The expression.
+	 * @param folder Computes the result for each expression from the results for its arguments. Must be thread-safe.
+	 * @param pool The pool used to run the fold.
+	 * @param threshold The minimum number of arguments of a constructor before its arguments are folded in parallel.
+	 * @return The result for expr.
+	 * @param <T> The result type.
+	 */
+	public static <T> T parallelFold(@NotNull ESExpr expr, @NotNull Folder<T> folder, @NotNull ForkJoinPool pool, int threshold) {
+		if(threshold < 2) {
+			throw new IllegalArgumentException("Parallel threshold must be at least 2");
+		}
+
+		var parallel = new Parallel(threshold, Math.max(1, pool.getParallelism() * 4));
+		return pool.invoke(new RecursiveTask<T>() {
+			@Override
+			protected T compute() {
+				return foldImpl(expr, folder, parallel);
+			}
+		});
+	}
+
+	private record Parallel(int threshold, int chunks) {}
+
+	private static <T> T foldImpl(@NotNull ESExpr expr, @NotNull Folder<T> folder, @Nullable Parallel parallel) {
+		if(!(expr instanceof ESExpr.Constructor root)) {
+			return folder.fold(expr, List.of(), Map.of());
+		}
+
+		if(parallel != null && root.args().size() + root.kwargs().size() >= parallel.threshold()) {
+			return foldParallel(root, folder, parallel);
+		}
+
+		var stack = new ArrayDeque<FoldFrame>();
+		stack.push(new FoldFrame(root));
+		while(true) {
+			var frame = stack.peek();
+			if(frame.next < frame.size()) {
+				var child = frame.child(frame.next);
+				if(child instanceof ESExpr.Constructor c) {
+					if(parallel != null && c.args().size() + c.kwargs().size() >= parallel.threshold()) {
+						frame.results[frame.next++] = foldParallel(c, folder, parallel);
+					}
+					else {
+						stack.push(new FoldFrame(c));
+					}
+				}
+				else {
+					frame.results[frame.next++] = folder.fold(child, List.of(), Map.of());
+				}
+			}
+			else {
+				stack.pop();
+				T result = frame.complete(folder);
+				if(stack.isEmpty()) {
+					return result;
+				}
+
+				var parent = stack.peek();
+				parent.results[parent.next++] = result;
+			}
+		}
+	}
+
+	private static <T> T foldParallel(@NotNull ESExpr.Constructor expr, @NotNull Folder<T> folder, @NotNull Parallel parallel) {
+		var frame = new FoldFrame(expr);
+		int chunkSize = Math.max(1, frame.size() / parallel.chunks());
+		new FoldRangeTask<>(frame, folder, parallel, chunkSize, 0, frame.size()).invoke();
+		frame.next = frame.size();
+		return frame.complete(folder);
+	}
+
+	private static final class FoldRangeTask<T> extends RecursiveAction {
+		FoldRangeTask(@NotNull FoldFrame frame, @NotNull Folder<T> folder, @NotNull Parallel parallel, int chunkSize, int start, int end) {
+			this.frame = frame;
+			this.folder = folder;
+			this.parallel = parallel;
+			this.chunkSize = chunkSize;
+			this.start = start;
+			this.end = end;
+		}
+
+		private final @NotNull FoldFrame frame;
+		private final @NotNull Folder<T> folder;
+		private final @NotNull Parallel parallel;
+		private final int chunkSize;
+		private final int start;
+		private final int end;
+
+		@Override
+		protected void compute() {
+			if(end - start <= chunkSize) {
+				for(int i = start; i < end; ++i) {
+					frame.results[i] = foldImpl(frame.child(i), folder, parallel);
+				}
+			}
+			else {
+				int mid = (start + end) >>> 1;
+				invokeAll(
+					new FoldRangeTask<>(frame, folder, parallel, chunkSize, start, mid),
+					new FoldRangeTask<>(frame, folder, parallel, chunkSize, mid, end)
+				);
+			}
+		}
+	}
+
+	private static final class Frame {
+		Frame(@NotNull ESExpr expr) {
+			this.expr = expr;
+		}
+
+		final @NotNull ESExpr expr;
+		private int argIndex = 0;
+		private @Nullable Iterator<ESExpr> kwargValues = null;
+
+		@Nullable ESExpr nextChild() {
+			if(!(expr instanceof ESExpr.Constructor c)) {
+				return null;
+			}
+
+			if(argIndex < c.args().size()) {
+				return c.args().get(argIndex++);
+			}
+
+			if(kwargValues == null) {
+				kwargValues = c.kwargs().values().iterator();
+			}
+
+			return kwargValues.hasNext() ? kwargValues.next() : null;
+		}
+	}
+
+	private static final class TraversalIterator implements Iterator<ESExpr> {
+		TraversalIterator(@NotNull ESExpr root, boolean postOrder) {
+			this.postOrder = postOrder;
+			stack.push(new Frame(root));
+			if(postOrder) {
+				advance();
+			}
+			else {
+				next = root;
+			}
+		}
+
+		private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+		private final boolean postOrder;
+		private @Nullable ESExpr next;
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public ESExpr next() {
+			var result = next;
+			if(result == null) {
+				throw new NoSuchElementException();
+			}
+
+			advance();
+			return result;
+		}
+
+		private void advance() {
+			next = null;
+			while(!stack.isEmpty()) {
+				var frame = stack.peek();
+				var child = frame.nextChild();
+				if(child == null) {
+					stack.pop();
+					if(postOrder) {
+						next = frame.expr;
+						return;
+					}
+				}
+				else {
+					stack.push(new Frame(child));
+					if(!postOrder) {
+						next = child;
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	private static final class FoldFrame {
+		FoldFrame(@NotNull ESExpr.Constructor expr) {
+			this.expr = expr;
+			this.args = expr.args();
+
+			int kwargCount = expr.kwargs().size();
+			this.keywords = new String[kwargCount];
+			this.kwargValues = new ESExpr[kwargCount];
+			int i = 0;
+			for(var entry : expr.kwargs().entrySet()) {
+				keywords[i] = entry.getKey();
+				kwargValues[i] = entry.getValue();
+				++i;
+			}
+
+			this.results = new Object[args.size() + kwargCount];
+		}
+
+		private final @NotNull ESExpr.Constructor expr;
+		private final @NotNull List<ESExpr> args;
+		private final String @NotNull[] keywords;
+		private final ESExpr @NotNull[] kwargValues;
+		final Object[] results;
+		int next = 0;
+
+		int size() {
+			return results.length;
+		}
+
+		@NotNull ESExpr child(int index) {
+			if(index < args.size()) {
+				return args.get(index);
+			}
+
+			return kwargValues[index - args.size()];
+		}
+
+		@SuppressWarnings("unchecked")
+		<T> T complete(@NotNull Folder<T> folder) {
+			List<T> argResults = (List<T>)Collections.unmodifiableList(Arrays.asList(results).subList(0, args.size()));
+
+			Map<String, T> kwargResults;
+			if(keywords.length == 0) {
+				kwargResults = Map.of();
+			}
+			else {
+				var m = new LinkedHashMap<String, T>(keywords.length * 2);
+				for(int i = 0; i < keywords.length; ++i) {
+					m.put(keywords[i], (T)results[args.size() + i]);
+				}
+				kwargResults = Collections.unmodifiableMap(m);
+			}
+
+			return folder.fold(expr, argResults, kwargResults);
+		}
+	}
+}
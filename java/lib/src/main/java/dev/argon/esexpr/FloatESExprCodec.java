@@ -0,0 +1,24 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A codec for float values that does not box the value.
+ */
+public interface FloatESExprCodec {
+	/**
+	 * Encode a float value into an expression.
+	 * @param value The value.
+	 * @return The expression.
+	 */
+	@NotNull ESExpr encodeFloat(float value);
+
+	/**
+	 * Decode an expression into a float value.
+	 * @param expr The expression.
+	 * @param path The path of the current expression within the decoded object for diagnostic purposes.
+	 * @return The value.
+	 * @throws DecodeException when the value cannot be decoded.
+	 */
+	float decodeFloat(@NotNull ESExpr expr, @NotNull ESExprCodec.FailurePath path) throws DecodeException;
+}
@@ -8,7 +8,7 @@ import java.lang.annotation.Target;
 /**
  * Indicates that an enum case should be encoded as the value of its parameter.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface InlineValue {
 	
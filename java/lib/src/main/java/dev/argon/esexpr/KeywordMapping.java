@@ -3,9 +3,11 @@ package dev.argon.esexpr;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * A KeywordMapping is a Map with String keys.
@@ -22,10 +24,11 @@ public record KeywordMapping<T>(@NotNull Map<String, T> map) {
 	public static <T> ESExprCodec<KeywordMapping<T>> codec(ESExprCodec<T> tCodec) {
 		return new ESExprCodec<>() {
 			private static final String DICT_CONSTRUCTOR = "dict";
+			private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(new ESExprTag.Constructor(DICT_CONSTRUCTOR));
 
 			@Override
 			public @NotNull Set<@NotNull ESExprTag> tags() {
-				return Set.of(new ESExprTag.Constructor(DICT_CONSTRUCTOR));
+				return TAGS;
 			}
 
 			@Override
@@ -42,13 +45,18 @@ public record KeywordMapping<T>(@NotNull Map<String, T> map) {
 			public @NotNull KeywordMapping<T> decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
 				if(expr instanceof ESExpr.Constructor(var name, var args, var kwargs) && name.equals(DICT_CONSTRUCTOR)) {
 					if(!args.isEmpty()) {
-						throw new DecodeException("Invalid positional arguments for dict", path.withConstructor(name));
+						throw new DecodeException("Invalid positional arguments for dict", path.withConstructor(name), false);
 					}
 
-					return dictCodec(tCodec).decodeDict(kwargs, kw -> path.append(name, kw));
+					try {
+						return dictCodec(tCodec).decodeDict(kwargs, kw -> FailurePath.Current.INSTANCE.append(DICT_CONSTRUCTOR, kw));
+					}
+					catch(DecodeException e) {
+						throw e.prependPath(path);
+					}
 				}
 				else {
-					throw new DecodeException("Expected a dict constructor.", path);
+					throw new DecodeException("Expected a dict constructor.", path, false);
 				}
 			}
 		};
@@ -65,20 +73,35 @@ public record KeywordMapping<T>(@NotNull Map<String, T> map) {
 			@Override
 			public Map<String, ESExpr> encodeDict(KeywordMapping<T> value) {
 				Map<String, ESExpr> map = new HashMap<>();
-				for(var entry : value.map().entrySet()) {
-					map.put(entry.getKey(), tCodec.encode(entry.getValue()));
-				}
+				encodeDict(value, map::put);
 				return map;
 			}
 
 			@Override
 			public KeywordMapping<T> decodeDict(Map<String, ESExpr> exprs, @NotNull DictCodec.KeywordPathBuilder pathBuilder) throws DecodeException {
+				return decodeDict(exprs.entrySet().iterator(), pathBuilder);
+			}
+
+			@Override
+			public void encodeDict(KeywordMapping<T> value, @NotNull BiConsumer<? super String, ? super ESExpr> sink) {
+				for(var entry : value.map().entrySet()) {
+					sink.accept(entry.getKey(), tCodec.encode(entry.getValue()));
+				}
+			}
+
+			@Override
+			public KeywordMapping<T> decodeDict(@NotNull Iterator<? extends Map.Entry<String, ESExpr>> exprs, @NotNull DictCodec.KeywordPathBuilder pathBuilder) throws DecodeException {
 				Map<String, T> values = new HashMap<>();
-				int i = 0;
-				for(var entry : exprs.entrySet()) {
-					var value = tCodec.decode(entry.getValue(), pathBuilder.pathAt(entry.getKey()));
+				while(exprs.hasNext()) {
+					var entry = exprs.next();
+					T value;
+					try {
+						value = tCodec.decode(entry.getValue(), ESExprCodec.FailurePath.Current.INSTANCE);
+					}
+					catch(DecodeException e) {
+						throw e.prependPath(pathBuilder.pathAt(entry.getKey()));
+					}
 					values.put(entry.getKey(), value);
-					++i;
 				}
 				return new KeywordMapping<>(values);
 			}
@@ -8,7 +8,7 @@ import java.lang.annotation.Target;
 /**
  * Indicates that an argument is optional.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.RECORD_COMPONENT)
 public @interface OptionalValue {
 }
@@ -1,11 +1,15 @@
 package dev.argon.esexpr;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
 /**
  * A codec for optional values.
+ *
+ * Generated codecs call the nullable methods, which avoid allocating an {@link Optional} for each value.
+ * Their default implementations adapt the Optional methods, so implementations should override them as well.
  * @param <T> The type of the optional value.
  */
 public interface OptionalValueCodec<T> {
@@ -24,4 +28,24 @@ public interface OptionalValueCodec<T> {
 	 * @throws DecodeException when the value cannot be decoded.
 	 */
 	T decodeOptional(Optional<ESExpr> expr, @NotNull ESExprCodec.FailurePath path) throws DecodeException;
+
+	/**
+	 * Encode an optional value into an expression.
+	 * @param value The optional value.
+	 * @return The expression, or null if the value is absent.
+	 */
+	default @Nullable ESExpr encodeNullable(T value) {
+		return encodeOptional(value).orElse(null);
+	}
+
+	/**
+	 * Decode an expression into an optional value.
+	 * @param expr The expression, or null if it is absent.
+	 * @param path The path of the current value within the decoded object for diagnostic purposes.
+	 * @return The optional value.
+	 * @throws DecodeException when the value cannot be decoded.
+	 */
+	default T decodeNullable(@Nullable ESExpr expr, @NotNull ESExprCodec.FailurePath path) throws DecodeException {
+		return decodeOptional(Optional.ofNullable(expr), path);
+	}
 }
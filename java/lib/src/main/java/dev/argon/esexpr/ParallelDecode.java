@@ -0,0 +1,16 @@
+package dev.argon.esexpr;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates a list that is decoded in parallel when it has at least 4096 elements.
+ * This applies to list values and to lists of repeated arguments.
+ * Elements are decoded on the common fork/join pool, so the element codec must be thread safe.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE_USE)
+public @interface ParallelDecode {
+}
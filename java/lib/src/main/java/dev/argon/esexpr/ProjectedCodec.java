@@ -0,0 +1,131 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A codec that only decodes some of the fields of a record.
+ * Fields that are not selected are decoded as absent: null for references, zero for primitives,
+ * the default value for fields with a default, and empty for optional, vararg and dict fields.
+ * Encoding requires all fields to be present.
+ * @param <T> The type of the record.
+ */
+public abstract class ProjectedCodec<T> extends ESExprCodec<T> {
+	/**
+	 * Creates a projected codec.
+	 * @param constructor The constructor name of the record.
+	 * @param fields The fields of the record, in declaration order.
+	 * @param selectedFields The names of the selected fields.
+	 */
+	protected ProjectedCodec(@NotNull String constructor, @NotNull List<@NotNull Field> fields, @NotNull String @NotNull... selectedFields) {
+		selected = new boolean[fields.size()];
+
+		var positional = new HashSet<Integer>();
+		int restIndex = -1;
+		var keywords = new HashSet<String>();
+		boolean otherKeywords = false;
+
+		for(var name : selectedFields) {
+			int index = indexOf(fields, name);
+			if(index < 0) {
+				throw new IllegalArgumentException("Unknown field: " + name);
+			}
+			selected[index] = true;
+
+			var field = fields.get(index);
+			switch(field.kind()) {
+				case POSITIONAL -> positional.add(field.positionalIndex());
+				case VARARG -> restIndex = field.positionalIndex();
+				case KEYWORD -> keywords.add(field.keyword());
+				case DICT -> otherKeywords = true;
+			}
+		}
+
+		projection = new ESExprProjection(constructor, Set.copyOf(positional), restIndex, Set.copyOf(keywords), otherKeywords);
+	}
+
+	private final boolean @NotNull[] selected;
+	private final @NotNull ESExprProjection projection;
+
+	/**
+	 * The kind of a record field.
+	 */
+	public enum FieldKind {
+		/**
+		 * A required or optional positional argument.
+		 */
+		POSITIONAL,
+
+		/**
+		 * A vararg argument.
+		 */
+		VARARG,
+
+		/**
+		 * A keyword argument.
+		 */
+		KEYWORD,
+
+		/**
+		 * A dict argument.
+		 */
+		DICT,
+	}
+
+	/**
+	 * Describes how a record field is encoded.
+	 * @param name The name of the record component.
+	 * @param kind The kind of the field.
+	 * @param positionalIndex The index of the first positional argument of the field, or -1 for keyword and dict fields.
+	 * @param keyword The keyword name of a keyword field, or null.
+	 */
+	public record Field(@NotNull String name, @NotNull FieldKind kind, int positionalIndex, @Nullable String keyword) {}
+
+	private static int indexOf(@NotNull List<@NotNull Field> fields, @NotNull String name) {
+		for(int i = 0; i < fields.size(); ++i) {
+			if(fields.get(i).name().equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Checks whether a field is selected.
+	 * @param fieldIndex The index of the field in declaration order.
+	 * @return true if the field is decoded.
+	 */
+	protected final boolean isSelected(int fieldIndex) {
+		return selected[fieldIndex];
+	}
+
+	/**
+	 * Gets the arguments that must be read to decode the selected fields.
+	 * @return The projection.
+	 */
+	public final @NotNull ESExprProjection projection() {
+		return projection;
+	}
+
+	/**
+	 * Reads and decodes the next value from binary input, skipping the arguments of fields that are not selected.
+	 * @param reader The reader.
+	 * @return The decoded value, or null if at the end of the stream.
+	 * @throws IOException when an error occurs in the underlying stream.
+	 * @throws SyntaxException when an expression cannot be read.
+	 * @throws DecodeException when the value cannot be decoded.
+	 */
+	public final @Nullable T read(@NotNull ESExprBinaryReader reader) throws IOException, SyntaxException, DecodeException {
+		var expr = reader.read(projection);
+		if(expr == null) {
+			return null;
+		}
+
+		return decode(expr);
+	}
+}
@@ -1,8 +1,8 @@
 package dev.argon.esexpr;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import dev.argon.esexpr.codecs.StringCodec;
@@ -23,10 +23,11 @@ public record StringTable(@NotNull List<@NotNull String> values) {
 	}
 
 	private static final ESExprCodec<StringTable> CODEC = new ESExprCodec<StringTable>() {
+		private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(new ESExprTag.Constructor(BinToken.StringTableName));
 
 		@Override
 		public @NotNull Set<@NotNull ESExprTag> tags() {
-			return Set.of(new ESExprTag.Constructor(BinToken.StringTableName));
+			return TAGS;
 		}
 
 		@Override
@@ -34,7 +35,7 @@ public record StringTable(@NotNull List<@NotNull String> values) {
 			return new ESExpr.Constructor(
 				BinToken.StringTableName,
 				value.values.stream().map(StringCodec.INSTANCE::encode).toList(),
-				new HashMap<>()
+				Map.of()
 			);
 		}
 
@@ -42,21 +43,26 @@ public record StringTable(@NotNull List<@NotNull String> values) {
 		public @NotNull StringTable decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
 			if(expr instanceof ESExpr.Constructor(var name, var args, var kwargs) && name.equals(BinToken.StringTableName)) {
 				if(!kwargs.isEmpty()) {
-					throw new DecodeException("Unexpected keyword arguments for string table", path.withConstructor(BinToken.StringTableName));
+					throw new DecodeException("Unexpected keyword arguments for string table", path.withConstructor(BinToken.StringTableName), false);
 				}
 
 				var values = new ArrayList<String>(args.size());
 				int i = 0;
 
 				for(var arg : args) {
-					values.add(StringCodec.INSTANCE.decode(arg, path.append(BinToken.StringTableName, i)));
+					try {
+						values.add(StringCodec.INSTANCE.decode(arg, FailurePath.Current.INSTANCE));
+					}
+					catch(DecodeException e) {
+						throw e.prependPath(path.append(BinToken.StringTableName, i));
+					}
 					++i;
 				}
 
 				return new StringTable(values);
 			}
 			else {
-				throw new DecodeException("Expected a string-table constructor", path);
+				throw new DecodeException("Expected a string-table constructor", path, false);
 			}
 		}
 
@@ -0,0 +1,28 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+	The cases of the symbols of one string table for each SymbolDispatch that was used with it.
+	Dispatches are usually static fields of codecs, so a table only binds a few of them.
+ */
+final class SymbolCases {
+	SymbolCases(@NotNull List<@NotNull String> symbolTable) {
+		this.symbolTable = symbolTable;
+	}
+
+	private final @NotNull List<@NotNull String> symbolTable;
+	private final ConcurrentHashMap<SymbolDispatch, int[]> cases = new ConcurrentHashMap<>();
+
+	int caseOf(@NotNull SymbolDispatch dispatch, int symbol) {
+		var dispatchCases = cases.get(dispatch);
+		if(dispatchCases == null) {
+			dispatchCases = cases.computeIfAbsent(dispatch, d -> d.bind(symbolTable));
+		}
+
+		return symbol >= 0 && symbol < dispatchCases.length ? dispatchCases[symbol] : -1;
+	}
+}
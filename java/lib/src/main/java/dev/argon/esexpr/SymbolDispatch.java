@@ -0,0 +1,52 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps constructor names to case indexes, so that values can be dispatched with an int switch.
+ *
+ * Arena documents and binary readers store names as symbols, which are indexes into a string table.
+ * Each document or reader maps the symbols of its table to the cases of a dispatch once and keeps the mapping,
+ * so {@link ESExprArena.Node#constructorCase(SymbolDispatch)} and {@link ESExprBinaryReader#peekConstructorCase(SymbolDispatch)}
+ * are array lookups.
+ */
+public final class SymbolDispatch {
+	/**
+	 * Creates a dispatch table.
+	 * @param names The constructor names. The case index of each name is its position.
+	 */
+	public SymbolDispatch(@NotNull String @NotNull... names) {
+		var caseIndexes = new HashMap<String, Integer>();
+		for(int i = 0; i < names.length; ++i) {
+			if(caseIndexes.putIfAbsent(names[i], i) != null) {
+				throw new IllegalArgumentException("Duplicate constructor name: " + names[i]);
+			}
+		}
+		this.caseIndexes = Map.copyOf(caseIndexes);
+	}
+
+	private final @NotNull Map<@NotNull String, @NotNull Integer> caseIndexes;
+
+	/**
+	 * Gets the case of a constructor name.
+	 * @param name The constructor name.
+	 * @return The case index, or -1 if the name is not a case.
+	 */
+	public int caseOf(@NotNull String name) {
+		Integer index = caseIndexes.get(name);
+		return index == null ? -1 : index;
+	}
+
+	// Maps each symbol of a string table to its case.
+	int @NotNull[] bind(@NotNull List<@NotNull String> symbolTable) {
+		var cases = new int[symbolTable.size()];
+		for(int i = 0; i < cases.length; ++i) {
+			cases[i] = caseOf(symbolTable.get(i));
+		}
+		return cases;
+	}
+}
@@ -8,7 +8,7 @@ import java.lang.annotation.Target;
 /**
  * Indicates a value that is encoded as an unsigned value.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE_USE)
 public @interface Unsigned {
 	
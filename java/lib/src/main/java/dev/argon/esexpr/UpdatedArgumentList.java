@@ -0,0 +1,91 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/*
+	An immutable view of a list of arguments with a single element replaced.
+	Used for persistent updates so that the underlying list is shared rather than copied.
+	Once the chain of views grows past MAX_DEPTH, it is flattened into a new list.
+	The hash code is derived from the hash code of the base list rather than recomputed from every element.
+ */
+final class UpdatedArgumentList extends AbstractList<ESExpr> implements RandomAccess {
+	private UpdatedArgumentList(@NotNull List<@NotNull ESExpr> base, int index, @NotNull ESExpr value, int depth) {
+		this.base = base;
+		this.index = index;
+		this.value = value;
+		this.depth = depth;
+	}
+
+	private static final int MAX_DEPTH = 8;
+
+	private final @NotNull List<@NotNull ESExpr> base;
+	private final int index;
+	private final @NotNull ESExpr value;
+	private final int depth;
+	private int hash;
+	private boolean hashIsZero;
+
+	static @NotNull List<@NotNull ESExpr> set(@NotNull List<@NotNull ESExpr> base, int index, @NotNull ESExpr value) {
+		Objects.checkIndex(index, base.size());
+		Objects.requireNonNull(value);
+
+		int depth = base instanceof UpdatedArgumentList updated ? updated.depth + 1 : 1;
+		var list = new UpdatedArgumentList(base, index, value, depth);
+		if(depth > MAX_DEPTH) {
+			return ArgumentList.copyOf(list);
+		}
+
+		return list;
+	}
+
+	@Override
+	public ESExpr get(int i) {
+		if(i == index) {
+			return value;
+		}
+
+		return base.get(i);
+	}
+
+	@Override
+	public int size() {
+		return base.size();
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if(h == 0 && !hashIsZero) {
+			// List hash codes are polynomial in 31, so replacing one element changes the hash by
+			// (new - old) * 31^(number of elements after the index).
+			int diff = value.hashCode() - base.get(index).hashCode();
+			h = base.hashCode() + diff * pow31(base.size() - 1 - index);
+
+			if(h == 0) {
+				hashIsZero = true;
+			}
+			else {
+				hash = h;
+			}
+		}
+		return h;
+	}
+
+	private static int pow31(int n) {
+		int result = 1;
+		int b = 31;
+		while(n > 0) {
+			if((n & 1) != 0) {
+				result *= b;
+			}
+			b *= b;
+			n >>>= 1;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,186 @@
+package dev.argon.esexpr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/*
+	An immutable view of keyword arguments with a single keyword added, replaced or removed.
+	Used for persistent updates so that the underlying map is shared rather than copied.
+	Once the chain of views grows past MAX_DEPTH, it is flattened into a CompactKeywordMap.
+	The hash code is derived from the hash code of the base map rather than recomputed from every entry.
+ */
+final class UpdatedKeywordMap extends AbstractMap<String, ESExpr> {
+	private UpdatedKeywordMap(@NotNull Map<@NotNull String, @NotNull ESExpr> base, @NotNull String key, @Nullable ESExpr value, int depth) {
+		this.base = base;
+		this.key = key;
+		this.value = value;
+		this.depth = depth;
+		this.baseHasKey = base.containsKey(key);
+
+		int size = base.size();
+		if(baseHasKey && value == null) {
+			--size;
+		}
+		else if(!baseHasKey && value != null) {
+			++size;
+		}
+		this.size = size;
+	}
+
+	private static final int MAX_DEPTH = 8;
+
+	private final @NotNull Map<@NotNull String, @NotNull ESExpr> base;
+	private final @NotNull String key;
+	private final @Nullable ESExpr value;
+	private final int depth;
+	private final boolean baseHasKey;
+	private final int size;
+	private int hash;
+	private boolean hashIsZero;
+
+	static @NotNull Map<@NotNull String, @NotNull ESExpr> put(@NotNull Map<@NotNull String, @NotNull ESExpr> base, @NotNull String key, @NotNull ESExpr value) {
+		return update(base, Objects.requireNonNull(key), Objects.requireNonNull(value));
+	}
+
+	static @NotNull Map<@NotNull String, @NotNull ESExpr> remove(@NotNull Map<@NotNull String, @NotNull ESExpr> base, @NotNull String key) {
+		if(!base.containsKey(key)) {
+			return base;
+		}
+
+		return update(base, key, null);
+	}
+
+	private static @NotNull Map<@NotNull String, @NotNull ESExpr> update(@NotNull Map<@NotNull String, @NotNull ESExpr> base, @NotNull String key, @Nullable ESExpr value) {
+		int depth = base instanceof UpdatedKeywordMap updated ? updated.depth + 1 : 1;
+		var map = new UpdatedKeywordMap(base, key, value, depth);
+		if(depth > MAX_DEPTH) {
+			return CompactKeywordMap.copyOf(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object k) {
+		if(key.equals(k)) {
+			return value != null;
+		}
+
+		return base.containsKey(k);
+	}
+
+	@Override
+	public ESExpr get(Object k) {
+		if(key.equals(k)) {
+			return value;
+		}
+
+		return base.get(k);
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if(h == 0 && !hashIsZero) {
+			// Map hash codes are the sum of the entry hash codes.
+			h = base.hashCode();
+			if(baseHasKey) {
+				h -= key.hashCode() ^ base.get(key).hashCode();
+			}
+			if(value != null) {
+				h += key.hashCode() ^ value.hashCode();
+			}
+
+			if(h == 0) {
+				hashIsZero = true;
+			}
+			else {
+				hash = h;
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super String, ? super ESExpr> action) {
+		base.forEach((k, v) -> {
+			if(!key.equals(k)) {
+				action.accept(k, v);
+			}
+			else if(value != null) {
+				action.accept(k, value);
+			}
+		});
+
+		if(!baseHasKey && value != null) {
+			action.accept(key, value);
+		}
+	}
+
+	@Override
+	public @NotNull Set<Entry<String, ESExpr>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public @NotNull Iterator<Entry<String, ESExpr>> iterator() {
+				return new Iterator<>() {
+					private final Iterator<Entry<String, ESExpr>> baseIterator = base.entrySet().iterator();
+					private boolean addedKeyReturned = baseHasKey || value == null;
+					private @Nullable Entry<String, ESExpr> nextEntry = advance();
+
+					private @Nullable Entry<String, ESExpr> advance() {
+						while(baseIterator.hasNext()) {
+							var entry = baseIterator.next();
+							if(!key.equals(entry.getKey())) {
+								return entry;
+							}
+							else if(value != null) {
+								return Map.entry(key, value);
+							}
+						}
+
+						if(!addedKeyReturned) {
+							addedKeyReturned = true;
+							return Map.entry(key, Objects.requireNonNull(value));
+						}
+
+						return null;
+					}
+
+					@Override
+					public boolean hasNext() {
+						return nextEntry != null;
+					}
+
+					@Override
+					public Entry<String, ESExpr> next() {
+						var entry = nextEntry;
+						if(entry == null) {
+							throw new NoSuchElementException();
+						}
+
+						nextEntry = advance();
+						return entry;
+					}
+				};
+			}
+		};
+	}
+}
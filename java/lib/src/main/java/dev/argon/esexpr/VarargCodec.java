@@ -2,10 +2,16 @@ package dev.argon.esexpr;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A codec for variable argument values.
+ *
+ * Generated codecs encode through the sink-based method, which avoids building an intermediate list.
+ * The default sink and iterator methods adapt the list methods, so implementations should override them as well.
  * @param <T> The type of the variable argument value.
  */
 public interface VarargCodec<T> {
@@ -16,15 +22,39 @@ public interface VarargCodec<T> {
 	 */
 	List<ESExpr> encodeVararg(T value);
 
+	/**
+	 * Encode a variable argument value, passing each expression to a sink.
+	 * @param value The variable argument value.
+	 * @param sink Receives the expressions in order.
+	 */
+	default void encodeVararg(T value, @NotNull Consumer<? super ESExpr> sink) {
+		encodeVararg(value).forEach(sink);
+	}
+
 	/**
 	 * Decode a list of expressions into a variable argument value.
 	 * @param exprs The expressions.
 	 * @param pathBuilder A path builder of the current expressions within the decoded object for diagnostic purposes.
+	 *                    Paths only need to be built when decoding fails.
 	 * @return The variable argument value.
 	 * @throws DecodeException when the value cannot be decoded.
 	 */
 	T decodeVararg(List<ESExpr> exprs, @NotNull PositionalPathBuilder pathBuilder) throws DecodeException;
 
+	/**
+	 * Decode a sequence of expressions into a variable argument value.
+	 * @param exprs The expressions.
+	 * @param pathBuilder A path builder of the current expressions within the decoded object for diagnostic purposes.
+	 *                    Paths only need to be built when decoding fails.
+	 * @return The variable argument value.
+	 * @throws DecodeException when the value cannot be decoded.
+	 */
+	default T decodeVararg(@NotNull Iterator<ESExpr> exprs, @NotNull PositionalPathBuilder pathBuilder) throws DecodeException {
+		List<ESExpr> list = new ArrayList<>();
+		exprs.forEachRemaining(list::add);
+		return decodeVararg(list, pathBuilder);
+	}
+
 	/**
 	 * Builds paths for elements of a variable argument.
 	 */
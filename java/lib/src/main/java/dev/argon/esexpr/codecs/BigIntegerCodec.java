@@ -18,9 +18,11 @@ public class BigIntegerCodec extends ESExprCodec<BigInteger> {
 	@ESExprOverrideCodec(value = BigInteger.class, excludedAnnotations = Unsigned.class)
 	public static final ESExprCodec<BigInteger> INSTANCE = new BigIntegerCodec();
 
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Int.INSTANCE);
+
 	@Override
 	public final @NotNull Set<@NotNull ESExprTag> tags() {
-		return Set.of(new ESExprTag.Int());
+		return TAGS;
 	}
 
 	@Override
@@ -30,11 +32,21 @@ public class BigIntegerCodec extends ESExprCodec<BigInteger> {
 
 	@Override
 	public final @NotNull BigInteger decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
-		if(expr instanceof ESExpr.Int(var i)) {
-			return i;
+		if(expr instanceof ESExpr.Int i) {
+			return i.n();
+		}
+		else {
+			throw new DecodeException("Expected an integer value", path, false);
+		}
+	}
+
+	@Override
+	public final @NotNull DecodeResult<BigInteger> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		if(expr instanceof ESExpr.Int i) {
+			return new DecodeResult.Success<>(i.n());
 		}
 		else {
-			throw new DecodeException("Expected an integer value", path);
+			return new DecodeResult.Failure<>(new DecodeException("Expected an integer value", path, false));
 		}
 	}
 }
@@ -19,9 +19,11 @@ public class BinaryESExprCodec extends ESExprCodec<byte[]> {
 	public static final ESExprCodec<byte[]> INSTANCE = new BinaryESExprCodec();
 
 
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Binary.INSTANCE);
+
 	@Override
 	public @NotNull Set<@NotNull ESExprTag> tags() {
-		return Set.of(new ESExprTag.Binary());
+		return TAGS;
 	}
 
 	@Override
@@ -35,7 +37,17 @@ public class BinaryESExprCodec extends ESExprCodec<byte[]> {
 			return b;
 		}
 		else {
-			throw new DecodeException("Expected a binary value", path);
+			throw new DecodeException("Expected a binary value", path, false);
+		}
+	}
+
+	@Override
+	public @NotNull DecodeResult<byte[]> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		if(expr instanceof ESExpr.Binary(var b)) {
+			return new DecodeResult.Success<>(b);
+		}
+		else {
+			return new DecodeResult.Failure<>(new DecodeException("Expected a binary value", path, false));
 		}
 	}
 }
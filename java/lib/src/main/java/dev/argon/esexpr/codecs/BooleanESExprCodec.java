@@ -8,7 +8,7 @@ import java.util.Set;
 /**
  * A codec for boolean values.
  */
-public class BooleanESExprCodec extends ESExprCodec<Boolean> {
+public class BooleanESExprCodec extends ESExprCodec<Boolean> implements BoolESExprCodec {
 	private BooleanESExprCodec() {}
 
 	/**
@@ -16,25 +16,53 @@ public class BooleanESExprCodec extends ESExprCodec<Boolean> {
 	 */
 	@ESExprOverrideCodec(boolean.class)
 	@ESExprOverrideCodec(Boolean.class)
-	public static final ESExprCodec<Boolean> INSTANCE = new BooleanESExprCodec();
+	public static final BooleanESExprCodec PRIMITIVE_INSTANCE = new BooleanESExprCodec();
+
+	/**
+	 * A codec for boolean values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Boolean> INSTANCE = PRIMITIVE_INSTANCE;
+
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Bool.INSTANCE);
 
 	@Override
 	public @NotNull Set<@NotNull ESExprTag> tags() {
-		return Set.of(new ESExprTag.Bool());
+		return TAGS;
 	}
 
 	@Override
 	public @NotNull ESExpr encode(@NotNull Boolean value) {
-		return new ESExpr.Bool(value);
+		return encodeBool(value);
+	}
+
+	@Override
+	public @NotNull Boolean decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return decodeBool(expr, path);
+	}
+
+	@Override
+	public @NotNull ESExpr encodeBool(boolean value) {
+		return ESExpr.Bool.of(value);
 	}
 
 	@Override
-	public @NotNull Boolean decode(@NotNull ESExpr expr, @NotNull ESExprCodec.FailurePath path) throws DecodeException {
+	public boolean decodeBool(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
 		if(expr instanceof ESExpr.Bool(var b)) {
 			return b;
 		}
 		else {
-			throw new DecodeException("Expected a boolean value", path);
+			throw new DecodeException("Expected a boolean value", path, false);
+		}
+	}
+
+	@Override
+	public @NotNull DecodeResult<Boolean> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		if(expr instanceof ESExpr.Bool(var b)) {
+			return new DecodeResult.Success<>(b);
+		}
+		else {
+			return new DecodeResult.Failure<>(new DecodeException("Expected a boolean value", path, false));
 		}
 	}
 }
@@ -0,0 +1,41 @@
+package dev.argon.esexpr.codecs;
+
+import dev.argon.esexpr.ESExprOverrideCodec;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A codec for double arrays.
+ */
+public class DoubleArrayCodec extends PackedArrayCodecBase<double[]> {
+	private DoubleArrayCodec() {
+		super(Double.BYTES);
+	}
+
+	/**
+	 * A codec for double arrays.
+	 */
+	@ESExprOverrideCodec(double[].class)
+	public static final DoubleArrayCodec INSTANCE = new DoubleArrayCodec();
+
+	@Override
+	int length(double @NotNull[] value) {
+		return value.length;
+	}
+
+	@Override
+	double @NotNull[] allocate(int length) {
+		return new double[length];
+	}
+
+	@Override
+	void put(@NotNull ByteBuffer buffer, double @NotNull[] value) {
+		buffer.asDoubleBuffer().put(value);
+	}
+
+	@Override
+	void get(@NotNull ByteBuffer buffer, double @NotNull[] value) {
+		buffer.asDoubleBuffer().get(value);
+	}
+}
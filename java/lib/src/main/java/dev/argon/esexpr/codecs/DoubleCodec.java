@@ -8,7 +8,7 @@ import java.util.Set;
 /**
  * A codec for double values.
  */
-public class DoubleCodec extends ESExprCodec<Double> {
+public class DoubleCodec extends ESExprCodec<Double> implements DoubleESExprCodec {
 	private DoubleCodec() {}
 
 	/**
@@ -16,25 +16,53 @@ public class DoubleCodec extends ESExprCodec<Double> {
 	 */
 	@ESExprOverrideCodec(double.class)
 	@ESExprOverrideCodec(Double.class)
-	public static final ESExprCodec<Double> INSTANCE = new DoubleCodec();
+	public static final DoubleCodec PRIMITIVE_INSTANCE = new DoubleCodec();
+
+	/**
+	 * A codec for double values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Double> INSTANCE = PRIMITIVE_INSTANCE;
+
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Float64.INSTANCE);
 
 	@Override
 	public @NotNull Set<@NotNull ESExprTag> tags() {
-		return Set.of(new ESExprTag.Float64());
+		return TAGS;
 	}
 
 	@Override
 	public @NotNull ESExpr encode(@NotNull Double value) {
-		return new ESExpr.Float64(value);
+		return encodeDouble(value);
 	}
 
 	@Override
 	public @NotNull Double decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return decodeDouble(expr, path);
+	}
+
+	@Override
+	public @NotNull ESExpr encodeDouble(double value) {
+		return new ESExpr.Float64(value);
+	}
+
+	@Override
+	public double decodeDouble(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
 		if(expr instanceof ESExpr.Float64(var d)) {
 			return d;
 		}
 		else {
-			throw new DecodeException("Expected a double value", path);
+			throw new DecodeException("Expected a double value", path, false);
+		}
+	}
+
+	@Override
+	public @NotNull DecodeResult<Double> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		if(expr instanceof ESExpr.Float64(var d)) {
+			return new DecodeResult.Success<>(d);
+		}
+		else {
+			return new DecodeResult.Failure<>(new DecodeException("Expected a double value", path, false));
 		}
 	}
 }
@@ -0,0 +1,41 @@
+package dev.argon.esexpr.codecs;
+
+import dev.argon.esexpr.ESExprOverrideCodec;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A codec for float arrays.
+ */
+public class FloatArrayCodec extends PackedArrayCodecBase<float[]> {
+	private FloatArrayCodec() {
+		super(Float.BYTES);
+	}
+
+	/**
+	 * A codec for float arrays.
+	 */
+	@ESExprOverrideCodec(float[].class)
+	public static final FloatArrayCodec INSTANCE = new FloatArrayCodec();
+
+	@Override
+	int length(float @NotNull[] value) {
+		return value.length;
+	}
+
+	@Override
+	float @NotNull[] allocate(int length) {
+		return new float[length];
+	}
+
+	@Override
+	void put(@NotNull ByteBuffer buffer, float @NotNull[] value) {
+		buffer.asFloatBuffer().put(value);
+	}
+
+	@Override
+	void get(@NotNull ByteBuffer buffer, float @NotNull[] value) {
+		buffer.asFloatBuffer().get(value);
+	}
+}
@@ -8,7 +8,7 @@ import java.util.Set;
 /**
  * A codec for float values.
  */
-public class FloatCodec extends ESExprCodec<Float> {
+public class FloatCodec extends ESExprCodec<Float> implements FloatESExprCodec {
 	private FloatCodec() {}
 
 	/**
@@ -16,25 +16,53 @@ public class FloatCodec extends ESExprCodec<Float> {
 	 */
 	@ESExprOverrideCodec(float.class)
 	@ESExprOverrideCodec(Float.class)
-	public static final ESExprCodec<Float> INSTANCE = new FloatCodec();
+	public static final FloatCodec PRIMITIVE_INSTANCE = new FloatCodec();
+
+	/**
+	 * A codec for float values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Float> INSTANCE = PRIMITIVE_INSTANCE;
+
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Float32.INSTANCE);
 
 	@Override
 	public @NotNull Set<@NotNull ESExprTag> tags() {
-		return Set.of(new ESExprTag.Float32());
+		return TAGS;
 	}
 
 	@Override
 	public @NotNull ESExpr encode(@NotNull Float value) {
-		return new ESExpr.Float32(value);
+		return encodeFloat(value);
 	}
 
 	@Override
 	public @NotNull Float decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return decodeFloat(expr, path);
+	}
+
+	@Override
+	public @NotNull ESExpr encodeFloat(float value) {
+		return new ESExpr.Float32(value);
+	}
+
+	@Override
+	public float decodeFloat(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
 		if(expr instanceof ESExpr.Float32(var f)) {
 			return f;
 		}
 		else {
-			throw new DecodeException("Expected a float value", path);
+			throw new DecodeException("Expected a float value", path, false);
+		}
+	}
+
+	@Override
+	public @NotNull DecodeResult<Float> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		if(expr instanceof ESExpr.Float32(var f)) {
+			return new DecodeResult.Success<>(f);
+		}
+		else {
+			return new DecodeResult.Failure<>(new DecodeException("Expected a float value", path, false));
 		}
 	}
 }
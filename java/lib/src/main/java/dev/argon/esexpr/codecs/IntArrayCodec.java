@@ -0,0 +1,41 @@
+package dev.argon.esexpr.codecs;
+
+import dev.argon.esexpr.ESExprOverrideCodec;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A codec for int arrays.
+ */
+public class IntArrayCodec extends PackedArrayCodecBase<int[]> {
+	private IntArrayCodec() {
+		super(Integer.BYTES);
+	}
+
+	/**
+	 * A codec for int arrays.
+	 */
+	@ESExprOverrideCodec(int[].class)
+	public static final IntArrayCodec INSTANCE = new IntArrayCodec();
+
+	@Override
+	int length(int @NotNull[] value) {
+		return value.length;
+	}
+
+	@Override
+	int @NotNull[] allocate(int length) {
+		return new int[length];
+	}
+
+	@Override
+	void put(@NotNull ByteBuffer buffer, int @NotNull[] value) {
+		buffer.asIntBuffer().put(value);
+	}
+
+	@Override
+	void get(@NotNull ByteBuffer buffer, int @NotNull[] value) {
+		buffer.asIntBuffer().get(value);
+	}
+}
@@ -1,9 +1,9 @@
 package dev.argon.esexpr.codecs;
 
-import java.math.BigInteger;
 import java.util.Set;
 
 import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.DecodeResult;
 import dev.argon.esexpr.ESExpr;
 import dev.argon.esexpr.ESExprCodec;
 import dev.argon.esexpr.ESExprTag;
@@ -14,38 +14,77 @@ import org.jetbrains.annotations.NotNull;
  * @param <T> The integer type.
  */
 public abstract class IntCodecBase<T> extends ESExprCodec<T> {
-	IntCodecBase(BigInteger min, BigInteger max) {
+	IntCodecBase(long min, long max) {
 		this.min = min;
 		this.max = max;
 	}
 
-	private final BigInteger min;
-	private final BigInteger max;
+	private final long min;
+	private final long max;
+
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Int.INSTANCE);
 
 	@Override
 	public final @NotNull Set<@NotNull ESExprTag> tags() {
-		return Set.of(new ESExprTag.Int());
+		return TAGS;
 	}
 
 	@Override
 	public final @NotNull ESExpr encode(@NotNull T value) {
-		return new ESExpr.Int(toBigInt(value));
+		return encodeRaw(toLong(value));
 	}
 
 	@Override
 	public final @NotNull T decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
-		if(expr instanceof ESExpr.Int(var i)) {
-			if(i.compareTo(min) < 0 || i.compareTo(max) > 0) {
-				throw new DecodeException("Integer value out of range", path);
+		return fromLong(decodeRaw(expr, path));
+	}
+
+	@Override
+	public final @NotNull DecodeResult<T> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		if(expr instanceof ESExpr.Int intExpr) {
+			if(!intExpr.fitsInLong()) {
+				// Values outside of the long range are only valid for some codecs, which decide in decodeOutsideLongRange.
+				return super.decodeResult(expr, path);
+			}
+
+			long i = intExpr.longValueExact();
+			if(i < min || i > max) {
+				return new DecodeResult.Failure<>(new DecodeException("Integer value out of range", path, false));
 			}
 
-			return fromBigInt(i);
+			return new DecodeResult.Success<>(fromLong(i));
 		}
 		else {
-			throw new DecodeException("Expected an integer value", path);
+			return new DecodeResult.Failure<>(new DecodeException("Expected an integer value", path, false));
 		}
 	}
 
-	abstract @NotNull T fromBigInt(@NotNull BigInteger value);
-	abstract @NotNull BigInteger toBigInt(@NotNull T value);
+	final long decodeRaw(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		if(expr instanceof ESExpr.Int intExpr) {
+			if(!intExpr.fitsInLong()) {
+				return decodeOutsideLongRange(intExpr, path);
+			}
+
+			long i = intExpr.longValueExact();
+			if(i < min || i > max) {
+				throw new DecodeException("Integer value out of range", path, false);
+			}
+
+			return i;
+		}
+		else {
+			throw new DecodeException("Expected an integer value", path, false);
+		}
+	}
+
+	@NotNull ESExpr encodeRaw(long value) {
+		return new ESExpr.Int(value);
+	}
+
+	long decodeOutsideLongRange(@NotNull ESExpr.Int expr, @NotNull FailurePath path) throws DecodeException {
+		throw new DecodeException("Integer value out of range", path, false);
+	}
+
+	abstract @NotNull T fromLong(long value);
+	abstract long toLong(@NotNull T value);
 }
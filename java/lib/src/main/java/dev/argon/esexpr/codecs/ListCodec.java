@@ -4,15 +4,15 @@ import dev.argon.esexpr.*;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * A codec for list values.
  * @param <T> The type of the list elements.
  */
-@ESExprOverrideCodec(List.class)
+@ESExprOverrideCodec(value = List.class, excludedAnnotations = { Packed.class, ParallelDecode.class })
 public class ListCodec<T> extends ESExprCodec<List<T>> {
 
 	/**
@@ -21,38 +21,104 @@ public class ListCodec<T> extends ESExprCodec<List<T>> {
 	 */
 	public ListCodec(ESExprCodec<T> itemCodec) {
 		this.itemCodec = itemCodec;
+		this.parallelThreshold = Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Create a codec for list values that decodes large lists in parallel.
+	 * Elements are decoded on the common fork/join pool, so the item codec must be thread safe.
+	 * @param itemCodec The underlying codec for the values.
+	 * @param parallelThreshold The minimum number of elements for a list to be decoded in parallel.
+	 */
+	public ListCodec(ESExprCodec<T> itemCodec, int parallelThreshold) {
+		ParallelDecoder.checkThreshold(parallelThreshold);
+		this.itemCodec = itemCodec;
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Create a codec for list values annotated with {@link ParallelDecode}.
+	 * @param itemCodec The underlying codec for the values.
+	 * @return The codec.
+	 * @param <T> The type of the list elements.
+	 */
+	@ESExprOverrideCodec(value = List.class, requiredAnnotations = ParallelDecode.class, excludedAnnotations = Packed.class)
+	public static <T> @NotNull ListCodec<T> parallelCodec(ESExprCodec<T> itemCodec) {
+		return new ListCodec<>(itemCodec, ParallelDecoder.DEFAULT_THRESHOLD);
 	}
 
 	private final ESExprCodec<T> itemCodec;
+	private final int parallelThreshold;
+
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(new ESExprTag.Constructor("list"));
 
 	@Override
 	public @NotNull Set<@NotNull ESExprTag> tags() {
-		return Set.of(new ESExprTag.Constructor("list"));
+		return TAGS;
 	}
 
 	@Override
 	public @NotNull ESExpr encode(@NotNull List<T> value) {
-		return new ESExpr.Constructor("list", value.stream().map(itemCodec::encode).toList(), new HashMap<>());
+		return new ESExpr.Constructor("list", value.stream().map(itemCodec::encode).toList(), Map.of());
 	}
 
 	@Override
 	public @NotNull List<T> decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
 		if(expr instanceof ESExpr.Constructor(var name, var args, var kwargs) && name.equals("list")) {
 			if(!kwargs.isEmpty()) {
-				throw new DecodeException("Unexpected keyword arguments for list.", path.withConstructor("list"));
+				throw new DecodeException("Unexpected keyword arguments for list.", path.withConstructor("list"), false);
+			}
+
+			if(args.size() >= parallelThreshold) {
+				return ParallelDecoder.decodeAll(itemCodec, args, i -> path.append("list", i));
 			}
 
 			List<T> res = new ArrayList<T>(args.size());
 			int i = 0;
 			for(ESExpr item : args) {
-				res.add(itemCodec.decode(item, path.append("list", i)));
+				try {
+					res.add(itemCodec.decode(item, FailurePath.Current.INSTANCE));
+				}
+				catch(DecodeException e) {
+					throw e.prependPath(path.append("list", i));
+				}
 
 				++i;
 			}
 			return res;
 		}
 		else {
-			throw new DecodeException("Expected a list constructor", path);
+			throw new DecodeException("Expected a list constructor", path, false);
+		}
+	}
+
+	@Override
+	public @NotNull DecodeResult<List<T>> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		if(expr instanceof ESExpr.Constructor(var name, var args, var kwargs) && name.equals("list")) {
+			if(!kwargs.isEmpty()) {
+				return new DecodeResult.Failure<>(new DecodeException("Unexpected keyword arguments for list.", path.withConstructor("list"), false));
+			}
+
+			if(args.size() >= parallelThreshold) {
+				return super.decodeResult(expr, path);
+			}
+
+			List<T> res = new ArrayList<T>(args.size());
+			int i = 0;
+			for(ESExpr item : args) {
+				switch(itemCodec.decodeResult(item, FailurePath.Current.INSTANCE)) {
+					case DecodeResult.Success<T>(var value) -> res.add(value);
+					case DecodeResult.Failure<T>(var error) -> {
+						return new DecodeResult.Failure<>(error.prependPath(path.append("list", i)));
+					}
+				}
+
+				++i;
+			}
+			return new DecodeResult.Success<>(res);
+		}
+		else {
+			return new DecodeResult.Failure<>(new DecodeException("Expected a list constructor", path, false));
 		}
 	}
 }
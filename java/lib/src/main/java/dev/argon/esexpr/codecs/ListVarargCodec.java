@@ -4,14 +4,16 @@ import dev.argon.esexpr.*;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A VarArgCodec for List values.
  *
  * @param <T> The element type.
  */
-@ESExprOverrideCodec(value = List.class, codecType = ESExprOverrideCodec.CodecType.VARARG)
+@ESExprOverrideCodec(value = List.class, codecType = ESExprOverrideCodec.CodecType.VARARG, excludedAnnotations = ParallelDecode.class)
 public class ListVarargCodec<T> implements VarargCodec<List<T>> {
 	/**
 	 * Creates a VarArgCodec for List values.
@@ -20,21 +22,90 @@ public class ListVarargCodec<T> implements VarargCodec<List<T>> {
 	 */
 	public ListVarargCodec(ESExprCodec<T> elementCodec) {
 		this.elementCodec = elementCodec;
+		this.parallelThreshold = Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Creates a VarArgCodec for List values that decodes large argument lists in parallel.
+	 * Elements are decoded on the common fork/join pool, so the element codec must be thread safe.
+	 *
+	 * @param elementCodec A value codec for the element type.
+	 * @param parallelThreshold The minimum number of arguments for the values to be decoded in parallel.
+	 */
+	public ListVarargCodec(ESExprCodec<T> elementCodec, int parallelThreshold) {
+		ParallelDecoder.checkThreshold(parallelThreshold);
+		this.elementCodec = elementCodec;
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Creates a VarArgCodec for List values annotated with {@link ParallelDecode}.
+	 *
+	 * @param elementCodec A value codec for the element type.
+	 * @return The codec.
+	 * @param <T> The element type.
+	 */
+	@ESExprOverrideCodec(value = List.class, codecType = ESExprOverrideCodec.CodecType.VARARG, requiredAnnotations = ParallelDecode.class)
+	public static <T> @NotNull ListVarargCodec<T> parallelCodec(ESExprCodec<T> elementCodec) {
+		return new ListVarargCodec<>(elementCodec, ParallelDecoder.DEFAULT_THRESHOLD);
 	}
 
 	private final ESExprCodec<T> elementCodec;
+	private final int parallelThreshold;
 
 	@Override
 	public List<ESExpr> encodeVararg(List<T> value) {
 		return value.stream().map(elementCodec::encode).toList();
 	}
 
+	@Override
+	public void encodeVararg(List<T> value, @NotNull Consumer<? super ESExpr> sink) {
+		for(var item : value) {
+			sink.accept(elementCodec.encode(item));
+		}
+	}
+
 	@Override
 	public List<T> decodeVararg(List<ESExpr> exprs, @NotNull PositionalPathBuilder pathBuilder) throws DecodeException {
+		if(exprs.size() >= parallelThreshold) {
+			return ParallelDecoder.decodeAll(elementCodec, exprs, pathBuilder);
+		}
+
 		List<T> values = new ArrayList<>(exprs.size());
 		int i = 0;
 		for(var expr : exprs) {
-			var value = elementCodec.decode(expr, pathBuilder.pathAt(i));
+			T value;
+			try {
+				value = elementCodec.decode(expr, ESExprCodec.FailurePath.Current.INSTANCE);
+			}
+			catch(DecodeException e) {
+				throw e.prependPath(pathBuilder.pathAt(i));
+			}
+			values.add(value);
+			++i;
+		}
+		return values;
+	}
+
+	@Override
+	public List<T> decodeVararg(@NotNull Iterator<ESExpr> exprs, @NotNull PositionalPathBuilder pathBuilder) throws DecodeException {
+		// The number of arguments is not known in advance, so they are collected before deciding whether to split them.
+		if(parallelThreshold < Integer.MAX_VALUE) {
+			var exprList = new ArrayList<ESExpr>();
+			exprs.forEachRemaining(exprList::add);
+			return decodeVararg(exprList, pathBuilder);
+		}
+
+		List<T> values = new ArrayList<>();
+		int i = 0;
+		while(exprs.hasNext()) {
+			T value;
+			try {
+				value = elementCodec.decode(exprs.next(), ESExprCodec.FailurePath.Current.INSTANCE);
+			}
+			catch(DecodeException e) {
+				throw e.prependPath(pathBuilder.pathAt(i));
+			}
 			values.add(value);
 			++i;
 		}
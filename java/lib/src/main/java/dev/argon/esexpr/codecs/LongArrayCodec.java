@@ -0,0 +1,41 @@
+package dev.argon.esexpr.codecs;
+
+import dev.argon.esexpr.ESExprOverrideCodec;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A codec for long arrays.
+ */
+public class LongArrayCodec extends PackedArrayCodecBase<long[]> {
+	private LongArrayCodec() {
+		super(Long.BYTES);
+	}
+
+	/**
+	 * A codec for long arrays.
+	 */
+	@ESExprOverrideCodec(long[].class)
+	public static final LongArrayCodec INSTANCE = new LongArrayCodec();
+
+	@Override
+	int length(long @NotNull[] value) {
+		return value.length;
+	}
+
+	@Override
+	long @NotNull[] allocate(int length) {
+		return new long[length];
+	}
+
+	@Override
+	void put(@NotNull ByteBuffer buffer, long @NotNull[] value) {
+		buffer.asLongBuffer().put(value);
+	}
+
+	@Override
+	void get(@NotNull ByteBuffer buffer, long @NotNull[] value) {
+		buffer.asLongBuffer().get(value);
+	}
+}
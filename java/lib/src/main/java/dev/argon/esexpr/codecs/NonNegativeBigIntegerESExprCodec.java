@@ -19,9 +19,11 @@ public class NonNegativeBigIntegerESExprCodec extends ESExprCodec<BigInteger> {
 	public static final ESExprCodec<BigInteger> INSTANCE = new NonNegativeBigIntegerESExprCodec();
 
 
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Int.INSTANCE);
+
 	@Override
 	public final @NotNull Set<@NotNull ESExprTag> tags() {
-		return Set.of(new ESExprTag.Int());
+		return TAGS;
 	}
 
 	@Override
@@ -31,15 +33,31 @@ public class NonNegativeBigIntegerESExprCodec extends ESExprCodec<BigInteger> {
 
 	@Override
 	public final @NotNull BigInteger decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
-		if(expr instanceof ESExpr.Int(var i)) {
-			if(i.compareTo(BigInteger.ZERO) < 0) {
-				throw new DecodeException("Integer value out of range", path);
+		if(expr instanceof ESExpr.Int intExpr) {
+			var i = intExpr.n();
+			if(i.signum() < 0) {
+				throw new DecodeException("Integer value out of range", path, false);
 			}
 
 			return i;
 		}
 		else {
-			throw new DecodeException("Expected an integer value", path);
+			throw new DecodeException("Expected an integer value", path, false);
+		}
+	}
+
+	@Override
+	public final @NotNull DecodeResult<BigInteger> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		if(expr instanceof ESExpr.Int intExpr) {
+			var i = intExpr.n();
+			if(i.signum() < 0) {
+				return new DecodeResult.Failure<>(new DecodeException("Integer value out of range", path, false));
+			}
+
+			return new DecodeResult.Success<>(i);
+		}
+		else {
+			return new DecodeResult.Failure<>(new DecodeException("Expected an integer value", path, false));
 		}
 	}
 }
@@ -23,26 +23,41 @@ public class OptionalCodec<T> extends ESExprCodec<Optional<T>> {
 	}
 
 	private final ESExprCodec<T> itemCodec;
+	private Set<@NotNull ESExprTag> tags = null;
 
 	@Override
 	public @NotNull Set<@NotNull ESExprTag> tags() {
-		var tags = new HashSet<ESExprTag>();
-		tags.add(new ESExprTag.Null());
-		tags.addAll(itemCodec.tags());
+		var tags = this.tags;
+		if(tags == null) {
+			var builder = new HashSet<ESExprTag>();
+			builder.add(ESExprTag.Null.INSTANCE);
+			builder.addAll(itemCodec.tags());
+			tags = Set.copyOf(builder);
+			this.tags = tags;
+		}
 		return tags;
 	}
 
+	// Null levels almost always fit in an int, so the shared instances from ESExpr.Null.of are used
+	// and BigInteger arithmetic is only needed for very deeply nested optionals.
 	@Override
 	public @NotNull ESExpr encode(@NotNull Optional<T> value) {
-		return value.map(x -> {
-			var res = itemCodec.encode(x);
-			if(res instanceof ESExpr.Null(var level)) {
-				return new ESExpr.Null(level.add(BigInteger.ONE));
+		if(value.isEmpty()) {
+			return ESExpr.Null.of(0);
+		}
+
+		var res = itemCodec.encode(value.get());
+		if(res instanceof ESExpr.Null(var level)) {
+			if(level.bitLength() < Integer.SIZE - 1) {
+				return ESExpr.Null.of(level.intValue() + 1);
 			}
 			else {
-				return res;
+				return new ESExpr.Null(level.add(BigInteger.ONE));
 			}
-		}).orElseGet(() -> new ESExpr.Null(BigInteger.ZERO));
+		}
+		else {
+			return res;
+		}
 	}
 
 	@Override
@@ -51,12 +66,39 @@ public class OptionalCodec<T> extends ESExprCodec<Optional<T>> {
 			if(level.signum() == 0) {
 				return Optional.empty();
 			}
+			else if(level.bitLength() < Integer.SIZE) {
+				return Optional.of(itemCodec.decode(ESExpr.Null.of(level.intValue() - 1), path));
+			}
+			else {
+				return Optional.of(itemCodec.decode(new ESExpr.Null(level.subtract(BigInteger.ONE)), path));
+			}
+		}
+		else {
+			return Optional.of(itemCodec.decode(expr, path));
+		}
+	}
+
+	@Override
+	public @NotNull DecodeResult<Optional<T>> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		DecodeResult<T> itemResult;
+		if(expr instanceof ESExpr.Null(var level)) {
+			if(level.signum() == 0) {
+				return new DecodeResult.Success<>(Optional.empty());
+			}
+			else if(level.bitLength() < Integer.SIZE) {
+				itemResult = itemCodec.decodeResult(ESExpr.Null.of(level.intValue() - 1), path);
+			}
 			else {
-				return Optional.of(itemCodec.decode(new ESExpr.Null(level.subtract(BigInteger.ONE))));
+				itemResult = itemCodec.decodeResult(new ESExpr.Null(level.subtract(BigInteger.ONE)), path);
 			}
 		}
 		else {
-			return Optional.of(itemCodec.decode(expr));
+			itemResult = itemCodec.decodeResult(expr, path);
 		}
+
+		return switch(itemResult) {
+			case DecodeResult.Success<T>(var value) -> new DecodeResult.Success<>(Optional.of(value));
+			case DecodeResult.Failure<T>(var error) -> new DecodeResult.Failure<>(error);
+		};
 	}
 }
@@ -2,6 +2,7 @@ package dev.argon.esexpr.codecs;
 
 import dev.argon.esexpr.*;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
@@ -30,12 +31,25 @@ public class OptionalOptionalValueCodec<T> implements OptionalValueCodec<Optiona
 
 	@Override
 	public Optional<T> decodeOptional(Optional<ESExpr> expr, @NotNull ESExprCodec.FailurePath path) throws DecodeException {
-		var expr2 = expr.orElse(null);
-		if(expr2 == null) {
+		return decodeNullable(expr.orElse(null), path);
+	}
+
+	@Override
+	public @Nullable ESExpr encodeNullable(Optional<T> value) {
+		if(value.isEmpty()) {
+			return null;
+		}
+
+		return elementCodec.encode(value.get());
+	}
+
+	@Override
+	public Optional<T> decodeNullable(@Nullable ESExpr expr, @NotNull ESExprCodec.FailurePath path) throws DecodeException {
+		if(expr == null) {
 			return Optional.empty();
 		}
 
-		var value = elementCodec.decode(expr2, path);
+		var value = elementCodec.decode(expr, path);
 		return Optional.of(value);
 	}
 }
@@ -0,0 +1,58 @@
+package dev.argon.esexpr.codecs;
+
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
+import dev.argon.esexpr.ESExprCodec;
+import dev.argon.esexpr.ESExprTag;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Set;
+
+/**
+ * Base type for codecs that encode primitive arrays as packed little-endian binary values.
+ * @param <T> The array type.
+ */
+public abstract class PackedArrayCodecBase<T> extends ESExprCodec<T> {
+	PackedArrayCodecBase(int elementSize) {
+		this.elementSize = elementSize;
+	}
+
+	private final int elementSize;
+
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Binary.INSTANCE);
+
+	@Override
+	public final @NotNull Set<@NotNull ESExprTag> tags() {
+		return TAGS;
+	}
+
+	@Override
+	public final @NotNull ESExpr encode(@NotNull T value) {
+		var b = new byte[Math.multiplyExact(length(value), elementSize)];
+		put(ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN), value);
+		return new ESExpr.Binary(b);
+	}
+
+	@Override
+	public final @NotNull T decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		if(expr instanceof ESExpr.Binary(var b)) {
+			if(b.length % elementSize != 0) {
+				throw new DecodeException("Binary length is not a multiple of the element size", path, false);
+			}
+
+			var value = allocate(b.length / elementSize);
+			get(ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN), value);
+			return value;
+		}
+		else {
+			throw new DecodeException("Expected a binary value", path, false);
+		}
+	}
+
+	abstract int length(@NotNull T value);
+	abstract @NotNull T allocate(int length);
+	abstract void put(@NotNull ByteBuffer buffer, @NotNull T value);
+	abstract void get(@NotNull ByteBuffer buffer, @NotNull T value);
+}
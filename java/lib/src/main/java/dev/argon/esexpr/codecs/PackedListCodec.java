@@ -0,0 +1,136 @@
+package dev.argon.esexpr.codecs;
+
+import dev.argon.esexpr.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * A codec for lists of primitive values that are encoded as packed little-endian binary values.
+ * Decoded lists are immutable views over a primitive array.
+ * @param <T> The type of the list elements.
+ */
+@ESExprOverrideCodec(value = List.class, requiredAnnotations = Packed.class)
+public class PackedListCodec<T> extends ESExprCodec<List<T>> {
+
+	/**
+	 * Create a codec for packed list values.
+	 * @param itemCodec The codec for the values. Must implement IntESExprCodec, LongESExprCodec, FloatESExprCodec, or DoubleESExprCodec.
+	 */
+	public PackedListCodec(ESExprCodec<T> itemCodec) {
+		if(itemCodec instanceof IntESExprCodec) {
+			elementType = ElementType.INT;
+		}
+		else if(itemCodec instanceof LongESExprCodec) {
+			elementType = ElementType.LONG;
+		}
+		else if(itemCodec instanceof FloatESExprCodec) {
+			elementType = ElementType.FLOAT;
+		}
+		else if(itemCodec instanceof DoubleESExprCodec) {
+			elementType = ElementType.DOUBLE;
+		}
+		else {
+			throw new IllegalArgumentException("Packed lists require an int, long, float, or double element codec");
+		}
+	}
+
+	private enum ElementType {
+		INT,
+		LONG,
+		FLOAT,
+		DOUBLE,
+	}
+
+	private final @NotNull ElementType elementType;
+
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Binary.INSTANCE);
+
+	@Override
+	public @NotNull Set<@NotNull ESExprTag> tags() {
+		return TAGS;
+	}
+
+	@Override
+	public @NotNull ESExpr encode(@NotNull List<T> value) {
+		int size = value.size();
+		return switch(elementType) {
+			case INT -> {
+				var a = new int[size];
+				for(int i = 0; i < size; ++i) {
+					a[i] = (Integer)value.get(i);
+				}
+				yield IntArrayCodec.INSTANCE.encode(a);
+			}
+			case LONG -> {
+				var a = new long[size];
+				for(int i = 0; i < size; ++i) {
+					a[i] = (Long)value.get(i);
+				}
+				yield LongArrayCodec.INSTANCE.encode(a);
+			}
+			case FLOAT -> {
+				var a = new float[size];
+				for(int i = 0; i < size; ++i) {
+					a[i] = (Float)value.get(i);
+				}
+				yield FloatArrayCodec.INSTANCE.encode(a);
+			}
+			case DOUBLE -> {
+				var a = new double[size];
+				for(int i = 0; i < size; ++i) {
+					a[i] = (Double)value.get(i);
+				}
+				yield DoubleArrayCodec.INSTANCE.encode(a);
+			}
+		};
+	}
+
+	@Override
+	public @NotNull List<T> decode(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return switch(elementType) {
+			case INT -> {
+				var a = IntArrayCodec.INSTANCE.decode(expr, path);
+				yield new PrimitiveListView<>(a.length, i -> a[i]);
+			}
+			case LONG -> {
+				var a = LongArrayCodec.INSTANCE.decode(expr, path);
+				yield new PrimitiveListView<>(a.length, i -> a[i]);
+			}
+			case FLOAT -> {
+				var a = FloatArrayCodec.INSTANCE.decode(expr, path);
+				yield new PrimitiveListView<>(a.length, i -> a[i]);
+			}
+			case DOUBLE -> {
+				var a = DoubleArrayCodec.INSTANCE.decode(expr, path);
+				yield new PrimitiveListView<>(a.length, i -> a[i]);
+			}
+		};
+	}
+
+	private static final class PrimitiveListView<T> extends AbstractList<T> implements RandomAccess {
+		@SuppressWarnings("unchecked")
+		PrimitiveListView(int size, @NotNull IntFunction<?> get) {
+			this.size = size;
+			this.get = (IntFunction<T>)get;
+		}
+
+		private final int size;
+		private final @NotNull IntFunction<T> get;
+
+		@Override
+		public T get(int index) {
+			return get.apply(Objects.checkIndex(index, size));
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package dev.argon.esexpr.codecs;
+
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
+import dev.argon.esexpr.ESExprCodec;
+import dev.argon.esexpr.VarargCodec;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Decodes the elements of large lists on the common fork/join pool.
+// The argument list is split in halves until each task is small enough to decode sequentially.
+// When several elements fail, the failure with the lowest index is reported, matching sequential decoding.
+final class ParallelDecoder {
+	private ParallelDecoder() {}
+
+	// The threshold used for types annotated with @ParallelDecode.
+	static final int DEFAULT_THRESHOLD = 4096;
+
+	static void checkThreshold(int parallelThreshold) {
+		if(parallelThreshold < 1) {
+			throw new IllegalArgumentException("Parallel threshold must be positive: " + parallelThreshold);
+		}
+	}
+
+	static <T> @NotNull List<T> decodeAll(@NotNull ESExprCodec<T> codec, @NotNull List<@NotNull ESExpr> exprs, @NotNull VarargCodec.PositionalPathBuilder pathBuilder) throws DecodeException {
+		if(!(exprs instanceof RandomAccess)) {
+			exprs = new ArrayList<>(exprs);
+		}
+
+		int leafSize = Math.max(1, exprs.size() / (ForkJoinPool.getCommonPoolParallelism() * 4));
+		var values = new Object[exprs.size()];
+		var error = new DecodeTask<>(codec, exprs, pathBuilder, values, leafSize, 0, exprs.size()).invoke();
+		if(error != null) {
+			throw error;
+		}
+
+		@SuppressWarnings("unchecked")
+		var result = (List<T>)new ArrayList<>(Arrays.asList(values));
+		return result;
+	}
+
+	private static final class DecodeTask<T> extends RecursiveTask<DecodeException> {
+		DecodeTask(
+			@NotNull ESExprCodec<T> codec,
+			@NotNull List<@NotNull ESExpr> exprs,
+			@NotNull VarargCodec.PositionalPathBuilder pathBuilder,
+			@Nullable Object @NotNull[] values,
+			int leafSize,
+			int start,
+			int end
+		) {
+			this.codec = codec;
+			this.exprs = exprs;
+			this.pathBuilder = pathBuilder;
+			this.values = values;
+			this.leafSize = leafSize;
+			this.start = start;
+			this.end = end;
+		}
+
+		private final @NotNull ESExprCodec<T> codec;
+		private final @NotNull List<@NotNull ESExpr> exprs;
+		private final @NotNull VarargCodec.PositionalPathBuilder pathBuilder;
+		private final @Nullable Object @NotNull[] values;
+		private final int leafSize;
+		private final int start;
+		private final int end;
+
+		@Override
+		protected @Nullable DecodeException compute() {
+			if(end - start <= leafSize) {
+				for(int i = start; i < end; ++i) {
+					try {
+						values[i] = codec.decode(exprs.get(i), ESExprCodec.FailurePath.Current.INSTANCE);
+					}
+					catch(DecodeException e) {
+						return e.prependPath(pathBuilder.pathAt(i));
+					}
+				}
+				return null;
+			}
+
+			int mid = (start + end) >>> 1;
+			var left = new DecodeTask<>(codec, exprs, pathBuilder, values, leafSize, start, mid);
+			left.fork();
+			var rightError = new DecodeTask<>(codec, exprs, pathBuilder, values, leafSize, mid, end).compute();
+			var leftError = left.join();
+			return leftError != null ? leftError : rightError;
+		}
+	}
+}
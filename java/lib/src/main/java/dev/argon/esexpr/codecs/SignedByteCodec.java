@@ -1,18 +1,19 @@
 package dev.argon.esexpr.codecs;
 
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
 import dev.argon.esexpr.ESExprCodec;
 import dev.argon.esexpr.ESExprOverrideCodec;
+import dev.argon.esexpr.ByteESExprCodec;
 import dev.argon.esexpr.Unsigned;
 import org.jetbrains.annotations.NotNull;
 
-import java.math.BigInteger;
-
 /**
  * A codec for signed byte values.
  */
-public class SignedByteCodec extends IntCodecBase<Byte> {
+public class SignedByteCodec extends IntCodecBase<Byte> implements ByteESExprCodec {
 	private SignedByteCodec() {
-		super(BigInteger.valueOf(Byte.MIN_VALUE), BigInteger.valueOf(Byte.MAX_VALUE));
+		super(Byte.MIN_VALUE, Byte.MAX_VALUE);
 	}
 
 	/**
@@ -20,16 +21,32 @@ public class SignedByteCodec extends IntCodecBase<Byte> {
 	 */
 	@ESExprOverrideCodec(value = byte.class, excludedAnnotations = Unsigned.class)
 	@ESExprOverrideCodec(value = Byte.class, excludedAnnotations = Unsigned.class)
-	public static final ESExprCodec<Byte> INSTANCE = new SignedByteCodec();
+	public static final SignedByteCodec PRIMITIVE_INSTANCE = new SignedByteCodec();
+
+	/**
+	 * A codec for signed byte values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Byte> INSTANCE = PRIMITIVE_INSTANCE;
+
 
+	@Override
+	protected @NotNull Byte fromLong(long value) {
+		return (byte)value;
+	}
+
+	@Override
+	protected long toLong(@NotNull Byte value) {
+		return value;
+	}
 
 	@Override
-	protected @NotNull Byte fromBigInt(@NotNull BigInteger value) {
-		return value.byteValue();
+	public @NotNull ESExpr encodeByte(byte value) {
+		return encodeRaw(value);
 	}
 
 	@Override
-	protected @NotNull BigInteger toBigInt(@NotNull Byte value) {
-		return BigInteger.valueOf(value);
+	public byte decodeByte(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return (byte)decodeRaw(expr, path);
 	}
 }
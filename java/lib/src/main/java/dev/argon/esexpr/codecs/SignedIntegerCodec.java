@@ -1,18 +1,19 @@
 package dev.argon.esexpr.codecs;
 
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
 import dev.argon.esexpr.ESExprCodec;
 import dev.argon.esexpr.ESExprOverrideCodec;
+import dev.argon.esexpr.IntESExprCodec;
 import dev.argon.esexpr.Unsigned;
 import org.jetbrains.annotations.NotNull;
 
-import java.math.BigInteger;
-
 /**
  * A codec for signed int values.
  */
-public class SignedIntegerCodec extends IntCodecBase<Integer> {
+public class SignedIntegerCodec extends IntCodecBase<Integer> implements IntESExprCodec {
 	private SignedIntegerCodec() {
-		super(BigInteger.valueOf(Integer.MIN_VALUE), BigInteger.valueOf(Integer.MAX_VALUE));
+		super(Integer.MIN_VALUE, Integer.MAX_VALUE);
 	}
 
 
@@ -21,16 +22,32 @@ public class SignedIntegerCodec extends IntCodecBase<Integer> {
 	 */
 	@ESExprOverrideCodec(value = int.class, excludedAnnotations = Unsigned.class)
 	@ESExprOverrideCodec(value = Integer.class, excludedAnnotations = Unsigned.class)
-	public static final ESExprCodec<Integer> INSTANCE = new SignedIntegerCodec();
+	public static final SignedIntegerCodec PRIMITIVE_INSTANCE = new SignedIntegerCodec();
+
+	/**
+	 * A codec for signed int values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Integer> INSTANCE = PRIMITIVE_INSTANCE;
+
 
+	@Override
+	protected @NotNull Integer fromLong(long value) {
+		return (int)value;
+	}
+
+	@Override
+	protected long toLong(@NotNull Integer value) {
+		return value;
+	}
 
 	@Override
-	protected @NotNull Integer fromBigInt(@NotNull BigInteger value) {
-		return value.intValue();
+	public @NotNull ESExpr encodeInt(int value) {
+		return encodeRaw(value);
 	}
 
 	@Override
-	protected @NotNull BigInteger toBigInt(@NotNull Integer value) {
-		return BigInteger.valueOf(value);
+	public int decodeInt(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return (int)decodeRaw(expr, path);
 	}
 }
@@ -1,18 +1,19 @@
 package dev.argon.esexpr.codecs;
 
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
 import dev.argon.esexpr.ESExprCodec;
 import dev.argon.esexpr.ESExprOverrideCodec;
+import dev.argon.esexpr.LongESExprCodec;
 import dev.argon.esexpr.Unsigned;
 import org.jetbrains.annotations.NotNull;
 
-import java.math.BigInteger;
-
 /**
  * A codec for signed long values.
  */
-public class SignedLongCodec extends IntCodecBase<Long> {
+public class SignedLongCodec extends IntCodecBase<Long> implements LongESExprCodec {
 	private SignedLongCodec() {
-		super(BigInteger.valueOf(Long.MIN_VALUE), BigInteger.valueOf(Long.MAX_VALUE));
+		super(Long.MIN_VALUE, Long.MAX_VALUE);
 	}
 
 	/**
@@ -20,15 +21,31 @@ public class SignedLongCodec extends IntCodecBase<Long> {
 	 */
 	@ESExprOverrideCodec(value = long.class, excludedAnnotations = Unsigned.class)
 	@ESExprOverrideCodec(value = Long.class, excludedAnnotations = Unsigned.class)
-	public static final ESExprCodec<Long> INSTANCE = new SignedLongCodec();
+	public static final SignedLongCodec PRIMITIVE_INSTANCE = new SignedLongCodec();
+
+	/**
+	 * A codec for signed long values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Long> INSTANCE = PRIMITIVE_INSTANCE;
+
+	@Override
+	protected @NotNull Long fromLong(long value) {
+		return value;
+	}
+
+	@Override
+	protected long toLong(@NotNull Long value) {
+		return value;
+	}
 
 	@Override
-	protected @NotNull Long fromBigInt(@NotNull BigInteger value) {
-		return value.longValue();
+	public @NotNull ESExpr encodeLong(long value) {
+		return encodeRaw(value);
 	}
 
 	@Override
-	protected @NotNull BigInteger toBigInt(@NotNull Long value) {
-		return BigInteger.valueOf(value);
+	public long decodeLong(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return decodeRaw(expr, path);
 	}
 }
@@ -1,18 +1,19 @@
 package dev.argon.esexpr.codecs;
 
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
 import dev.argon.esexpr.ESExprCodec;
 import dev.argon.esexpr.ESExprOverrideCodec;
+import dev.argon.esexpr.ShortESExprCodec;
 import dev.argon.esexpr.Unsigned;
 import org.jetbrains.annotations.NotNull;
 
-import java.math.BigInteger;
-
 /**
  * A codec for signed short values.
  */
-public class SignedShortCodec extends IntCodecBase<Short> {
+public class SignedShortCodec extends IntCodecBase<Short> implements ShortESExprCodec {
 	private SignedShortCodec() {
-		super(BigInteger.valueOf(Short.MIN_VALUE), BigInteger.valueOf(Short.MAX_VALUE));
+		super(Short.MIN_VALUE, Short.MAX_VALUE);
 	}
 
 	/**
@@ -20,15 +21,31 @@ public class SignedShortCodec extends IntCodecBase<Short> {
 	 */
 	@ESExprOverrideCodec(value = short.class, excludedAnnotations = Unsigned.class)
 	@ESExprOverrideCodec(value = Short.class, excludedAnnotations = Unsigned.class)
-	public static final ESExprCodec<Short> INSTANCE = new SignedShortCodec();
+	public static final SignedShortCodec PRIMITIVE_INSTANCE = new SignedShortCodec();
+
+	/**
+	 * A codec for signed short values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Short> INSTANCE = PRIMITIVE_INSTANCE;
+
+	@Override
+	protected @NotNull Short fromLong(long value) {
+		return (short)value;
+	}
+
+	@Override
+	protected long toLong(@NotNull Short value) {
+		return value;
+	}
 
 	@Override
-	protected @NotNull Short fromBigInt(@NotNull BigInteger value) {
-		return value.shortValue();
+	public @NotNull ESExpr encodeShort(short value) {
+		return encodeRaw(value);
 	}
 
 	@Override
-	protected @NotNull BigInteger toBigInt(@NotNull Short value) {
-		return BigInteger.valueOf(value);
+	public short decodeShort(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return (short)decodeRaw(expr, path);
 	}
 }
@@ -17,9 +17,11 @@ public class StringCodec extends ESExprCodec<String> {
 	@ESExprOverrideCodec(String.class)
 	public static final ESExprCodec<String> INSTANCE = new StringCodec();
 
+	private static final @NotNull Set<@NotNull ESExprTag> TAGS = Set.of(ESExprTag.Str.INSTANCE);
+
 	@Override
 	public @NotNull Set<@NotNull ESExprTag> tags() {
-		return Set.of(new ESExprTag.Str());
+		return TAGS;
 	}
 
 	@Override
@@ -33,7 +35,17 @@ public class StringCodec extends ESExprCodec<String> {
 			return s;
 		}
 		else {
-			throw new DecodeException("Expected a string value", path);
+			throw new DecodeException("Expected a string value", path, false);
+		}
+	}
+
+	@Override
+	public @NotNull DecodeResult<String> decodeResult(@NotNull ESExpr expr, @NotNull FailurePath path) {
+		if(expr instanceof ESExpr.Str(var s)) {
+			return new DecodeResult.Success<>(s);
+		}
+		else {
+			return new DecodeResult.Failure<>(new DecodeException("Expected a string value", path, false));
 		}
 	}
 }
@@ -1,18 +1,19 @@
 package dev.argon.esexpr.codecs;
 
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
 import dev.argon.esexpr.ESExprCodec;
 import dev.argon.esexpr.ESExprOverrideCodec;
+import dev.argon.esexpr.ByteESExprCodec;
 import dev.argon.esexpr.Unsigned;
 import org.jetbrains.annotations.NotNull;
 
-import java.math.BigInteger;
-
 /**
  * A codec for unsigned byte values.
  */
-public class UnsignedByteCodec extends IntCodecBase<Byte> {
+public class UnsignedByteCodec extends IntCodecBase<Byte> implements ByteESExprCodec {
 	private UnsignedByteCodec() {
-		super(BigInteger.ZERO, BigInteger.valueOf(0xFF));
+		super(0, 0xFF);
 	}
 
 	/**
@@ -20,16 +21,32 @@ public class UnsignedByteCodec extends IntCodecBase<Byte> {
 	 */
 	@ESExprOverrideCodec(value = byte.class, requiredAnnotations = Unsigned.class)
 	@ESExprOverrideCodec(value = Byte.class, requiredAnnotations = Unsigned.class)
-	public static final ESExprCodec<Byte> INSTANCE = new UnsignedByteCodec();
+	public static final UnsignedByteCodec PRIMITIVE_INSTANCE = new UnsignedByteCodec();
+
+	/**
+	 * A codec for unsigned byte values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Byte> INSTANCE = PRIMITIVE_INSTANCE;
+
 
+	@Override
+	protected @NotNull Byte fromLong(long value) {
+		return (byte)value;
+	}
+
+	@Override
+	protected long toLong(@NotNull Byte value) {
+		return Byte.toUnsignedLong(value);
+	}
 
 	@Override
-	protected @NotNull Byte fromBigInt(@NotNull BigInteger value) {
-		return value.byteValue();
+	public @NotNull ESExpr encodeByte(byte value) {
+		return encodeRaw(Byte.toUnsignedLong(value));
 	}
 
 	@Override
-	protected @NotNull BigInteger toBigInt(@NotNull Byte value) {
-		return BigInteger.valueOf(Byte.toUnsignedLong(value));
+	public byte decodeByte(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return (byte)decodeRaw(expr, path);
 	}
 }
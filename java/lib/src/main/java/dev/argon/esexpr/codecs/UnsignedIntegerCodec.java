@@ -1,18 +1,19 @@
 package dev.argon.esexpr.codecs;
 
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
 import dev.argon.esexpr.ESExprCodec;
 import dev.argon.esexpr.ESExprOverrideCodec;
+import dev.argon.esexpr.IntESExprCodec;
 import dev.argon.esexpr.Unsigned;
 import org.jetbrains.annotations.NotNull;
 
-import java.math.BigInteger;
-
 /**
  * A codec for unsigned int values.
  */
-public class UnsignedIntegerCodec extends IntCodecBase<Integer> {
+public class UnsignedIntegerCodec extends IntCodecBase<Integer> implements IntESExprCodec {
 	private UnsignedIntegerCodec() {
-		super(BigInteger.ZERO, BigInteger.valueOf(0xFFFFFFFFL));
+		super(0, 0xFFFFFFFFL);
 	}
 
 	/**
@@ -20,15 +21,31 @@ public class UnsignedIntegerCodec extends IntCodecBase<Integer> {
 	 */
 	@ESExprOverrideCodec(value = int.class, requiredAnnotations = Unsigned.class)
 	@ESExprOverrideCodec(value = Integer.class, requiredAnnotations = Unsigned.class)
-	public static final ESExprCodec<Integer> INSTANCE = new UnsignedIntegerCodec();
+	public static final UnsignedIntegerCodec PRIMITIVE_INSTANCE = new UnsignedIntegerCodec();
+
+	/**
+	 * A codec for unsigned byte values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Integer> INSTANCE = PRIMITIVE_INSTANCE;
+
+	@Override
+	protected @NotNull Integer fromLong(long value) {
+		return (int)value;
+	}
+
+	@Override
+	protected long toLong(@NotNull Integer value) {
+		return Integer.toUnsignedLong(value);
+	}
 
 	@Override
-	protected @NotNull Integer fromBigInt(@NotNull BigInteger value) {
-		return value.intValue();
+	public @NotNull ESExpr encodeInt(int value) {
+		return encodeRaw(Integer.toUnsignedLong(value));
 	}
 
 	@Override
-	protected @NotNull BigInteger toBigInt(@NotNull Integer value) {
-		return BigInteger.valueOf(Integer.toUnsignedLong(value));
+	public int decodeInt(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return (int)decodeRaw(expr, path);
 	}
 }
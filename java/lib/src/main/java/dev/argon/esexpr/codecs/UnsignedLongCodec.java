@@ -1,7 +1,10 @@
 package dev.argon.esexpr.codecs;
 
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
 import dev.argon.esexpr.ESExprCodec;
 import dev.argon.esexpr.ESExprOverrideCodec;
+import dev.argon.esexpr.LongESExprCodec;
 import dev.argon.esexpr.Unsigned;
 import org.jetbrains.annotations.NotNull;
 
@@ -10,9 +13,9 @@ import java.math.BigInteger;
 /**
  * A codec for unsigned long values.
  */
-public class UnsignedLongCodec extends IntCodecBase<Long> {
+public class UnsignedLongCodec extends IntCodecBase<Long> implements LongESExprCodec {
 	private UnsignedLongCodec() {
-		super(BigInteger.ZERO, BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE));
+		super(0, Long.MAX_VALUE);
 	}
 
 	/**
@@ -20,17 +23,53 @@ public class UnsignedLongCodec extends IntCodecBase<Long> {
 	 */
 	@ESExprOverrideCodec(value = long.class, requiredAnnotations = Unsigned.class)
 	@ESExprOverrideCodec(value = Long.class, requiredAnnotations = Unsigned.class)
-	public static final ESExprCodec<Long> INSTANCE = new UnsignedLongCodec();
+	public static final UnsignedLongCodec PRIMITIVE_INSTANCE = new UnsignedLongCodec();
+
+	/**
+	 * A codec for unsigned long values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Long> INSTANCE = PRIMITIVE_INSTANCE;
+
+	private static final @NotNull BigInteger TWO_64 = BigInteger.ONE.shiftLeft(64);
+
+	@Override
+	protected @NotNull Long fromLong(long value) {
+		return value;
+	}
+
+	@Override
+	protected long toLong(@NotNull Long value) {
+		return value;
+	}
+
+	// Values of 2^63 and above have the sign bit set and do not fit in a signed long.
+	@Override
+	@NotNull ESExpr encodeRaw(long value) {
+		if(value < 0) {
+			return new ESExpr.Int(BigInteger.valueOf(value).add(TWO_64));
+		}
+
+		return new ESExpr.Int(value);
+	}
+
+	@Override
+	long decodeOutsideLongRange(@NotNull ESExpr.Int expr, @NotNull FailurePath path) throws DecodeException {
+		var n = expr.n();
+		if(n.signum() < 0 || n.bitLength() > 64) {
+			throw new DecodeException("Integer value out of range", path, false);
+		}
+
+		return n.longValue();
+	}
 
 	@Override
-	protected @NotNull Long fromBigInt(@NotNull BigInteger value) {
-		return value.longValue();
+	public @NotNull ESExpr encodeLong(long value) {
+		return encodeRaw(value);
 	}
 
 	@Override
-	protected @NotNull BigInteger toBigInt(@NotNull Long value) {
-		return BigInteger.valueOf(value).and(
-			BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE)
-		);
+	public long decodeLong(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return decodeRaw(expr, path);
 	}
 }
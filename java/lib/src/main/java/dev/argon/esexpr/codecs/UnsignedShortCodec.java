@@ -1,18 +1,19 @@
 package dev.argon.esexpr.codecs;
 
+import dev.argon.esexpr.DecodeException;
+import dev.argon.esexpr.ESExpr;
 import dev.argon.esexpr.ESExprCodec;
 import dev.argon.esexpr.ESExprOverrideCodec;
+import dev.argon.esexpr.ShortESExprCodec;
 import dev.argon.esexpr.Unsigned;
 import org.jetbrains.annotations.NotNull;
 
-import java.math.BigInteger;
-
 /**
  * A codec for unsigned short values.
  */
-public class UnsignedShortCodec extends IntCodecBase<Short> {
+public class UnsignedShortCodec extends IntCodecBase<Short> implements ShortESExprCodec {
 	private UnsignedShortCodec() {
-		super(BigInteger.ZERO, BigInteger.valueOf(0xFFFF));
+		super(0, 0xFFFF);
 	}
 
 	/**
@@ -20,15 +21,31 @@ public class UnsignedShortCodec extends IntCodecBase<Short> {
 	 */
 	@ESExprOverrideCodec(value = short.class, requiredAnnotations = Unsigned.class)
 	@ESExprOverrideCodec(value = Short.class, requiredAnnotations = Unsigned.class)
-	public static final ESExprCodec<Short> INSTANCE = new UnsignedShortCodec();
+	public static final UnsignedShortCodec PRIMITIVE_INSTANCE = new UnsignedShortCodec();
+
+	/**
+	 * A codec for unsigned short values.
+	 * Generated codecs use {@link #PRIMITIVE_INSTANCE}, which has the same value and also provides the unboxed methods.
+	 */
+	public static final ESExprCodec<Short> INSTANCE = PRIMITIVE_INSTANCE;
+
+	@Override
+	protected @NotNull Short fromLong(long value) {
+		return (short)value;
+	}
+
+	@Override
+	protected long toLong(@NotNull Short value) {
+		return Short.toUnsignedLong(value);
+	}
 
 	@Override
-	protected @NotNull Short fromBigInt(@NotNull BigInteger value) {
-		return value.shortValue();
+	public @NotNull ESExpr encodeShort(short value) {
+		return encodeRaw(Short.toUnsignedLong(value));
 	}
 
 	@Override
-	protected @NotNull BigInteger toBigInt(@NotNull Short value) {
-		return BigInteger.valueOf(Short.toUnsignedLong(value));
+	public short decodeShort(@NotNull ESExpr expr, @NotNull FailurePath path) throws DecodeException {
+		return (short)decodeRaw(expr, path);
 	}
 }
@@ -0,0 +1,77 @@
+package dev.argon.esexpr;
+
+import dev.argon.esexpr.codecs.ListCodec;
+import dev.argon.esexpr.codecs.StringCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodecCacheTest {
+	@Test
+	public void keyedByIdentity() {
+		var cache = new CodecCache<ESExprCodec<?>>();
+		var a = new ListCodec<>(StringCodec.INSTANCE);
+		var b = new ListCodec<>(StringCodec.INSTANCE);
+
+		var ca = cache.get(new Object[] { a }, () -> new ListCodec<>(a));
+		assertSame(ca, cache.get(new Object[] { a }, () -> new ListCodec<>(a)));
+		assertNotSame(ca, cache.get(new Object[] { b }, () -> new ListCodec<>(b)));
+	}
+
+	@Test
+	public void concurrentGet() throws Exception {
+		var cache = new CodecCache<ESExprCodec<?>>();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			var futures = new ArrayList<Future<ESExprCodec<?>>>();
+			for(int i = 0; i < 64; ++i) {
+				futures.add(executor.submit(() -> cache.get(new Object[] { StringCodec.INSTANCE }, () -> new ListCodec<>(StringCodec.INSTANCE))));
+			}
+
+			var first = futures.getFirst().get();
+			for(var f : futures) {
+				assertSame(first, f.get());
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void retainedWhileReachable() throws Exception {
+		var cache = new CodecCache<ESExprCodec<?>>();
+		var codec = cache.get(new Object[] { StringCodec.INSTANCE }, () -> new ListCodec<>(StringCodec.INSTANCE));
+		for(int i = 0; i < 3; ++i) {
+			System.gc();
+			assertSame(codec, cache.get(new Object[] { StringCodec.INSTANCE }, () -> new ListCodec<>(StringCodec.INSTANCE)));
+		}
+	}
+
+	@Test
+	public void releasedWhenUnreachable() throws Exception {
+		var cache = new CodecCache<ESExprCodec<?>>();
+		var created = new AtomicInteger();
+		cache.get(new Object[] { StringCodec.INSTANCE }, () -> {
+			created.incrementAndGet();
+			return new ListCodec<>(StringCodec.INSTANCE);
+		});
+
+		for(int i = 0; i < 50 && created.get() == 1; ++i) {
+			System.gc();
+			Thread.sleep(10);
+			cache.get(new Object[] { StringCodec.INSTANCE }, () -> {
+				created.incrementAndGet();
+				return new ListCodec<>(StringCodec.INSTANCE);
+			});
+		}
+
+		assertTrue(created.get() > 1);
+	}
+}
@@ -0,0 +1,44 @@
+package dev.argon.esexpr;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactKeywordMapTest {
+	@Test
+	public void emptyKwargsAreShared() {
+		var a = new ESExpr.Constructor("a", List.of(), new HashMap<>());
+		var b = new ESExpr.Constructor("b", List.of(), Map.of());
+		assertSame(a.kwargs(), b.kwargs());
+	}
+
+	@Test
+	public void lookupMatchesHashMap() {
+		for(int size : new int[] { 1, 8, 9, 100 }) {
+			var expected = new HashMap<String, ESExpr>();
+			for(int i = 0; i < size; ++i) {
+				expected.put("k" + i, new ESExpr.Int(i));
+			}
+
+			var kwargs = new ESExpr.Constructor("c", List.of(), expected).kwargs();
+			assertEquals(expected, kwargs);
+			assertEquals(expected.hashCode(), kwargs.hashCode());
+			for(int i = 0; i < size; ++i) {
+				assertEquals(new ESExpr.Int(i), kwargs.get("k" + i));
+			}
+			assertNull(kwargs.get("missing"));
+			assertFalse(kwargs.containsKey(1));
+		}
+	}
+
+	@Test
+	public void argumentsAreImmutable() {
+		var expr = new ESExpr.Constructor("c", List.of(ESExpr.Bool.TRUE), Map.of("a", ESExpr.Bool.FALSE));
+		assertThrows(UnsupportedOperationException.class, () -> expr.args().add(ESExpr.Bool.TRUE));
+		assertThrows(UnsupportedOperationException.class, () -> expr.kwargs().put("b", ESExpr.Bool.TRUE));
+	}
+}
@@ -0,0 +1,47 @@
+package dev.argon.esexpr;
+
+import dev.argon.esexpr.codecs.ListCodec;
+import dev.argon.esexpr.codecs.StringCodec;
+import dev.argon.esexpr.codecs.UnsignedByteCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecodeResultTest {
+	@Test
+	public void success() throws Throwable {
+		var result = StringCodec.INSTANCE.decodeResult(new ESExpr.Str("a"));
+		assertTrue(result.isSuccess());
+		assertEquals(new DecodeResult.Success<>("a"), result);
+		assertEquals("a", result.getOrThrow());
+	}
+
+	@Test
+	public void failure() {
+		var result = StringCodec.INSTANCE.decodeResult(new ESExpr.Bool(true));
+		assertFalse(result.isSuccess());
+		var e = assertThrows(DecodeException.class, result::getOrThrow);
+		assertEquals(0, e.getStackTrace().length);
+	}
+
+	@Test
+	public void stackTrace() {
+		var path = ESExprCodec.FailurePath.Current.INSTANCE;
+		assertEquals(0, new DecodeException("error", path, false).getStackTrace().length);
+		assertNotEquals(0, new DecodeException("error", path).getStackTrace().length);
+	}
+
+	@Test
+	public void nestedFailure() {
+		var codec = new ListCodec<>(UnsignedByteCodec.INSTANCE);
+		var expr = new ESExpr.Constructor("list", List.of(new ESExpr.Int(1), new ESExpr.Int(256)), Map.of());
+		var e = assertThrows(DecodeException.class, () -> codec.decode(expr));
+		var result = (DecodeResult.Failure<List<Byte>>)codec.decodeResult(expr);
+		assertEquals(e.getMessage(), result.error().getMessage());
+		assertEquals(new ESExprCodec.FailurePath.Positional(ESExprCodec.FailurePath.Current.INSTANCE, "list", 1), result.error().getPath());
+		assertEquals(0, result.error().getStackTrace().length);
+	}
+}
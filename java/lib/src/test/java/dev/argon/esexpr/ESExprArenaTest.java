@@ -0,0 +1,127 @@
+package dev.argon.esexpr;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.foreign.Arena;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ESExprArenaTest {
+	private static ESExpr document() {
+		return new ESExpr.Constructor(
+			"doc",
+			List.of(
+				new ESExpr.Int(42),
+				new ESExpr.Int(BigInteger.ONE.shiftLeft(80).negate()),
+				new ESExpr.Str("hello"),
+				new ESExpr.Binary(new byte[] { 1, 2, 3 }),
+				new ESExpr.Float32(1.5f),
+				new ESExpr.Float64(-2.25),
+				ESExpr.Null.of(5),
+				new ESExpr.Constructor("list", List.of(ESExpr.Bool.TRUE, ESExpr.Bool.FALSE), Map.of())
+			),
+			Map.of(
+				"name", new ESExpr.Str("hello"),
+				"child", new ESExpr.Constructor("leaf", List.of(), Map.of())
+			)
+		);
+	}
+
+	@Test
+	public void cursorAccess() {
+		try(var arena = Arena.ofConfined()) {
+			var doc = ESExprArena.fromExpr(document(), arena);
+			var root = doc.root();
+
+			assertEquals("doc", root.constructorName());
+			assertEquals(8, root.argCount());
+			assertEquals(42, root.arg(0).longValueExact());
+			assertFalse(root.arg(1).fitsInLong());
+			assertEquals(BigInteger.ONE.shiftLeft(80).negate(), root.arg(1).intValue());
+			assertEquals("hello", root.arg(2).stringValue());
+			assertArrayEquals(new byte[] { 1, 2, 3 }, root.arg(3).binaryValue());
+			assertEquals(3, root.arg(3).binarySegment().byteSize());
+			assertEquals(1.5f, root.arg(4).float32Value());
+			assertEquals(-2.25, root.arg(5).float64Value());
+			assertEquals(BigInteger.valueOf(5), root.arg(6).nullLevel());
+			assertTrue(root.arg(7).arg(0).boolValue());
+			assertEquals("leaf", root.keywordValue("child").orElseThrow().constructorName());
+			assertTrue(root.keywordValue("missing").isEmpty());
+			assertThrows(IllegalStateException.class, () -> root.arg(2).constructorName());
+
+			assertEquals(document(), doc.toExpr());
+			assertEquals(Set.of("doc", "name", "child", "leaf"), Set.copyOf(doc.symbolTable().values()));
+		}
+	}
+
+	@Test
+	public void binaryRoundTrip() throws Exception {
+		var os = new ByteArrayOutputStream();
+		ESExprBinaryWriter.writeWithSymbolTable(os, document());
+
+		var is = new ByteArrayInputStream(os.toByteArray());
+		var stringTable = StringTable.codec().decode(new ESExprBinaryReader(List.of(), is).read());
+		var doc = new ESExprBinaryReader(stringTable.values(), is).readArena(Arena.ofAuto());
+
+		assertNotNull(doc);
+		assertEquals(document(), doc.toExpr());
+
+		var os2 = new ByteArrayOutputStream();
+		ESExprBinaryWriter.writeWithSymbolTable(os2, doc);
+
+		var read = ESExprBinaryReader.readEmbeddedStringTable(new ByteArrayInputStream(os2.toByteArray())).toList();
+		assertEquals(List.of(document()), read);
+	}
+
+	@Test
+	public void largeDocument() {
+		var items = new ArrayList<ESExpr>();
+		for(int i = 0; i < 50000; ++i) {
+			items.add(new ESExpr.Constructor("item", List.of(new ESExpr.Int(i), new ESExpr.Str("\u00e9l\u00e9ment " + i)), Map.of("k", ESExpr.Bool.TRUE)));
+			if(i % 10000 == 0) {
+				items.add(new ESExpr.Binary(new byte[1 << 19]));
+			}
+		}
+		var expr = new ESExpr.Constructor("list", items, Map.of());
+
+		try(var arena = Arena.ofConfined()) {
+			var doc = ESExprArena.fromExpr(expr, arena);
+			assertTrue(doc.segments().size() > 1);
+			assertEquals("\u00e9l\u00e9ment 49999", doc.root().arg(items.size() - 1).arg(1).stringValue());
+			assertEquals(1 << 19, doc.root().arg(1).binarySegment().byteSize());
+			assertEquals(expr, doc.toExpr());
+			assertEquals(Set.of("item", "k"), Set.copyOf(doc.symbolTable().values()));
+		}
+	}
+
+	@Test
+	public void mediumNodes() throws Exception {
+		var items = new ArrayList<ESExpr>();
+		for(int size : new int[] { 1000, 5000, 10000, 70000, 200000, 262000 }) {
+			items.add(new ESExpr.Str("x".repeat(size)));
+			items.add(new ESExpr.Binary(new byte[size]));
+			items.add(new ESExpr.Int(size));
+		}
+		items.add(new ESExpr.Constructor("wide", Collections.nCopies(2000, ESExpr.Bool.TRUE), Map.of()));
+		var expr = new ESExpr.Constructor("list", items, Map.of());
+
+		assertEquals(new ESExpr.Str("x".repeat(10000)), ESExprArena.fromExpr(new ESExpr.Str("x".repeat(10000))).toExpr());
+		assertEquals(expr, ESExprArena.fromExpr(expr).toExpr());
+
+		var os = new ByteArrayOutputStream();
+		ESExprBinaryWriter.writeWithSymbolTable(os, expr);
+		var is = new ByteArrayInputStream(os.toByteArray());
+		var stringTable = StringTable.codec().decode(new ESExprBinaryReader(List.of(), is).read());
+		var doc = new ESExprBinaryReader(stringTable.values(), is).readArena(Arena.ofAuto());
+		assertNotNull(doc);
+		assertEquals(expr, doc.toExpr());
+	}
+}
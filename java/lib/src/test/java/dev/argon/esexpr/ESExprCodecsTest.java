@@ -0,0 +1,101 @@
+package dev.argon.esexpr;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ESExprCodecsTest {
+	@ESExprCodecGen
+	sealed interface Expr {
+		@InlineValue
+		record Literal(BigInteger value) implements Expr {}
+
+		@Constructor("+")
+		record Add(@Vararg List<Expr> operands) implements Expr {}
+
+		record Negate(Expr operand) implements Expr {}
+	}
+
+	@ESExprCodecGen
+	record Labeled(
+		@Keyword
+		@DefaultValue("\"none\"")
+		String label,
+
+		Expr expr
+	) {}
+
+	private static final ESExprCodec<Labeled> CODEC = ESExprCodecs.derive(MethodHandles.lookup(), Labeled.class);
+
+	@Test
+	public void recursiveTypes() throws DecodeException {
+		var value = new Labeled("none", new Expr.Add(List.of(
+			new Expr.Literal(BigInteger.ONE),
+			new Expr.Negate(new Expr.Literal(BigInteger.TWO))
+		)));
+		var expr = new ESExpr.Constructor(
+			"labeled",
+			List.of(
+				new ESExpr.Constructor("+", List.of(
+					new ESExpr.Int(BigInteger.ONE),
+					new ESExpr.Constructor("negate", List.of(new ESExpr.Int(BigInteger.TWO)), Map.of())
+				), Map.of())
+			),
+			Map.of()
+		);
+
+		assertEquals(expr, CODEC.encode(value));
+		assertEquals(value, CODEC.decode(expr));
+	}
+
+	@Test
+	public void cachedPerType() {
+		assertSame(CODEC, ESExprCodecs.derive(MethodHandles.lookup(), Labeled.class));
+	}
+
+	@Test
+	public void cachedPerLookup() {
+		assertThrows(IllegalArgumentException.class, () -> ESExprCodecs.derive(MethodHandles.publicLookup(), Labeled.class));
+		assertSame(CODEC, ESExprCodecs.derive(MethodHandles.lookup(), Labeled.class));
+	}
+
+	@Test
+	public void retainedWithoutReference() throws InterruptedException {
+		int hash = System.identityHashCode(ESExprCodecs.derive(MethodHandles.lookup(), Expr.Negate.class));
+		for(int i = 0; i < 5; ++i) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertEquals(hash, System.identityHashCode(ESExprCodecs.derive(MethodHandles.lookup(), Expr.Negate.class)));
+	}
+
+	@Test
+	public void sealedTags() {
+		var codec = ESExprCodecs.derive(MethodHandles.lookup(), Expr.class);
+		assertEquals(
+			Set.of(new ESExprTag.Int(), new ESExprTag.Constructor("+"), new ESExprTag.Constructor("negate")),
+			codec.tags()
+		);
+	}
+
+	@Test
+	public void failurePath() {
+		var e = assertThrows(DecodeException.class, () -> CODEC.decode(new ESExpr.Constructor(
+			"labeled",
+			List.of(new ESExpr.Constructor("+", List.of(new ESExpr.Str("a")), Map.of())),
+			Map.of()
+		)));
+		assertEquals(ESExprCodec.FailurePath.Current.INSTANCE.append("labeled", 0).append("+", 0), e.getPath());
+	}
+
+	@Test
+	public void unsupportedType() {
+		assertThrows(IllegalArgumentException.class, () -> ESExprCodecs.derive(Object.class));
+	}
+}
@@ -0,0 +1,57 @@
+package dev.argon.esexpr;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ESExprHashTest {
+	@Test
+	public void binaryContentEquality() {
+		var a = new ESExpr.Binary(new byte[] { 1, 2, 3 });
+		var b = new ESExpr.Binary(new byte[] { 1, 2, 3 });
+
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertNotEquals(a, new ESExpr.Binary(new byte[] { 1, 2 }));
+	}
+
+	@Test
+	public void constructorHashMatchesStructure() {
+		var a = new ESExpr.Constructor("c", List.of(new ESExpr.Int(1)), Map.of("k", new ESExpr.Str("v")));
+		var b = new ESExpr.Constructor("c", new ArrayList<>(List.of(new ESExpr.Int(1))), new HashMap<>(Map.of("k", new ESExpr.Str("v"))));
+
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertEquals(List.of(new ESExpr.Int(1)).hashCode(), a.args().hashCode());
+		assertEquals(Map.of("k", new ESExpr.Str("v")).hashCode(), a.kwargs().hashCode());
+
+		assertNotEquals(a, new ESExpr.Constructor("c", List.of(new ESExpr.Int(2)), a.kwargs()));
+		assertNotEquals(a, new ESExpr.Constructor("d", a.args(), a.kwargs()));
+	}
+
+	@Test
+	public void updatedHashMatchesCopy() {
+		var args = new ArrayList<ESExpr>();
+		var kwargs = new HashMap<String, ESExpr>();
+		for(int i = 0; i < 10; ++i) {
+			args.add(new ESExpr.Int(i));
+			kwargs.put("k" + i, new ESExpr.Int(i));
+		}
+
+		var expr = new ESExpr.Constructor("c", args, kwargs);
+		for(int i = 0; i < 10; ++i) {
+			expr = expr.withArg(i, new ESExpr.Str("a" + i));
+			expr = i % 2 == 0 ? expr.withoutKeyword("k" + i) : expr.withKeyword("k" + i, new ESExpr.Str("b" + i));
+			expr = expr.withKeyword("n" + i, ESExpr.Bool.TRUE);
+
+			var copy = new ESExpr.Constructor(expr.constructor(), new ArrayList<>(expr.args()), new HashMap<>(expr.kwargs()));
+			assertEquals(copy.hashCode(), expr.hashCode());
+			assertEquals(copy, expr);
+		}
+	}
+}
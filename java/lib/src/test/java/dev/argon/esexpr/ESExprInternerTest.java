@@ -0,0 +1,68 @@
+package dev.argon.esexpr;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ESExprInternerTest {
+	private static ESExpr fragment() {
+		return new ESExpr.Constructor(
+			"point",
+			List.of(new ESExpr.Int(1), new ESExpr.Int(2)),
+			Map.of("label", new ESExpr.Str(new String("origin")))
+		);
+	}
+
+	@Test
+	public void sharesEqualSubtrees() {
+		var interner = new ESExprInterner();
+		var expr = new ESExpr.Constructor("list", List.of(fragment(), fragment()), Map.of());
+
+		var interned = (ESExpr.Constructor)interner.intern(expr);
+		assertEquals(expr, interned);
+		assertSame(interned.args().get(0), interned.args().get(1));
+		assertSame(interned.args().get(0), interner.intern(fragment()));
+	}
+
+	@Test
+	public void sharesEqualBinaries() {
+		var interner = new ESExprInterner();
+		var binary = interner.intern(new ESExpr.Binary(new byte[] { 1, 2 }));
+		assertSame(binary, interner.intern(new ESExpr.Binary(new byte[] { 1, 2 })));
+		assertNotSame(binary, interner.intern(new ESExpr.Binary(new byte[] { 1, 3 })));
+	}
+
+	@Test
+	public void readerOption() throws Exception {
+		var expr = new ESExpr.Constructor("list", List.of(fragment(), fragment(), fragment()), Map.of());
+
+		var os = new ByteArrayOutputStream();
+		ESExprBinaryWriter.writeWithSymbolTable(os, expr);
+
+		var interner = new ESExprInterner();
+		var read = (ESExpr.Constructor)ESExprBinaryReader.readEmbeddedStringTable(new ByteArrayInputStream(os.toByteArray()), interner)
+			.toList()
+			.getFirst();
+
+		assertEquals(expr, read);
+		assertSame(read.args().get(0), read.args().get(1));
+		assertSame(read.args().get(1), read.args().get(2));
+	}
+
+	@Test
+	public void boundedTable() {
+		var interner = new ESExprInterner(2);
+		var a = interner.intern(new ESExpr.Str(new String("a")));
+		interner.intern(new ESExpr.Str("b"));
+		interner.intern(new ESExpr.Str("c"));
+		interner.intern(new ESExpr.Str("d"));
+
+		var a2 = new ESExpr.Str(new String("a"));
+		assertNotSame(a, interner.intern(a2));
+	}
+}
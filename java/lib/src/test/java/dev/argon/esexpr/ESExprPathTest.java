@@ -0,0 +1,78 @@
+package dev.argon.esexpr;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ESExprPathTest {
+	private static ESExpr document() {
+		return new ESExpr.Constructor(
+			"doc",
+			List.of(
+				new ESExpr.Constructor("left", List.of(new ESExpr.Int(1)), Map.of()),
+				new ESExpr.Constructor("right", List.of(new ESExpr.Int(2)), Map.of("name", new ESExpr.Str("r")))
+			),
+			Map.of("version", new ESExpr.Int(1))
+		);
+	}
+
+	@Test
+	public void setSharesUntouchedSubtrees() {
+		var doc = (ESExpr.Constructor)document();
+		var path = ESExprPath.root().arg(1).keyword("name");
+
+		var updated = (ESExpr.Constructor)path.set(doc, new ESExpr.Str("renamed"));
+
+		assertEquals(new ESExpr.Str("renamed"), path.get(updated));
+		assertEquals(new ESExpr.Str("r"), path.get(doc));
+		assertSame(doc.args().get(0), updated.args().get(0));
+		assertSame(doc.kwargs().get("version"), updated.kwargs().get("version"));
+	}
+
+	@Test
+	public void updateAndRemoveKeyword() {
+		var doc = document();
+
+		var updated = ESExprPath.root().arg(0).arg(0).update(doc, expr -> new ESExpr.Int(((ESExpr.Int)expr).longValueExact() + 1));
+		assertEquals(new ESExpr.Int(2), ESExprPath.root().arg(0).arg(0).get(updated));
+
+		var removed = (ESExpr.Constructor)ESExprPath.root().arg(1).removeKeyword(updated, "name");
+		assertEquals(
+			new ESExpr.Constructor("right", List.of(new ESExpr.Int(2)), Map.of()),
+			removed.args().get(1)
+		);
+		assertThrows(NoSuchElementException.class, () -> ESExprPath.root().arg(1).keyword("name").get(removed));
+		assertThrows(IllegalArgumentException.class, () -> ESExprPath.root().arg(0).arg(0).arg(0).get(removed));
+	}
+
+	@Test
+	public void repeatedUpdatesMatchCopies() {
+		ESExpr doc = new ESExpr.Constructor("doc", List.of(), Map.of());
+		var expectedArgs = new ArrayList<ESExpr>();
+		var expectedKwargs = new HashMap<String, ESExpr>();
+
+		for(int i = 0; i < 20; ++i) {
+			expectedArgs.add(ESExpr.Null.of(0));
+			expectedKwargs.put("k" + i, new ESExpr.Int(i));
+			doc = ESExprPath.root().keyword("k" + i).set(doc, new ESExpr.Int(i));
+		}
+
+		doc = new ESExpr.Constructor("doc", expectedArgs, ((ESExpr.Constructor)doc).kwargs());
+		for(int i = 0; i < 20; ++i) {
+			expectedArgs.set(i, new ESExpr.Int(i * 2));
+			doc = ESExprPath.root().arg(i).set(doc, new ESExpr.Int(i * 2));
+			if(i % 3 == 0) {
+				expectedKwargs.remove("k" + i);
+				doc = ESExprPath.root().removeKeyword(doc, "k" + i);
+			}
+		}
+
+		assertEquals(new ESExpr.Constructor("doc", expectedArgs, expectedKwargs), doc);
+	}
+}
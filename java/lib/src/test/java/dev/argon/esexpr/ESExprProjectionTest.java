@@ -0,0 +1,75 @@
+package dev.argon.esexpr;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ESExprProjectionTest {
+	private static final ESExpr NESTED = new ESExpr.Constructor(
+		"nested",
+		List.of(new ESExpr.Str("long string value"), new ESExpr.Binary(new byte[] { 1, 2, 3 }), new ESExpr.Float64(1.5)),
+		Map.of("k", new ESExpr.Constructor("list", List.of(ESExpr.Null.of(5), new ESExpr.Int(BigInteger.ONE.shiftLeft(80))), Map.of()))
+	);
+
+	private static final ESExpr RECORD = new ESExpr.Constructor(
+		"record",
+		List.of(NESTED, new ESExpr.Int(BigInteger.ONE), NESTED, new ESExpr.Str("b")),
+		Map.of("x", NESTED, "y", new ESExpr.Bool(true))
+	);
+
+	private static List<ESExpr> readProjected(ESExprProjection projection, ESExpr... exprs) throws Exception {
+		var st = new ESExprBinaryWriter.SymbolTableBuilder();
+		for(var expr : exprs) {
+			st.add(expr);
+		}
+		var symbols = st.build().values();
+
+		var os = new ByteArrayOutputStream();
+		var writer = new ESExprBinaryWriter(symbols, os);
+		for(var expr : exprs) {
+			writer.write(expr);
+		}
+
+		var reader = new ESExprBinaryReader(symbols, new ByteArrayInputStream(os.toByteArray()));
+		var result = new java.util.ArrayList<ESExpr>();
+		ESExpr expr;
+		while((expr = reader.read(projection)) != null) {
+			result.add(expr);
+		}
+		return result;
+	}
+
+	@Test
+	public void skipsUnselectedArguments() throws Exception {
+		var projection = new ESExprProjection("record", Set.of(1), -1, Set.of("y"), false);
+		assertEquals(
+			List.of(
+				new ESExpr.Constructor("record", List.of(ESExpr.Null.of(0), new ESExpr.Int(BigInteger.ONE)), Map.of("y", new ESExpr.Bool(true))),
+				new ESExpr.Str("after")
+			),
+			readProjected(projection, RECORD, new ESExpr.Str("after"))
+		);
+	}
+
+	@Test
+	public void restAndOtherKeywords() throws Exception {
+		var projection = new ESExprProjection("record", Set.of(), 2, Set.of(), true);
+		assertEquals(
+			List.of(new ESExpr.Constructor("record", List.of(ESExpr.Null.of(0), ESExpr.Null.of(0), NESTED, new ESExpr.Str("b")), Map.of("x", NESTED, "y", new ESExpr.Bool(true)))),
+			readProjected(projection, RECORD)
+		);
+	}
+
+	@Test
+	public void otherConstructorsAreReadFully() throws Exception {
+		var projection = new ESExprProjection("other", Set.of(), -1, Set.of(), false);
+		assertEquals(List.of(RECORD, NESTED), readProjected(projection, RECORD, NESTED));
+	}
+}
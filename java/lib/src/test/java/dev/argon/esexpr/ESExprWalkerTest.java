@@ -0,0 +1,88 @@
+package dev.argon.esexpr;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ESExprWalkerTest {
+	private static ESExpr tree() {
+		return new ESExpr.Constructor(
+			"a",
+			List.of(
+				new ESExpr.Constructor("b", List.of(new ESExpr.Int(1)), Map.of()),
+				new ESExpr.Int(2)
+			),
+			Map.of("k", new ESExpr.Int(3))
+		);
+	}
+
+	private static String label(ESExpr expr) {
+		return switch(expr) {
+			case ESExpr.Constructor c -> c.constructor();
+			case ESExpr.Int i -> i.n().toString();
+			default -> "?";
+		};
+	}
+
+	@Test
+	public void traversalOrder() {
+		assertEquals(List.of("a", "b", "1", "2", "3"), ESExprWalker.preOrder(tree()).map(ESExprWalkerTest::label).toList());
+		assertEquals(List.of("1", "b", "2", "3", "a"), ESExprWalker.postOrder(tree()).map(ESExprWalkerTest::label).toList());
+
+		var events = new ArrayList<String>();
+		ESExprWalker.walk(tree(), new ESExprVisitor() {
+			@Override
+			public boolean enter(ESExpr expr) {
+				events.add("+" + label(expr));
+				return !label(expr).equals("b");
+			}
+
+			@Override
+			public void exit(ESExpr expr) {
+				events.add("-" + label(expr));
+			}
+		});
+		assertEquals(List.of("+a", "+b", "-b", "+2", "-2", "+3", "-3", "-a"), events);
+	}
+
+	@Test
+	public void deepTree() {
+		ESExpr expr = new ESExpr.Int(0);
+		for(int i = 0; i < 100_000; ++i) {
+			expr = new ESExpr.Constructor("n", List.of(expr), Map.of());
+		}
+
+		assertEquals(100_001, ESExprWalker.postOrder(expr).count());
+		int depth = ESExprWalker.<Integer>fold(expr, (e, args, kwargs) -> args.isEmpty() ? 0 : args.getFirst() + 1);
+		assertEquals(100_000, depth);
+	}
+
+	@Test
+	public void parallelFoldMatchesFold() {
+		var args = new ArrayList<ESExpr>();
+		for(int i = 0; i < 1000; ++i) {
+			args.add(new ESExpr.Constructor("item", List.of(new ESExpr.Int(i)), Map.of("w", new ESExpr.Int(i % 7))));
+		}
+		var expr = new ESExpr.Constructor("list", args, Map.of("extra", new ESExpr.Int(5)));
+
+		ESExprWalker.Folder<Long> sum = (e, argResults, kwargResults) -> {
+			long total = e instanceof ESExpr.Int i ? i.longValueExact() : 0;
+			for(var r : argResults) {
+				total += r;
+			}
+			for(var r : kwargResults.values()) {
+				total += r;
+			}
+			return total;
+		};
+
+		Long expected = ESExprWalker.fold(expr, sum);
+		assertEquals(expected, ESExprWalker.parallelFold(expr, sum));
+		assertEquals(expected, ESExprWalker.parallelFold(expr, sum, new ForkJoinPool(4), 2));
+	}
+}
@@ -0,0 +1,42 @@
+package dev.argon.esexpr;
+
+import dev.argon.esexpr.ESExprCodec.FailurePath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FailurePathTest {
+	@Test
+	public void appendLinksToParent() {
+		var root = FailurePath.Current.INSTANCE;
+		var a = root.append("a", 1);
+		var b = a.append("b", "k");
+		var c = b.withConstructor("c");
+
+		assertSame(root, ((FailurePath.Positional)a).parent());
+		assertSame(a, ((FailurePath.Keyword)b).parent());
+		assertSame(b, ((FailurePath.Constructor)c).parent());
+		assertEquals("a[1] / b[k:] / (c)", c.toString());
+		assertEquals(new FailurePath.Positional(b, "d", 0), c.append("d", 0));
+	}
+
+	@Test
+	public void deepPath() {
+		FailurePath path = FailurePath.Current.INSTANCE;
+		for(int i = 0; i < 100_000; ++i) {
+			path = path.append("n", 0);
+		}
+
+		assertTrue(path.toString().endsWith("n[0] / n[0]"));
+	}
+
+	@Test
+	public void prependPath() {
+		var e = new DecodeException("error", FailurePath.Current.INSTANCE.withConstructor("c"));
+		e.prependPath(FailurePath.Current.INSTANCE.append("b", "k"));
+		e.prependPath(FailurePath.Current.INSTANCE.append("a", 1));
+
+		assertEquals("a[1] / b[k:] / (c)", e.getPath().toString());
+		assertEquals("error\na[1] / b[k:] / (c)", e.getMessage());
+	}
+}
@@ -0,0 +1,65 @@
+package dev.argon.esexpr;
+
+import dev.argon.esexpr.codecs.OptionalCodec;
+import dev.argon.esexpr.codecs.OptionalOptionalValueCodec;
+import dev.argon.esexpr.codecs.StringCodec;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptionalValueCodecTest {
+	// Implements only the Optional methods, as codecs written before the nullable methods did.
+	private static final class LegacyCodec implements OptionalValueCodec<String> {
+		@Override
+		public Optional<ESExpr> encodeOptional(String value) {
+			return Optional.ofNullable(value).map(ESExpr.Str::new);
+		}
+
+		@Override
+		public String decodeOptional(Optional<ESExpr> expr, @NotNull ESExprCodec.FailurePath path) throws DecodeException {
+			return expr.isEmpty() ? null : StringCodec.INSTANCE.decode(expr.get(), path);
+		}
+	}
+
+	@Test
+	public void nullableMethods() throws Throwable {
+		var codec = new OptionalOptionalValueCodec<>(StringCodec.INSTANCE);
+		var path = ESExprCodec.FailurePath.Current.INSTANCE;
+		assertNull(codec.encodeNullable(Optional.empty()));
+		assertEquals(new ESExpr.Str("a"), codec.encodeNullable(Optional.of("a")));
+		assertEquals(Optional.empty(), codec.decodeNullable(null, path));
+		assertEquals(Optional.of("a"), codec.decodeNullable(new ESExpr.Str("a"), path));
+	}
+
+	@Test
+	public void optionalAdapters() throws Throwable {
+		var codec = new OptionalOptionalValueCodec<>(StringCodec.INSTANCE);
+		var path = ESExprCodec.FailurePath.Current.INSTANCE;
+		assertEquals(Optional.empty(), codec.encodeOptional(Optional.empty()));
+		assertEquals(Optional.of(new ESExpr.Str("a")), codec.encodeOptional(Optional.of("a")));
+		assertEquals(Optional.of("a"), codec.decodeOptional(Optional.of(new ESExpr.Str("a")), path));
+
+		var legacy = new LegacyCodec();
+		assertNull(legacy.encodeNullable(null));
+		assertEquals(new ESExpr.Str("a"), legacy.encodeNullable("a"));
+		assertEquals("a", legacy.decodeNullable(new ESExpr.Str("a"), path));
+		assertNull(legacy.decodeNullable(null, path));
+	}
+
+	@Test
+	public void nestedOptionalLevels() throws Throwable {
+		var codec = new OptionalCodec<>(new OptionalCodec<>(new OptionalCodec<>(StringCodec.INSTANCE)));
+		Optional<Optional<Optional<String>>> value = Optional.of(Optional.of(Optional.empty()));
+		assertSame(ESExpr.Null.of(2), codec.encode(value));
+		assertEquals(value, codec.decode(ESExpr.Null.of(2)));
+		assertEquals(Optional.empty(), codec.decode(ESExpr.Null.of(0)));
+
+		var inner = new OptionalCodec<>(new OptionalCodec<>(StringCodec.INSTANCE));
+		var large = new ESExpr.Null(BigInteger.ONE.shiftLeft(40));
+		assertThrows(DecodeException.class, () -> inner.decode(large));
+	}
+}
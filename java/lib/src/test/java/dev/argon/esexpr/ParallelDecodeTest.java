@@ -0,0 +1,65 @@
+package dev.argon.esexpr;
+
+import dev.argon.esexpr.codecs.ListCodec;
+import dev.argon.esexpr.codecs.ListVarargCodec;
+import dev.argon.esexpr.codecs.StringCodec;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelDecodeTest {
+	private static final List<String> VALUES = IntStream.range(0, 10000).mapToObj(Integer::toString).toList();
+	private static final List<ESExpr> EXPRS = VALUES.stream().<ESExpr>map(ESExpr.Str::new).toList();
+
+	@Test
+	public void list() throws Throwable {
+		var codec = new ListCodec<>(StringCodec.INSTANCE, 100);
+		var expr = new ESExpr.Constructor("list", EXPRS, Map.of());
+		assertEquals(VALUES, codec.decode(expr));
+		assertEquals(new ListCodec<>(StringCodec.INSTANCE).decode(expr), codec.decode(expr));
+		assertEquals(List.of("a"), codec.decode(new ESExpr.Constructor("list", List.of(new ESExpr.Str("a")), Map.of())));
+	}
+
+	@Test
+	public void vararg() throws Throwable {
+		var codec = new ListVarargCodec<>(StringCodec.INSTANCE, 100);
+		assertEquals(VALUES, codec.decodeVararg(EXPRS, i -> ESExprCodec.FailurePath.Current.INSTANCE.append("x", i)));
+	}
+
+	@Test
+	public void varargIterator() throws Throwable {
+		var codec = new ListVarargCodec<>(StringCodec.INSTANCE, 100);
+		assertEquals(VALUES, codec.decodeVararg(EXPRS.iterator(), i -> ESExprCodec.FailurePath.Current.INSTANCE.append("x", i)));
+
+		var exprs = new ArrayList<>(EXPRS);
+		exprs.set(1234, new ESExpr.Bool(true));
+		var e = assertThrows(DecodeException.class, () -> codec.decodeVararg(exprs.iterator(), i -> ESExprCodec.FailurePath.Current.INSTANCE.append("x", i)));
+		assertEquals(ESExprCodec.FailurePath.Current.INSTANCE.append("x", 1234), e.getPath());
+	}
+
+	@Test
+	public void lowestFailureReported() {
+		var exprs = new ArrayList<>(EXPRS);
+		exprs.set(9000, new ESExpr.Int(BigInteger.ONE));
+		exprs.set(1234, new ESExpr.Int(BigInteger.ONE));
+
+		var codec = new ListCodec<>(StringCodec.INSTANCE, 100);
+		var e = assertThrows(DecodeException.class, () -> codec.decode(new ESExpr.Constructor("list", exprs, Map.of())));
+		assertEquals(ESExprCodec.FailurePath.Current.INSTANCE.append("list", 1234), e.getPath());
+
+		var varargCodec = new ListVarargCodec<>(StringCodec.INSTANCE, 100);
+		var e2 = assertThrows(DecodeException.class, () -> varargCodec.decodeVararg(exprs, i -> ESExprCodec.FailurePath.Current.INSTANCE.append("x", i + 1)));
+		assertEquals(ESExprCodec.FailurePath.Current.INSTANCE.append("x", 1235), e2.getPath());
+	}
+
+	@Test
+	public void invalidThreshold() {
+		assertThrows(IllegalArgumentException.class, () -> new ListCodec<>(StringCodec.INSTANCE, 0));
+	}
+}
@@ -0,0 +1,114 @@
+package dev.argon.esexpr;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolDispatchTest {
+	private static final SymbolDispatch DISPATCH = new SymbolDispatch("add", "negate");
+
+	@Test
+	public void caseOfName() {
+		assertEquals(0, DISPATCH.caseOf("add"));
+		assertEquals(1, DISPATCH.caseOf("negate"));
+		assertEquals(-1, DISPATCH.caseOf("other"));
+	}
+
+	@Test
+	public void caseOfSymbol() {
+		var cases = new SymbolCases(List.of("other", "negate", "add", "negate"));
+		var otherCases = new SymbolCases(List.of("add"));
+		assertEquals(-1, cases.caseOf(DISPATCH, 0));
+		assertEquals(1, cases.caseOf(DISPATCH, 1));
+		assertEquals(0, cases.caseOf(DISPATCH, 2));
+		assertEquals(1, cases.caseOf(DISPATCH, 3));
+		assertEquals(-1, cases.caseOf(DISPATCH, 4));
+		assertEquals(-1, cases.caseOf(DISPATCH, -1));
+
+		assertEquals(0, otherCases.caseOf(DISPATCH, 0));
+		assertEquals(-1, cases.caseOf(DISPATCH, 0));
+		assertEquals(0, otherCases.caseOf(DISPATCH, 0));
+	}
+
+	@Test
+	public void duplicateNames() {
+		assertThrows(IllegalArgumentException.class, () -> new SymbolDispatch("a", "a"));
+	}
+
+	@Test
+	public void readerSymbols() throws Exception {
+		var exprs = List.<ESExpr>of(
+			new ESExpr.Constructor("negate", List.of(new ESExpr.Int(BigInteger.ONE)), Map.of()),
+			new ESExpr.Str("a"),
+			new ESExpr.Constructor("add", List.of(), Map.of("key", new ESExpr.Bool(true)))
+		);
+
+		var st = new ESExprBinaryWriter.SymbolTableBuilder();
+		for(var expr : exprs) {
+			st.add(expr);
+		}
+		var symbols = st.build().values();
+
+		var os = new ByteArrayOutputStream();
+		var writer = new ESExprBinaryWriter(symbols, os);
+		for(var expr : exprs) {
+			writer.write(expr);
+		}
+
+		var reader = new ESExprBinaryReader(symbols, new ByteArrayInputStream(os.toByteArray()));
+		assertSame(reader.symbolTable(), reader.symbolTable());
+
+		var cases = new ArrayList<Integer>();
+		var read = new ArrayList<ESExpr>();
+		while(true) {
+			int symbol = reader.peekConstructorSymbol();
+			assertEquals(symbol, reader.peekConstructorSymbol());
+			cases.add(reader.peekConstructorCase(DISPATCH));
+
+			var expr = reader.read();
+			if(expr == null) {
+				break;
+			}
+			read.add(expr);
+		}
+
+		assertEquals(List.of(1, -1, 0, -1), cases);
+		assertEquals(exprs, read);
+	}
+
+	@Test
+	public void arenaSymbols() {
+		var expr = new ESExpr.Constructor(
+			"add",
+			List.of(
+				new ESExpr.Constructor("negate", List.of(), Map.of()),
+				new ESExpr.Constructor("list", List.of(), Map.of())
+			),
+			Map.of("key", new ESExpr.Bool(true))
+		);
+		var root = ESExprArena.fromExpr(expr).root();
+
+		assertSame(root.symbolTable(), root.arg(0).symbolTable());
+		assertEquals(0, root.constructorCase(DISPATCH));
+		assertEquals(1, root.arg(0).constructorCase(DISPATCH));
+		assertEquals(-1, root.arg(1).constructorSymbol());
+		assertEquals(-1, root.arg(1).constructorCase(DISPATCH));
+		assertEquals(0, root.arg(1).constructorCase(new SymbolDispatch("list")));
+		assertEquals("key", root.symbolTable().get(root.keywordSymbol(0)));
+		assertEquals(0, root.keywordCase(new SymbolDispatch("key"), 0));
+		assertEquals(-1, root.keywordCase(DISPATCH, 0));
+
+		var other = ESExprArena.fromExpr(new ESExpr.Constructor("x", List.of(new ESExpr.Constructor("negate", List.of(), Map.of())), Map.of())).root();
+		assertEquals(-1, other.constructorCase(DISPATCH));
+		assertEquals(1, other.arg(0).constructorCase(DISPATCH));
+		assertEquals(0, root.constructorCase(DISPATCH));
+		assertEquals(-1, ESExprArena.fromExpr(new ESExpr.Str("add")).root().constructorCase(DISPATCH));
+	}
+}
@@ -0,0 +1,85 @@
+package dev.argon.esexpr;
+
+import dev.argon.esexpr.codecs.ListVarargCodec;
+import dev.argon.esexpr.codecs.StringCodec;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VarargDictCodecTest {
+	private static final ESExprCodec.FailurePath PATH = ESExprCodec.FailurePath.Current.INSTANCE;
+
+	// Implements only the collection methods, as codecs written before the streaming methods did.
+	private static final class LegacyVarargCodec implements VarargCodec<List<String>> {
+		@Override
+		public List<ESExpr> encodeVararg(List<String> value) {
+			return value.stream().<ESExpr>map(ESExpr.Str::new).toList();
+		}
+
+		@Override
+		public List<String> decodeVararg(List<ESExpr> exprs, @NotNull PositionalPathBuilder pathBuilder) throws DecodeException {
+			return new ListVarargCodec<>(StringCodec.INSTANCE).decodeVararg(exprs, pathBuilder);
+		}
+	}
+
+	@Test
+	public void varargStreaming() throws Throwable {
+		var codec = new ListVarargCodec<>(StringCodec.INSTANCE);
+		var exprs = new ArrayList<ESExpr>();
+		codec.encodeVararg(List.of("a", "b"), exprs::add);
+		assertEquals(List.of(new ESExpr.Str("a"), new ESExpr.Str("b")), exprs);
+		assertEquals(List.of("a", "b"), codec.decodeVararg(exprs.iterator(), i -> PATH.append("x", i)));
+
+		var e = assertThrows(DecodeException.class, () -> codec.decodeVararg(
+			List.<ESExpr>of(new ESExpr.Str("a"), new ESExpr.Int(BigInteger.ONE)).iterator(),
+			i -> PATH.append("x", i)
+		));
+		assertEquals(PATH.append("x", 1), e.getPath());
+	}
+
+	@Test
+	public void varargAdapters() throws Throwable {
+		var legacy = new LegacyVarargCodec();
+		var exprs = new ArrayList<ESExpr>();
+		legacy.encodeVararg(List.of("a"), exprs::add);
+		assertEquals(List.of(new ESExpr.Str("a")), exprs);
+		assertEquals(List.of("a"), legacy.decodeVararg(exprs.iterator(), i -> PATH));
+	}
+
+	@Test
+	public void dictStreaming() throws Throwable {
+		var codec = KeywordMapping.dictCodec(StringCodec.INSTANCE);
+		var value = new KeywordMapping<>(Map.of("a", "b", "c", "d"));
+
+		var exprs = new HashMap<String, ESExpr>();
+		codec.encodeDict(value, exprs::put);
+		assertEquals(Map.of("a", new ESExpr.Str("b"), "c", new ESExpr.Str("d")), exprs);
+		assertEquals(exprs, codec.encodeDict(value));
+
+		assertEquals(value, codec.decodeDict(exprs.entrySet().iterator(), kw -> PATH.append("x", kw)));
+		assertEquals(value, codec.decodeDict(exprs, kw -> PATH.append("x", kw)));
+
+		var e = assertThrows(DecodeException.class, () -> codec.decodeDict(Map.of("a", new ESExpr.Bool(true)), kw -> PATH.append("x", kw)));
+		assertEquals(PATH.append("x", "a"), e.getPath());
+	}
+
+	@Test
+	public void dictArguments() throws Throwable {
+		var kwargs = Map.<String, ESExpr>of("a", new ESExpr.Str("b"), "name", new ESExpr.Str("n"), "c", new ESExpr.Str("d"));
+		var codec = KeywordMapping.dictCodec(StringCodec.INSTANCE);
+		assertEquals(new KeywordMapping<>(Map.of("a", "b", "c", "d")), codec.decodeDict(DictCodec.dictArguments(kwargs, Set.of("name")), kw -> PATH));
+
+		var entries = DictCodec.dictArguments(kwargs, Set.of("a", "name", "c"));
+		assertFalse(entries.hasNext());
+		assertThrows(NoSuchElementException.class, entries::next);
+	}
+}
@@ -1,3 +1,4 @@
 rootProject.name = "ESExpr"
 include("lib")
 include("generator", "generator:gen_tests")
+include("benchmarks")